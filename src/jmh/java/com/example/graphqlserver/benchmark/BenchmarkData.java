@@ -0,0 +1,120 @@
+package com.example.graphqlserver.benchmark;
+
+import com.example.graphqlserver.GraphqlserverApplication;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.repository.AuthorRepository;
+import com.example.graphqlserver.repository.BookRepository;
+import com.example.graphqlserver.search.BookSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크/부하 테스트용 애플리케이션 컨텍스트 (H2 메모리 DB).
+ * 저자 1명당 도서 BOOKS_PER_AUTHOR 권 비율로 데이터를 채운다 (빈 DB 에서 시작하므로 id 는 저자/도서 모두 1부터).
+ */
+final class BenchmarkData {
+
+    static final int BOOKS_PER_AUTHOR = 10;
+    static final String[] KEYWORDS = {"자바", "스프링", "성능", "데이터베이스", "그래프", "클라우드", "보안", "알고리즘"};
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    // 웹 서버 없이
+    static ConfigurableApplicationContext start(int books) {
+        return start(books, WebApplicationType.NONE, List.of());
+    }
+
+    // extraArgs(--key=value) 는 같은 키의 기본 인자를 대체한다 (같은 키를 두 번 주면 Spring 이 값을 이어 붙임)
+    static ConfigurableApplicationContext start(int books, WebApplicationType webApplicationType, List<String> extraArgs) {
+        // application.yml 보다 우선하도록 명령행 인자로 전달
+        Map<String, String> args = new LinkedHashMap<>();
+        args.put("spring.datasource.url", "jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        args.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        args.put("spring.datasource.username", "sa");
+        args.put("spring.datasource.password", "");
+        args.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        args.put("logging.level.root", "WARN");
+        for (String arg : extraArgs) {
+            int separator = arg.indexOf('=');
+            String key = arg.substring(arg.startsWith("--") ? 2 : 0, separator < 0 ? arg.length() : separator);
+            args.put(key, separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GraphqlserverApplication.class)
+                .web(webApplicationType)
+                .run(args.entrySet().stream().map(arg -> "--" + arg.getKey() + "=" + arg.getValue()).toArray(String[]::new));
+        seed(context, books);
+        rebuildSearchIndex(context.getBean(BookSearchIndex.class));
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int books) {
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        int authors = Math.max(1, books / BOOKS_PER_AUTHOR);
+
+        List<Long> authorIds = new ArrayList<>(authors);
+        for (int from = 0; from < authors; from += CHUNK_SIZE) {
+            List<Author> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, authors); i++) {
+                chunk.add(Author.builder()
+                        .name("저자 " + i)
+                        .email("author" + i + "@example.com")
+                        .nationality(i % 2 == 0 ? "Korea" : "USA")
+                        .build());
+            }
+            authorRepository.insertAll(chunk, CHUNK_SIZE);
+            chunk.forEach(author -> authorIds.add(author.getId()));
+        }
+
+        LocalDateTime publishedDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int from = 0; from < books; from += CHUNK_SIZE) {
+            List<Book> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, books); i++) {
+                Author author = new Author();
+                author.setId(authorIds.get(i % authors));
+                chunk.add(Book.builder()
+                        .title("도서 " + i + " " + KEYWORDS[i % KEYWORDS.length])
+                        .isbn("isbn-" + i)
+                        .description(KEYWORDS[(i * 7 + 3) % KEYWORDS.length] + " 입문서 " + i)
+                        .price(10.0 + i % 50)
+                        .pageCount(100 + i % 400)
+                        .publishedDate(publishedDate.plusDays(i % 365))
+                        .author(author)
+                        .build());
+            }
+            bookRepository.insertAll(chunk, CHUNK_SIZE);
+        }
+    }
+
+    // 시작 시 재색인(빈 DB 기준)이 끝나길 기다렸다가 채운 데이터로 다시 색인
+    private static void rebuildSearchIndex(BookSearchIndex searchIndex) {
+        while (true) {
+            try {
+                if (searchIndex.isReady()) {
+                    searchIndex.rebuild();
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                // 시작 시 재색인이 아직 실행 중
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.graphqlserver.benchmark;
+
+import com.example.graphqlserver.support.DateTimes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 날짜 변환 비용.
+ * DateTime 스칼라가 쓰는 DateTimes 의 파싱/출력과 DateTimeFormatter(ISO_LOCAL_DATE_TIME) 를 비교한다
+ * (이전에는 컨트롤러에서 한 번 파싱하고 서비스에서 toString() 으로 되돌려 다시 파싱했다).
+ */
+@State(Scope.Thread)
+public class DateTimeParsingBenchmark {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final String input = "2023-12-31T15:30:00";
+    private final LocalDateTime parsed = LocalDateTime.parse(input, formatter);
+    private final char[] buffer = new char[DateTimes.MAX_LENGTH];
+
+    @Benchmark
+    public LocalDateTime controllerParse() {
+        return LocalDateTime.parse(input, formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime serviceRoundTrip() {
+        return LocalDateTime.parse(parsed.toString(), formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime scalarParse() {
+        return DateTimes.parse(input);
+    }
+
+    @Benchmark
+    public String formatterFormat() {
+        return formatter.format(parsed);
+    }
+
+    @Benchmark
+    public String scalarFormat() {
+        return DateTimes.format(parsed);
+    }
+
+    // 내보내기 writer 경로 (문자열 없이 버퍼에)
+    @Benchmark
+    public int scalarFormatToBuffer() {
+        return DateTimes.format(parsed, buffer);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.graphqlserver.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 대표 쿼리의 GraphQL 엔진 실행 비용 (HTTP 제외, 컨트롤러/서비스/DB 포함).
+ * 실행된 SQL 수를 보조 지표(sqlStatements, operations)로 함께 보고해 N+1 회귀를 확인할 수 있다.
+ */
+@State(Scope.Benchmark)
+public class GraphQlExecutionBenchmark {
+
+    private static final String FLAT_LIST = """
+            { getAllBooksConnection(first: 100) { edges { node { id title price } } } }""";
+
+    private static final String NESTED_AUTHOR_BOOKS = """
+            { getAllAuthorsConnection(first: 50) { edges { node { id name books { id title price } } } } }""";
+
+    private static final String NESTED_BOOK_AUTHOR = """
+            { getAllBooksConnection(first: 100) { edges { node { id title author { id name } } } } }""";
+
+    private static final String SEARCH = """
+            { searchBooksConnection(keyword: "성능", first: 20) { edges { node { id title } } } }""";
+
+    // 1k / 100k / 1M (build.gradle 의 jmhBooks 로 지정)
+    @Param({"1000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(books);
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        for (String query : new String[]{FLAT_LIST, NESTED_AUTHOR_BOOKS, NESTED_BOOK_AUTHOR, SEARCH}) {
+            ExecutionGraphQlResponse response = execute(query);
+            if (!response.isValid() || !response.getErrors().isEmpty()) {
+                throw new IllegalStateException("Benchmark query failed: " + response.getErrors());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 결과에 함께 남는 보조 지표 (반복 시작마다 JMH 가 0 으로 초기화). EVENTS 카운터는 반복 간 합산되므로 평균 대신 합계를 남기고,
+     * 연산당 SQL 수는 sqlStatements / operations 로 본다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SqlCounters {
+
+        public long operations;
+        public long sqlStatements;
+
+    }
+
+    @Benchmark
+    public Map<String, Object> flatList(SqlCounters counters) {
+        return execute(FLAT_LIST, counters).getData();
+    }
+
+    @Benchmark
+    public Map<String, Object> nestedAuthorBooks(SqlCounters counters) {
+        return execute(NESTED_AUTHOR_BOOKS, counters).getData();
+    }
+
+    @Benchmark
+    public Map<String, Object> nestedBookAuthor(SqlCounters counters) {
+        return execute(NESTED_BOOK_AUTHOR, counters).getData();
+    }
+
+    @Benchmark
+    public Map<String, Object> search(SqlCounters counters) {
+        return execute(SEARCH, counters).getData();
+    }
+
+    private ExecutionGraphQlResponse execute(String query, SqlCounters counters) {
+        // 단일 스레드 실행 기준 (jmh 기본 threads = 1), 전역 통계의 전후 차이를 이 연산의 SQL 수로 본다
+        long before = statistics.getPrepareStatementCount();
+        ExecutionGraphQlResponse response = execute(query);
+        counters.operations++;
+        counters.sqlStatements += statistics.getPrepareStatementCount() - before;
+        return response;
+    }
+
+    private ExecutionGraphQlResponse execute(String query) {
+        return graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                query, null, null, null, UUID.randomUUID().toString(), null)).block();
+    }
+
+}
@@ -0,0 +1,485 @@
+package com.example.graphqlserver.benchmark;
+
+import com.example.graphqlserver.config.AdmissionProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * HTTP 부하 테스트. 웹 서버와 H2 메모리 DB(BenchmarkData 로 채운 데이터)를 띄우고 연산 묶음을 목표 RPS 로 보낸다.
+ * 요청은 정해진 시각에 가상 스레드에서 보내고(개방형 부하) 지연은 그 시각부터 재므로 서버가 밀려도 지연이 작게 측정되지 않는다.
+ * RPS 를 여러 개 주면 단계별로 차례로 실행해 포화 지점을 찾을 수 있고, 결과는 커밋 간 diff 할 수 있는 JSON 으로 남긴다.
+ *
+ * 수락 제어가 429/503 으로 바로 거절한 요청은 오류와 따로 세고, 성공한 요청의 처리량(goodput)을 함께 기록한다.
+ *
+ * 인자 (key=value): books, rps(쉼표 구분), duration/warmup(초), mix(name:weight,...), maxInFlight, timeout(초), report,
+ * clients(요청마다 돌아가며 쓰는 X-Api-Key 수, 0 이면 보내지 않음), app(쉼표 구분 애플리케이션 인자, 예: --graphql.response-cache.enabled=false)
+ */
+public final class LoadTest {
+
+    private static final JsonMapper jsonMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+    // 1us ~ 60s, 유효숫자 3자리
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // 빈 포트에서 (app 인자로 덮어쓸 수 있음)
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0"));
+        appArgs.addAll(options.appArgs);
+        ConfigurableApplicationContext context = BenchmarkData.start(options.books, WebApplicationType.SERVLET, appArgs);
+        // 설정된 API 키만 따로 할당량을 받으므로 부하 생성기의 키를 기본 한도로 등록 (요청을 보내기 전이라 그대로 넣어도 됨)
+        Map<String, AdmissionProperties.ClientQuota> quotaClients = context.getBean(AdmissionProperties.class).getQuota().getClients();
+        for (int i = 0; i < options.clients; i++) {
+            quotaClients.putIfAbsent("load-test-" + i, new AdmissionProperties.ClientQuota());
+        }
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .connectTimeout(options.timeout)
+                     .build()) {
+            URI endpoint = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/graphql");
+            Target target = new Target(httpClient, endpoint, options, context.getBeansOfType(HikariDataSource.class).values());
+            List<Operation> operations = Operation.all(options.books);
+
+            target.run(clients, operations, options.rps.get(0), options.warmup, null);
+            List<Map<String, Object>> stages = new ArrayList<>();
+            for (int rps : options.rps) {
+                Stage stage = new Stage(rps);
+                target.run(clients, operations, rps, options.duration, stage);
+                stage.print();
+                stages.add(stage.report());
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", options.report());
+            report.put("stages", stages);
+            Files.createDirectories(options.reportFile.toAbsolutePath().getParent());
+            jsonMapper.writeValue(options.reportFile.toFile(), report);
+            System.out.println("Report: " + options.reportFile.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    // 요청 생성과 응답 기록
+    private record Target(HttpClient httpClient, URI endpoint, Options options, Collection<HikariDataSource> pools) {
+
+        void run(ExecutorService clients, List<Operation> operations, int rps, Duration duration, Stage stage)
+                throws InterruptedException {
+            List<Operation> weighted = options.weighted(operations);
+            long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            AtomicInteger inFlight = new AtomicInteger();
+            Thread sampler = stage == null ? null : Thread.ofPlatform().daemon().name("load-test-sampler")
+                    .start(() -> stage.sample(start, pools));
+
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                while (System.nanoTime() < scheduled) {
+                    LockSupport.parkNanos(scheduled - System.nanoTime());
+                }
+                Operation operation = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                // 클라이언트 한도를 넘으면 보내지 않고 버린 요청으로 기록
+                if (inFlight.get() >= options.maxInFlight) {
+                    if (stage != null) {
+                        stage.dropped(operation);
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                if (stage != null) {
+                    stage.sent();
+                }
+                clients.execute(() -> {
+                    try {
+                        Outcome outcome = send(operation);
+                        if (stage != null) {
+                            stage.record(operation, System.nanoTime() - scheduled, outcome);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            // 남은 요청이 끝날 때까지 (요청 timeout 이 지나면 모두 끝남)
+            long deadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            if (stage != null) {
+                stage.finish();
+                sampler.join();
+            }
+        }
+
+        private Outcome send(Operation operation) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(endpoint)
+                    .timeout(options.timeout)
+                    .header("Content-Type", "application/json");
+            // 한 부하 생성기가 클라이언트 하나의 할당량에 묶이지 않도록 여러 API 키로 나눠 보냄
+            if (options.clients > 0) {
+                builder.header("X-Api-Key", "load-test-" + ThreadLocalRandom.current().nextInt(options.clients));
+            }
+            HttpRequest request = builder.POST(HttpRequest.BodyPublishers.ofString(operation.body())).build();
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 429 || response.statusCode() == 503) {
+                    return Outcome.REJECTED;
+                }
+                return response.statusCode() == 200 && !response.body().contains("\"errors\"") ? Outcome.OK : Outcome.ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Outcome.ERROR;
+            } catch (Exception e) {
+                return Outcome.ERROR;
+            }
+        }
+    }
+
+    private enum Outcome {
+        OK, ERROR, REJECTED
+    }
+
+    // 한 단계(RPS)의 측정값
+    private static final class Stage {
+
+        private final int targetRps;
+        private final Histogram latency = newHistogram();
+        private final Recorder interval = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final Map<String, OperationStats> operations = new TreeMap<>();
+        private final LongAdder intervalCompleted = new LongAdder();
+        private final LongAdder intervalErrors = new LongAdder();
+        private final LongAdder intervalRejected = new LongAdder();
+        private final List<Map<String, Object>> timeline = new ArrayList<>();
+        private long sent;
+        private long completed;
+        private long errors;
+        private long rejected;
+        private long dropped;
+        private long startNanos;
+        private long lastCompletionNanos;
+        private volatile boolean finished;
+        private int poolMaxSize;
+        private int peakActive;
+        private int peakWaiting;
+        private int saturatedSamples;
+
+        Stage(int targetRps) {
+            this.targetRps = targetRps;
+        }
+
+        // 거절된 요청은 지연 분포에 넣지 않음 (바로 돌아오므로 성공한 요청의 지연을 작게 보이게 함)
+        synchronized void record(Operation operation, long latencyNanos, Outcome outcome) {
+            OperationStats stats = operations.computeIfAbsent(operation.name(), ignored -> new OperationStats());
+            completed++;
+            lastCompletionNanos = System.nanoTime();
+            intervalCompleted.increment();
+            if (outcome == Outcome.REJECTED) {
+                stats.rejected++;
+                rejected++;
+                intervalRejected.increment();
+                return;
+            }
+            long micros = Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            latency.recordValue(micros);
+            interval.recordValue(micros);
+            stats.latency.recordValue(micros);
+            stats.count++;
+            if (outcome == Outcome.ERROR) {
+                stats.errors++;
+                errors++;
+                intervalErrors.increment();
+            }
+        }
+
+        synchronized void sent() {
+            sent++;
+        }
+
+        synchronized void dropped(Operation operation) {
+            operations.computeIfAbsent(operation.name(), ignored -> new OperationStats()).dropped++;
+            dropped++;
+        }
+
+        void finish() {
+            finished = true;
+        }
+
+        // 단계가 끝나고 남은 요청이 모두 끝날 때까지 1초마다 처리량/지연/커넥션 풀 상태 기록
+        void sample(long start, Collection<HikariDataSource> pools) {
+            synchronized (this) {
+                startNanos = start;
+            }
+            Histogram reusable = null;
+            for (int second = 1; ; second++) {
+                long next = start + TimeUnit.SECONDS.toNanos(second);
+                while (System.nanoTime() < next) {
+                    LockSupport.parkNanos(next - System.nanoTime());
+                }
+                reusable = interval.getIntervalHistogram(reusable);
+                int active = 0;
+                int waiting = 0;
+                int maxSize = 0;
+                for (HikariDataSource pool : pools) {
+                    HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+                    if (bean != null) {
+                        active += bean.getActiveConnections();
+                        waiting += bean.getThreadsAwaitingConnection();
+                    }
+                    maxSize += pool.getMaximumPoolSize();
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("second", second);
+                row.put("completed", intervalCompleted.sumThenReset());
+                row.put("errors", intervalErrors.sumThenReset());
+                row.put("rejected", intervalRejected.sumThenReset());
+                row.put("p50Ms", millis(reusable.getValueAtPercentile(50)));
+                row.put("p99Ms", millis(reusable.getValueAtPercentile(99)));
+                row.put("poolActive", active);
+                row.put("poolWaiting", waiting);
+                synchronized (this) {
+                    timeline.add(row);
+                    poolMaxSize = maxSize;
+                    peakActive = Math.max(peakActive, active);
+                    peakWaiting = Math.max(peakWaiting, waiting);
+                    if (active >= maxSize || waiting > 0) {
+                        saturatedSamples++;
+                    }
+                }
+                if (finished) {
+                    return;
+                }
+            }
+        }
+
+        synchronized Map<String, Object> report() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            // 끝나지 않은 요청(incomplete)과 버린 요청(dropped)도 오류율에 포함
+            long incomplete = sent - completed;
+            summary.put("requests", sent + dropped);
+            summary.put("completed", completed);
+            summary.put("errors", errors);
+            summary.put("rejected", rejected);
+            summary.put("incomplete", incomplete);
+            summary.put("dropped", dropped);
+            summary.put("errorRate", round((double) (errors + incomplete + dropped) / Math.max(1, sent + dropped)));
+            summary.put("rejectRate", round((double) rejected / Math.max(1, sent + dropped)));
+            summary.put("throughputRps", round(throughput()));
+            summary.put("goodputRps", round(goodput()));
+            summary.put("latencyMs", percentiles(latency));
+
+            Map<String, Object> operationReports = new LinkedHashMap<>();
+            operations.forEach((name, stats) -> {
+                Map<String, Object> operation = new LinkedHashMap<>();
+                operation.put("count", stats.count);
+                operation.put("errors", stats.errors);
+                operation.put("rejected", stats.rejected);
+                operation.put("dropped", stats.dropped);
+                operation.put("latencyMs", percentiles(stats.latency));
+                operationReports.put(name, operation);
+            });
+
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("maxSize", poolMaxSize);
+            pool.put("peakActive", peakActive);
+            pool.put("peakWaiting", peakWaiting);
+            // 모든 커넥션이 사용 중이거나 대기 스레드가 있던 초의 수
+            pool.put("saturatedSeconds", saturatedSamples);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("targetRps", targetRps);
+            report.put("summary", summary);
+            report.put("operations", operationReports);
+            report.put("pool", pool);
+            report.put("timeline", timeline);
+            return report;
+        }
+
+        synchronized void print() {
+            System.out.printf("%n[rps=%d] completed=%d errors=%d rejected=%d dropped=%d throughput=%.1f/s goodput=%.1f/s "
+                            + "p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms pool(peakActive=%d/%d, peakWaiting=%d)%n",
+                    targetRps, completed, errors, rejected, dropped, throughput(), goodput(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()),
+                    peakActive, poolMaxSize, peakWaiting);
+            operations.forEach((name, stats) -> System.out.printf("  %-10s count=%-8d errors=%-6d rejected=%-6d p50=%.2fms p99=%.2fms%n",
+                    name, stats.count, stats.errors, stats.rejected,
+                    millis(stats.latency.getValueAtPercentile(50)), millis(stats.latency.getValueAtPercentile(99))));
+        }
+
+        // 단계 시작부터 마지막 응답까지 (밀린 요청이 단계가 끝난 뒤에 끝나도 실제 처리 속도가 나오도록)
+        private double throughput() {
+            return completed / Math.max((lastCompletionNanos - startNanos) / 1e9, 1e-9);
+        }
+
+        // 거절/오류 없이 끝난 요청의 처리량
+        private double goodput() {
+            return (completed - rejected - errors) / Math.max((lastCompletionNanos - startNanos) / 1e9, 1e-9);
+        }
+
+        private static Map<String, Object> percentiles(Histogram histogram) {
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", millis(histogram.getValueAtPercentile(50)));
+            percentiles.put("p90", millis(histogram.getValueAtPercentile(90)));
+            percentiles.put("p99", millis(histogram.getValueAtPercentile(99)));
+            percentiles.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            percentiles.put("max", millis(histogram.getMaxValue()));
+            return percentiles;
+        }
+
+        private static final class OperationStats {
+            private final Histogram latency = newHistogram();
+            private long count;
+            private long errors;
+            private long rejected;
+            private long dropped;
+        }
+    }
+
+    // schema.graphqls 의 대표 연산 (인자는 요청마다 무작위)
+    private record Operation(String name, String query, Function<ThreadLocalRandom, Map<String, Object>> variables) {
+
+        static List<Operation> all(int books) {
+            int authors = Math.max(1, books / BenchmarkData.BOOKS_PER_AUTHOR);
+            return List.of(
+                    new Operation("byId", """
+                            query ById($id: ID!) { getBookById(id: $id) { id title price author { id name } } }""",
+                            random -> Map.of("id", 1 + random.nextInt(books))),
+                    new Operation("list", """
+                            query List($min: Float!) {
+                              getBooksByPriceRangeConnection(minPrice: $min, maxPrice: 60, first: 50) { edges { node { id title price } } }
+                            }""",
+                            random -> Map.of("min", 10 + random.nextInt(50))),
+                    new Operation("nested", """
+                            query Nested($id: ID!) { getAuthorWithBooks(id: $id) { id name bookCount books { id title price } } }""",
+                            random -> Map.of("id", 1 + random.nextInt(authors))),
+                    new Operation("search", """
+                            query Search($keyword: String!) {
+                              searchBooksConnection(keyword: $keyword, first: 20) { edges { node { id title author { name } } } }
+                            }""",
+                            random -> Map.of("keyword", BenchmarkData.KEYWORDS[random.nextInt(BenchmarkData.KEYWORDS.length)])),
+                    new Operation("filter", """
+                            query Filter($min: Float!, $nationality: String!) {
+                              books(filter: {minPrice: $min, authorNationality: $nationality},
+                                    orderBy: [{field: PRICE, direction: DESC}], first: 20) { edges { node { id title price } } }
+                            }""",
+                            random -> Map.of("min", 10 + random.nextInt(50), "nationality", random.nextBoolean() ? "Korea" : "USA")),
+                    new Operation("mutation", """
+                            mutation Update($input: BookUpdateInput!) { updateBook(bookUpdateInput: $input) { id price } }""",
+                            random -> Map.of("input", Map.of("id", 1 + random.nextInt(books), "price", 10 + random.nextInt(50)))));
+        }
+
+        String body() {
+            return jsonMapper.writeValueAsString(Map.of("query", query, "variables", variables.apply(ThreadLocalRandom.current())));
+        }
+    }
+
+    private record Options(int books, List<Integer> rps, Duration duration, Duration warmup, Map<String, Integer> mix,
+                           int maxInFlight, Duration timeout, int clients, Path reportFile, List<String> appArgs) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected key=value: " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            for (String entry : values.getOrDefault("mix", "byId:30,list:20,nested:20,search:15,filter:10,mutation:5").split(",")) {
+                String[] nameAndWeight = entry.trim().split(":");
+                mix.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+            }
+            String appArgs = values.getOrDefault("app", "");
+            return new Options(
+                    Integer.parseInt(values.getOrDefault("books", "10000")),
+                    Arrays.stream(values.getOrDefault("rps", "100").split(",")).map(String::trim).map(Integer::parseInt).toList(),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                    mix,
+                    Integer.parseInt(values.getOrDefault("maxInFlight", "2000")),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout", "10"))),
+                    Integer.parseInt(values.getOrDefault("clients", "50")),
+                    Path.of(values.getOrDefault("report", "build/results/loadtest/report.json")),
+                    appArgs.isBlank() ? List.of() : Arrays.stream(appArgs.split(",")).map(String::trim).toList());
+        }
+
+        // 가중치만큼 반복한 목록에서 무작위로 고른다
+        List<Operation> weighted(List<Operation> operations) {
+            List<Operation> weighted = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                Operation operation = operations.stream().filter(candidate -> candidate.name().equals(entry.getKey())).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + entry.getKey()));
+                for (int i = 0; i < entry.getValue(); i++) {
+                    weighted.add(operation);
+                }
+            }
+            if (weighted.isEmpty()) {
+                throw new IllegalArgumentException("Empty operation mix");
+            }
+            return weighted;
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("books", books);
+            config.put("durationSeconds", duration.toSeconds());
+            config.put("warmupSeconds", warmup.toSeconds());
+            config.put("mix", mix);
+            config.put("maxInFlight", maxInFlight);
+            config.put("clients", clients);
+            config.put("appArgs", appArgs);
+            return config;
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_LATENCY_MICROS, 3);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+}
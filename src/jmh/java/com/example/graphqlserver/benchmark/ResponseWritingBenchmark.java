@@ -0,0 +1,70 @@
+package com.example.graphqlserver.benchmark;
+
+import com.example.graphqlserver.support.DateTimes;
+import com.example.graphqlserver.support.GraphQlJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 응답 직렬화 비용 (DB/엔진 제외).
+ * getAllBooksConnection 결과 모양의 Map 트리를 JsonMapper 의 일반 Map 직렬화와 GraphQlJsonWriter 로 각각 쓴다.
+ */
+@State(Scope.Thread)
+public class ResponseWritingBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private Map<String, Object> result;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime publishedDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object> edges = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> author = new LinkedHashMap<>();
+            author.put("id", String.valueOf(i / BenchmarkData.BOOKS_PER_AUTHOR + 1));
+            author.put("name", "저자 " + i / BenchmarkData.BOOKS_PER_AUTHOR);
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("id", String.valueOf(i + 1));
+            node.put("title", BenchmarkData.KEYWORDS[i % BenchmarkData.KEYWORDS.length] + " 도서 " + i);
+            node.put("price", 10_000.0 + i % 500);
+            node.put("pageCount", 100 + i % 400);
+            node.put("publishedDate", DateTimes.format(publishedDate.plusDays(i % 1000)));
+            node.put("author", author);
+            Map<String, Object> edge = new LinkedHashMap<>();
+            edge.put("cursor", "Y3Vyc29y" + i);
+            edge.put("node", node);
+            edges.add(edge);
+        }
+        Map<String, Object> connection = new LinkedHashMap<>();
+        connection.put("edges", edges);
+        connection.put("pageInfo", Map.of("hasNextPage", true, "hasPreviousPage", false));
+        result = new LinkedHashMap<>();
+        result.put("data", Map.of("getAllBooksConnection", connection));
+    }
+
+    @Benchmark
+    public void jsonMapper() {
+        jsonMapper.writeValue(out, result);
+    }
+
+    @Benchmark
+    public void directWriter() {
+        GraphQlJsonWriter.write(jsonMapper, out, result);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.graphqlserver.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 한 요청이 실행 중에 읽은 엔티티/타입 태그 (루트 필드와 배치 로더가 여러 스레드에서 기록).
+ * 태그로 표현할 수 없는 값을 읽었으면 캐시하지 않는다.
+ */
+public class CacheTags {
+
+    // ResponseCacheInterceptor 가 ExecutionInput 의 GraphQLContext 에 넣어 두는 키
+    public static final String CONTEXT_KEY = CacheTags.class.getName();
+
+    private final Set<String> tags = ConcurrentHashMap.newKeySet();
+    private volatile boolean cacheable = true;
+
+    public void add(String tag) {
+        tags.add(tag);
+    }
+
+    public void markUncacheable() {
+        cacheable = false;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public Set<String> getTags() {
+        return Set.copyOf(tags);
+    }
+
+}
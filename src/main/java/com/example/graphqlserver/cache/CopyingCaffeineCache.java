@@ -0,0 +1,106 @@
+package com.example.graphqlserver.cache;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.Hibernate;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장할 때와 꺼낼 때 Author/Book(및 그 목록)을 복사하는 CaffeineCache.
+ * 캐시된 분리 엔티티 하나를 여러 요청이 함께 쓰면 한 요청이 연관을 바꾸거나 새 엔티티에 붙이거나
+ * DataLoader 에 넣은 객체가 다른 요청에 그대로 보이므로, 요청마다 자기 사본을 받게 한다.
+ * 초기화된 연관만 따라가 복사하고 초기화되지 않은 프록시/컬렉션은 그대로 둔다 (분리 상태라 어차피 읽을 수 없음).
+ */
+public class CopyingCaffeineCache extends CaffeineCache {
+
+    public CopyingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(copy(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy(super.fromStoreValue(storeValue));
+    }
+
+    private static Object copy(Object value) {
+        Map<Object, Object> copies = new IdentityHashMap<>();
+        return switch (value) {
+            case Author author -> copy(author, copies);
+            case Book book -> copy(book, copies);
+            case List<?> list -> {
+                List<Object> copied = new ArrayList<>(list.size());
+                for (Object element : list) {
+                    copied.add(element instanceof Book book ? copy(book, copies)
+                            : element instanceof Author author ? copy(author, copies) : element);
+                }
+                yield copied;
+            }
+            case null, default -> value;
+        };
+    }
+
+    private static Author copy(Author author, Map<Object, Object> copies) {
+        if (!Hibernate.isInitialized(author)) {
+            return author;
+        }
+        Author source = (Author) Hibernate.unproxy(author);
+        Object existing = copies.get(source);
+        if (existing != null) {
+            return (Author) existing;
+        }
+        Author copy = Author.builder()
+                .id(source.getId())
+                .name(source.getName())
+                .email(source.getEmail())
+                .bio(source.getBio())
+                .birthDate(source.getBirthDate())
+                .nationality(source.getNationality())
+                .createdAt(source.getCreatedAt())
+                .updatedAt(source.getUpdatedAt())
+                .build();
+        copies.put(source, copy);
+        if (Hibernate.isInitialized(source.getBooks())) {
+            List<Book> books = new ArrayList<>(source.getBooks().size());
+            for (Book book : source.getBooks()) {
+                books.add(copy(book, copies));
+            }
+            copy.setBooks(books);
+        } else {
+            copy.setBooks(source.getBooks());
+        }
+        return copy;
+    }
+
+    private static Book copy(Book book, Map<Object, Object> copies) {
+        Object existing = copies.get(book);
+        if (existing != null) {
+            return (Book) existing;
+        }
+        Book copy = Book.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .isbn(book.getIsbn())
+                .description(book.getDescription())
+                .price(book.getPrice())
+                .publishedDate(book.getPublishedDate())
+                .pageCount(book.getPageCount())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+        copies.put(book, copy);
+        copy.setAuthor(book.getAuthor() == null ? null : copy(book.getAuthor(), copies));
+        return copy;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.graphqlserver.cache;
+
+import com.example.graphqlserver.config.DocumentCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 쿼리 원문의 sha256 해시를 키로 파싱/검증 결과를 LRU 로 보관한다.
+ * Automatic Persisted Queries 용 해시 -> 쿼리 원문 저장소도 함께 관리한다.
+ */
+@Component
+public class DocumentCache implements PreparsedDocumentProvider, MeterBinder {
+
+    // PersistedQueryInterceptor 가 검증한 해시를 ExecutionInput 의 GraphQLContext 로 전달할 때 쓰는 키
+    public static final String QUERY_HASH_KEY = DocumentCache.class.getName() + ".queryHash";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Cache<String, String> persistedQueries;
+
+    public DocumentCache(DocumentCacheProperties properties) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        this.persistedQueries = Caffeine.newBuilder()
+                .maximumSize(properties.getPersistedQueries().getMaxSize())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String hash = executionInput.getGraphQLContext().get(QUERY_HASH_KEY);
+        if (hash == null) {
+            hash = sha256(executionInput.getQuery());
+        }
+        return CompletableFuture.completedFuture(
+                documents.get(hash, key -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    public String getPersistedQuery(String hash) {
+        return persistedQueries.getIfPresent(hash);
+    }
+
+    public void registerPersistedQuery(String hash, String query) {
+        persistedQueries.put(hash, query);
+    }
+
+    // 적중/미스/축출 카운터
+    public CacheStats documentStats() {
+        return documents.stats();
+    }
+
+    public CacheStats persistedQueryStats() {
+        return persistedQueries.stats();
+    }
+
+    // cache.gets 등의 지표로 노출 (cache=graphqlDocuments / graphqlPersistedQueries)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Prometheus 는 같은 지표 이름에 같은 태그 키를 요구하므로 Spring 캐시 지표와 태그를 맞춤
+        CaffeineCacheMetrics.monitor(registry, documents, "graphqlDocuments",
+                "cache.manager", "documentCache", "name", "graphqlDocuments");
+        CaffeineCacheMetrics.monitor(registry, persistedQueries, "graphqlPersistedQueries",
+                "cache.manager", "documentCache", "name", "graphqlPersistedQueries");
+    }
+
+    public static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.graphqlserver.cache;
+
+import com.example.graphqlserver.datasource.ReplicaLag;
+import com.example.graphqlserver.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Author/Book 조회 캐시 이름과 무효화 로직.
+ * 무효화는 커밋 이후에 실행되어 커밋 전 데이터가 다시 캐시되는 것을 막고,
+ * replica 읽기를 쓰면 복제 지연이 지난 뒤 한 번 더 실행된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCaches {
+
+    public static final String AUTHORS = "authors";
+    public static final String AUTHORS_BY_EMAIL = "authorsByEmail";
+    public static final String AUTHORS_WITH_BOOKS = "authorsWithBooks";
+    public static final String BOOKS = "books";
+    public static final String BOOKS_WITH_AUTHOR = "booksWithAuthor";
+    public static final String BOOKS_BY_AUTHOR = "booksByAuthor";
+
+    private final CacheManager cacheManager;
+    private final ReplicaLag replicaLag;
+
+    // 저자 본인 정보가 바뀐 경우 (저자를 포함하는 도서 캐시도 함께)
+    public void evictAuthor(Long authorId, Collection<String> emails, Collection<Long> bookIds) {
+        afterCommit(() -> {
+            evict(AUTHORS, authorId);
+            evict(AUTHORS_WITH_BOOKS, authorId);
+            emails.stream().filter(Objects::nonNull).forEach(email -> evict(AUTHORS_BY_EMAIL, email));
+            bookIds.forEach(bookId -> evict(BOOKS_WITH_AUTHOR, bookId));
+        });
+    }
+
+    // 저자의 도서 목록이 바뀐 경우
+    public void evictAuthorBooks(Collection<Long> authorIds) {
+        afterCommit(() -> authorIds.stream().filter(Objects::nonNull).forEach(authorId -> {
+            evict(BOOKS_BY_AUTHOR, authorId);
+            evict(AUTHORS_WITH_BOOKS, authorId);
+        }));
+    }
+
+    public void evictBooks(Collection<Long> bookIds) {
+        afterCommit(() -> bookIds.forEach(bookId -> {
+            evict(BOOKS, bookId);
+            evict(BOOKS_WITH_AUTHOR, bookId);
+        }));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        TransactionCallbacks.afterCommit(() -> {
+            eviction.run();
+            replicaLag.repeatAfterLag(eviction);
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+}
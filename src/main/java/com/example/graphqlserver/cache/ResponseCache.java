@@ -0,0 +1,216 @@
+package com.example.graphqlserver.cache;
+
+import com.example.graphqlserver.config.ResponseCacheProperties;
+import com.example.graphqlserver.datasource.ReplicaLag;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.event.AuthorChangedEvent;
+import com.example.graphqlserver.event.BookChangedEvent;
+import com.example.graphqlserver.support.GraphQlJsonWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import graphql.ExecutionResult;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 읽기 전용 operation 의 실행 결과 캐시.
+ * 키는 정규화한 문서 해시 + operation 이름 + 변수이고, 항목에는 결과에 담긴 엔티티 태그(Book:1, Author:2)와
+ * 루트 목록 필드의 타입 태그(Book, Author)가 붙는다. 변경 이벤트가 커밋되면 관련 태그의 항목을 무효화한다.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+    public static final String BOOK = "Book";
+    public static final String AUTHOR = "Author";
+    // 모든 도서 변경에 따라 바뀌는 저자 통계 순위 (topAuthors)
+    public static final String AUTHOR_STATS = "AuthorStats";
+
+    private final Cache<String, ParsedQuery> queries;
+    private final Cache<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByTag = new ConcurrentHashMap<>();
+    private final JsonMapper jsonMapper;
+    private final ReplicaLag replicaLag;
+    // 무효화 횟수, 실행 중에 무효화가 있었던 결과는 저장하지 않는다 (this 로 보호)
+    private long version;
+
+    public record Key(String documentHash, String operationName, Map<String, Object> variables) {
+    }
+
+    public record Entry(Map<String, Object> result, Set<String> tags, String etag) {
+
+        @SuppressWarnings("unchecked")
+        public ExecutionResult toExecutionResult() {
+            return ExecutionResult.newExecutionResult()
+                    .data(result.get("data"))
+                    .extensions((Map<Object, Object>) result.get("extensions"))
+                    .build();
+        }
+    }
+
+    // 원문 쿼리 -> 정규화(공백/주석 제거)한 문서의 해시
+    private record ParsedQuery(String normalizedHash, Document document) {
+    }
+
+    public ResponseCache(ResponseCacheProperties properties, JsonMapper jsonMapper, ReplicaLag replicaLag) {
+        this.jsonMapper = jsonMapper;
+        this.replicaLag = replicaLag;
+        this.queries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .build();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+    }
+
+    public static String entityTag(Object entity) {
+        if (entity instanceof Book book) {
+            return BOOK + ":" + book.getId();
+        }
+        if (entity instanceof Author author) {
+            return AUTHOR + ":" + author.getId();
+        }
+        return null;
+    }
+
+    // query operation 이 아니거나 문법 오류면 null (그대로 실행)
+    public Key keyFor(String query, String operationName, Map<String, Object> variables) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        ParsedQuery parsed = queries.get(DocumentCache.sha256(query), hash -> parse(query));
+        if (parsed == null) {
+            return null;
+        }
+        List<OperationDefinition> operations = parsed.document().getDefinitionsOfType(OperationDefinition.class).stream()
+                .filter(operation -> operationName == null || operationName.equals(operation.getName()))
+                .toList();
+        if (operations.size() != 1 || operations.get(0).getOperation() != OperationDefinition.Operation.QUERY) {
+            return null;
+        }
+        return new Key(parsed.normalizedHash(), operationName, variables);
+    }
+
+    public Entry get(Key key) {
+        return entries.getIfPresent(key);
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    // startVersion 이후 무효화가 있었다면 결과가 이미 낡았을 수 있으므로 저장하지 않고 ETag 만 만든다
+    public Entry put(Key key, Map<String, Object> result, Set<String> tags, long startVersion) {
+        Entry entry = new Entry(result, tags, etag(result));
+        synchronized (this) {
+            if (version == startVersion) {
+                tags.forEach(tag -> keysByTag.computeIfAbsent(tag, ignored -> ConcurrentHashMap.newKeySet()).add(key));
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        List<String> tags = new ArrayList<>();
+        tags.add(BOOK);
+        tags.add(BOOK + ":" + event.bookId());
+        tags.add(AUTHOR_STATS);
+        // 저자의 books 목록이 바뀜
+        event.authorIds().forEach(authorId -> tags.add(AUTHOR + ":" + authorId));
+        evictNowAndAfterLag(tags);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        // 저자 이름/국적 조건의 도서 목록도 달라질 수 있음
+        evictNowAndAfterLag(List.of(AUTHOR, AUTHOR + ":" + event.authorId(), BOOK));
+    }
+
+    // 복제 지연 동안 replica 에서 읽은 옛 결과가 다시 저장되었을 수 있으므로 한 번 더 무효화
+    private void evictNowAndAfterLag(List<String> tags) {
+        evict(tags);
+        replicaLag.repeatAfterLag(() -> evict(tags));
+    }
+
+    private synchronized void evict(List<String> tags) {
+        version++;
+        for (String tag : tags) {
+            Set<Key> keys = keysByTag.remove(tag);
+            if (keys != null) {
+                entries.invalidateAll(keys);
+            }
+        }
+    }
+
+    // 같은 키로 새 항목이 들어왔으면 그 항목의 태그를 지우지 않도록 잠금 안에서 확인
+    private void onRemoval(Key key, Entry entry, RemovalCause cause) {
+        if (key == null || entry == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        synchronized (this) {
+            if (entries.asMap().containsKey(key)) {
+                return;
+            }
+            for (String tag : entry.tags()) {
+                keysByTag.computeIfPresent(tag, (ignored, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    // 응답과 같은 JSON 을 문자열로 만들지 않고 바로 해시
+    private String etag(Map<String, Object> result) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            GraphQlJsonWriter.write(jsonMapper, new DigestOutputStream(OutputStream.nullOutputStream(), digest), result);
+            return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ParsedQuery parse(String query) {
+        try {
+            Document document = Parser.parse(query);
+            return new ParsedQuery(DocumentCache.sha256(AstPrinter.printAstCompact(document)), document);
+        } catch (InvalidSyntaxException e) {
+            return null;
+        }
+    }
+
+    // cache.gets 등의 지표로 노출 (cache=graphqlResponses)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "graphqlResponses",
+                "cache.manager", "responseCache", "name", "graphqlResponses");
+    }
+
+}
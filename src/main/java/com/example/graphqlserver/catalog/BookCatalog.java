@@ -0,0 +1,893 @@
+package com.example.graphqlserver.catalog;
+
+import com.example.graphqlserver.config.CatalogProperties;
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.repository.AuthorRepository;
+import com.example.graphqlserver.repository.BookRepository;
+import com.example.graphqlserver.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 가격 범위/저자/저자 국적별 도서 조회용 메모리 읽기 모델.
+ * 도서를 엔티티 대신 기본형 컬럼 배열로 들고, 가격은 (price, id) 순으로 정렬한 슬롯 인덱스,
+ * 저자/국적은 저자 id / 국적 -> 도서 슬롯(id 순) posting 으로 조회해 DB 를 거치지 않는다.
+ * 조회는 인덱스 구간을 이진 탐색으로 찾아 페이지 크기만큼만 읽고, 변경은 바뀐 슬롯만 인덱스에서 빼고 넣는다.
+ * 결과 순서와 커서는 같은 조회의 JPA keyset 페이지네이션과 같고, 변경은 커밋 이후 반영된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCatalog {
+
+    private static final Sort idOrder = Sort.by("id");
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CatalogProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns(true);
+    // 재구성 중 들어온 변경 (재구성이 끝나면 새 컬럼에 다시 반영)
+    private List<Consumer<Columns>> pending;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isEnabled()) {
+            Thread.ofVirtual().name("book-catalog-rebuild").start(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                throw new IllegalStateException("Book catalog rebuild is already running");
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns rebuilt = new Columns(properties.isNationalityIgnoreCase());
+        try {
+            scroll(authorRepository::findAllBy, author -> rebuilt.putAuthor(author.getId(), author.getNationality()));
+            scroll(bookRepository::findAllBy, book -> rebuilt.load(BookRow.of(book)));
+            rebuilt.index();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            columns = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book catalog rebuilt: {} books", rebuilt.liveCount());
+        return rebuilt.liveCount();
+    }
+
+    // 커밋 이후 반영 (@PreUpdate 로 바뀐 updatedAt 까지 담기도록 값도 커밋 이후에 읽는다)
+    public void put(Book book) {
+        putAll(List.of(book));
+    }
+
+    public void putAll(Collection<Book> books) {
+        if (!properties.isEnabled() || books.isEmpty()) {
+            return;
+        }
+        List<Book> changed = List.copyOf(books);
+        TransactionCallbacks.afterCommit(() -> {
+            List<BookRow> rows = changed.stream().map(BookRow::of).toList();
+            apply(current -> current.putBooks(rows));
+        });
+    }
+
+    public void remove(Collection<Long> bookIds) {
+        if (!properties.isEnabled() || bookIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(bookIds);
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.removeBooks(ids)));
+    }
+
+    public void putAuthors(Collection<Author> authors) {
+        if (!properties.isEnabled() || authors.isEmpty()) {
+            return;
+        }
+        List<Author> changed = List.copyOf(authors);
+        TransactionCallbacks.afterCommit(() -> apply(current ->
+                changed.forEach(author -> current.putAuthor(author.getId(), author.getNationality()))));
+    }
+
+    // 저자의 도서도 함께 (cascade 삭제)
+    public void removeAuthor(Long authorId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.removeAuthor(authorId)));
+    }
+
+    // (price, id) 순
+    public List<Book> findByPriceBetween(double minPrice, double maxPrice) {
+        return read(current -> current.materialize(current.priceRange(minPrice, maxPrice), authorReferences()));
+    }
+
+    // id 순
+    public List<Book> findByAuthorId(long authorId) {
+        return read(current -> current.materialize(SlotRange.of(current.booksOf(authorId)), authorReferences()));
+    }
+
+    public List<Book> findByAuthorNationality(String nationality) {
+        return read(current -> current.materialize(current.booksOfNationality(nationality), authorReferences()));
+    }
+
+    // 도서가 없는 저자는 빠진다
+    public Map<Long, List<Book>> findByAuthorIds(Collection<Long> authorIds) {
+        return read(current -> {
+            Function<Long, Author> authors = authorReferences();
+            Map<Long, List<Book>> booksByAuthorId = new HashMap<>();
+            for (Long authorId : authorIds) {
+                int[] slots = current.booksOf(authorId);
+                if (slots.length > 0) {
+                    booksByAuthorId.put(authorId, current.materialize(SlotRange.of(slots), authors));
+                }
+            }
+            return booksByAuthorId;
+        });
+    }
+
+    // 커서 키는 JPA 경로와 같은 (price, id)
+    public Window<Book> findByPriceBetween(double minPrice, double maxPrice, KeysetScrollPosition position, Limit limit) {
+        return read(current -> current.window(current.priceRange(minPrice, maxPrice), true, position, limit, authorReferences()));
+    }
+
+    public Window<Book> findByAuthorId(long authorId, KeysetScrollPosition position, Limit limit) {
+        return read(current -> current.window(SlotRange.of(current.booksOf(authorId)), false, position, limit, authorReferences()));
+    }
+
+    public Window<Book> findByAuthorNationality(String nationality, KeysetScrollPosition position, Limit limit) {
+        return read(current -> current.window(current.booksOfNationality(nationality), false, position, limit, authorReferences()));
+    }
+
+    // 저자는 초기화되지 않은 프록시 (Book.author 는 @BatchMapping 이 저자 id 묶음으로 조회)
+    private Function<Long, Author> authorReferences() {
+        Map<Long, Author> references = new HashMap<>();
+        return authorId -> references.computeIfAbsent(authorId, authorRepository::getReferenceById);
+    }
+
+    private <T> T read(Function<Columns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> void scroll(ScrollQuery<T> query, Consumer<T> action) {
+        Limit limit = Limit.of(properties.getRebuildBatchSize());
+        Window<T> window = query.find(ScrollPosition.keyset(), limit, idOrder);
+        while (true) {
+            window.forEach(action);
+            if (window.isEmpty() || !window.hasNext()) {
+                break;
+            }
+            window = query.find(window.positionAt(window.size() - 1), limit, idOrder);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ScrollQuery<T> {
+        Window<T> find(ScrollPosition position, Limit limit, Sort sort);
+    }
+
+    // slots[from, to) (인덱스 배열을 복사하지 않고 구간만 가리킨다, 읽기 잠금 안에서만 사용)
+    private record SlotRange(int[] slots, int from, int to) {
+
+        static final SlotRange EMPTY = new SlotRange(new int[0], 0, 0);
+
+        static SlotRange of(int[] slots) {
+            return new SlotRange(slots, 0, slots.length);
+        }
+
+        int size() {
+            return to - from;
+        }
+    }
+
+    private record BookRow(long id, String title, String isbn, String description, Double price, Integer pageCount,
+                           LocalDateTime publishedDate, LocalDateTime createdAt, LocalDateTime updatedAt, long authorId) {
+
+        static BookRow of(Book book) {
+            return new BookRow(book.getId(), book.getTitle(), book.getIsbn(), book.getDescription(), book.getPrice(),
+                    book.getPageCount(), book.getPublishedDate(), book.getCreatedAt(), book.getUpdatedAt(),
+                    book.getAuthor().getId());
+        }
+    }
+
+    /**
+     * 도서 컬럼. 슬롯은 추가 순서대로 쓰고, 삭제된 슬롯은 표시해 두었다가 일정 비율이 넘으면 압축한다.
+     * null 은 가격 NaN, 쪽수 Integer.MIN_VALUE, 날짜 Long.MIN_VALUE (UTC 기준 epoch 마이크로초, DATETIME(6) 정밀도).
+     */
+    private static final class Columns {
+
+        private static final int NULL_INT = Integer.MIN_VALUE;
+        private static final long NULL_TIME = Long.MIN_VALUE;
+        private static final int[] NO_SLOTS = new int[0];
+        private static final int COMPACT_MIN_REMOVED = 1024;
+        // 한 번에 바뀐 도서가 이보다 많으면 가격 인덱스를 하나씩 고치지 않고 한 번에 병합
+        private static final int MERGE_REINDEX_MIN = 32;
+
+        private final boolean nationalityIgnoreCase;
+
+        private int size;
+        private int removedCount;
+        private long[] ids = new long[16];
+        private long[] authorIds = new long[16];
+        private double[] prices = new double[16];
+        private int[] pageCounts = new int[16];
+        private long[] publishedDates = new long[16];
+        private long[] createdAts = new long[16];
+        private long[] updatedAts = new long[16];
+        private String[] titles = new String[16];
+        private String[] isbns = new String[16];
+        private String[] descriptions = new String[16];
+        private BitSet removed = new BitSet();
+        private LongIntMap slotsById = new LongIntMap();
+
+        // 가격이 있는 도서 슬롯을 (price, id) 순으로 (앞의 pricedCount 개만 유효, 쓰기 잠금 안에서 제자리 수정)
+        private int[] priceOrder = NO_SLOTS;
+        private int pricedCount;
+        // 저자 id -> 도서 슬롯 (id 순, 바꿀 때마다 새 배열)
+        private Map<Long, int[]> booksByAuthor = new HashMap<>();
+        private final Map<Long, String> nationalityByAuthor = new HashMap<>();
+        // 국적 -> 그 국적 저자들의 도서 슬롯 (id 순, 바꿀 때마다 새 배열)
+        private Map<String, int[]> booksByNationality = new HashMap<>();
+
+        Columns(boolean nationalityIgnoreCase) {
+            this.nationalityIgnoreCase = nationalityIgnoreCase;
+        }
+
+        int liveCount() {
+            return size - removedCount;
+        }
+
+        // 재구성용: id 순으로 추가만 하고 인덱스는 index() 에서 한 번에
+        void load(BookRow row) {
+            int slot = append(row.id());
+            write(slot, row);
+        }
+
+        void index() {
+            booksByAuthor = postings(slot -> authorIds[slot]);
+            booksByNationality = postings(slot -> nationalityByAuthor.get(authorIds[slot]));
+            priceOrder = IntStream.range(0, size).filter(slot -> !Double.isNaN(prices[slot])).toArray();
+            pricedCount = priceOrder.length;
+            sortByPrice(priceOrder);
+        }
+
+        // 재구성 직후에는 슬롯이 id 순이므로 차례로 담으면 posting 도 id 순 (키가 null 이면 제외)
+        private <K> Map<K, int[]> postings(IntFunction<K> keyOf) {
+            Map<K, Integer> counts = new HashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                K key = keyOf.apply(slot);
+                if (key != null) {
+                    counts.merge(key, 1, Integer::sum);
+                }
+            }
+            Map<K, int[]> postings = new HashMap<>();
+            Map<K, Integer> filled = new HashMap<>();
+            for (int slot = 0; slot < size; slot++) {
+                K key = keyOf.apply(slot);
+                if (key != null) {
+                    int[] slots = postings.computeIfAbsent(key, ignored -> new int[counts.get(key)]);
+                    slots[filled.merge(key, 1, Integer::sum) - 1] = slot;
+                }
+            }
+            return postings;
+        }
+
+        void putBooks(List<BookRow> rows) {
+            // 많이 바뀌면 표시만 해 두고 끝에서 한 번에 병합, 아니면 하나씩 이진 탐색으로 빼고 넣는다
+            BitSet repriced = rows.size() > MERGE_REINDEX_MIN ? new BitSet() : null;
+            for (BookRow row : rows) {
+                int slot = slotsById.get(row.id());
+                if (slot < 0) {
+                    slot = append(row.id());
+                    write(slot, row);
+                    addToAuthor(slot);
+                    addPrice(slot, repriced);
+                    continue;
+                }
+                boolean authorChanged = authorIds[slot] != row.authorId();
+                boolean priceChanged = Double.compare(prices[slot], price(row)) != 0;
+                if (authorChanged) {
+                    removeFromAuthor(slot);
+                }
+                if (priceChanged) {
+                    removePrice(slot, repriced);
+                }
+                write(slot, row);
+                if (authorChanged) {
+                    addToAuthor(slot);
+                }
+                if (priceChanged) {
+                    addPrice(slot, repriced);
+                }
+            }
+            if (repriced != null) {
+                mergePrices(repriced);
+            }
+        }
+
+        void removeBooks(Collection<Long> bookIds) {
+            BitSet repriced = bookIds.size() > MERGE_REINDEX_MIN ? new BitSet() : null;
+            for (Long id : bookIds) {
+                int slot = slotsById.remove(id);
+                if (slot < 0) {
+                    continue;
+                }
+                removeFromAuthor(slot);
+                removePrice(slot, repriced);
+                removed.set(slot);
+                removedCount++;
+                titles[slot] = null;
+                isbns[slot] = null;
+                descriptions[slot] = null;
+            }
+            if (repriced != null) {
+                mergePrices(repriced);
+            }
+            if (removedCount >= COMPACT_MIN_REMOVED && removedCount * 4 > size) {
+                compact();
+            }
+        }
+
+        // 국적이 바뀌면 그 저자의 도서를 이전 국적 posting 에서 빼서 새 국적 posting 에 병합
+        void putAuthor(long authorId, String nationality) {
+            String key = nationalityKey(nationality);
+            String previous = nationalityByAuthor.put(authorId, key);
+            if (Objects.equals(previous, key)) {
+                return;
+            }
+            int[] authorSlots = booksOf(authorId);
+            if (authorSlots.length == 0) {
+                return;
+            }
+            if (previous != null) {
+                int[] remaining = Arrays.stream(booksByNationality.getOrDefault(previous, NO_SLOTS))
+                        .filter(slot -> authorIds[slot] != authorId)
+                        .toArray();
+                if (remaining.length == 0) {
+                    booksByNationality.remove(previous);
+                } else {
+                    booksByNationality.put(previous, remaining);
+                }
+            }
+            if (key != null) {
+                booksByNationality.put(key, mergeById(booksByNationality.getOrDefault(key, NO_SLOTS), authorSlots));
+            }
+        }
+
+        void removeAuthor(long authorId) {
+            putAuthor(authorId, null);
+            nationalityByAuthor.remove(authorId);
+            int[] slots = booksOf(authorId);
+            List<Long> bookIds = new ArrayList<>(slots.length);
+            for (int slot : slots) {
+                bookIds.add(ids[slot]);
+            }
+            removeBooks(bookIds);
+        }
+
+        SlotRange priceRange(double minPrice, double maxPrice) {
+            int from = lowerBound(minPrice, false);
+            int to = lowerBound(maxPrice, true);
+            return from < to ? new SlotRange(priceOrder, from, to) : SlotRange.EMPTY;
+        }
+
+        int[] booksOf(long authorId) {
+            return booksByAuthor.getOrDefault(authorId, NO_SLOTS);
+        }
+
+        // 국적이 같은 저자들의 도서를 id 순으로
+        SlotRange booksOfNationality(String nationality) {
+            String key = nationalityKey(nationality);
+            return key != null ? SlotRange.of(booksByNationality.getOrDefault(key, NO_SLOTS)) : SlotRange.EMPTY;
+        }
+
+        List<Book> materialize(SlotRange range, Function<Long, Author> authors) {
+            return materialize(range.slots(), range.from(), range.to(), authors);
+        }
+
+        // 이미 정렬된 슬롯 구간을 keyset 커서로 페이징 (커서 위치는 구간 안에서 이진 탐색)
+        Window<Book> window(SlotRange range, boolean pricedOrder, KeysetScrollPosition position, Limit limit,
+                            Function<Long, Author> authors) {
+            int pageSize = limit.isLimited() ? limit.max() : range.size();
+            int from;
+            int to;
+            if (position.scrollsForward()) {
+                from = position.isInitial() ? range.from() : indexOf(range, pricedOrder, position, false);
+                to = Math.min(from + pageSize, range.to());
+            } else {
+                to = position.isInitial() ? range.to() : indexOf(range, pricedOrder, position, true);
+                from = Math.max(range.from(), to - pageSize);
+            }
+
+            List<Book> books = materialize(range.slots(), from, to, authors);
+            boolean hasNext = position.scrollsForward() ? to < range.to() : from > range.from();
+            return Window.from(books, i -> ScrollPosition.of(keys(books.get(i), pricedOrder), position.getDirection()), hasNext);
+        }
+
+        // JPA keyset 과 같은 키 순서 (순서까지 같아야 커서 문자열이 같다)
+        private static Map<String, Object> keys(Book book, boolean pricedOrder) {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("id", book.getId());
+            if (pricedOrder) {
+                keys.put("price", book.getPrice());
+            }
+            return keys;
+        }
+
+        private List<Book> materialize(int[] slots, int from, int to, Function<Long, Author> authors) {
+            List<Book> books = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int slot = slots[i];
+                books.add(Book.builder()
+                        .id(ids[slot])
+                        .title(titles[slot])
+                        .isbn(isbns[slot])
+                        .description(descriptions[slot])
+                        .price(Double.isNaN(prices[slot]) ? null : prices[slot])
+                        .pageCount(pageCounts[slot] == NULL_INT ? null : pageCounts[slot])
+                        .publishedDate(fromMicros(publishedDates[slot]))
+                        .createdAt(fromMicros(createdAts[slot]))
+                        .updatedAt(fromMicros(updatedAts[slot]))
+                        .author(authors.apply(authorIds[slot]))
+                        .build());
+            }
+            return books;
+        }
+
+        // 커서 위치 바로 다음(inclusive=false) 또는 커서 위치(inclusive=true)의 인덱스
+        private int indexOf(SlotRange range, boolean pricedOrder, KeysetScrollPosition position, boolean inclusive) {
+            Object price = position.getKeys().get("price");
+            if (!(position.getKeys().get("id") instanceof Number id) || (pricedOrder && !(price instanceof Number))) {
+                throw new PaginationProperties.InvalidPaginationArgumentException("Invalid cursor");
+            }
+            int low = range.from();
+            int high = range.to();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int slot = range.slots()[middle];
+                int compared = pricedOrder ? Double.compare(prices[slot], ((Number) price).doubleValue()) : 0;
+                if (compared == 0) {
+                    compared = Long.compare(ids[slot], id.longValue());
+                }
+                if (inclusive ? compared < 0 : compared <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // price 이상(inclusive=false) 또는 price 초과(inclusive=true)인 첫 인덱스
+        private int lowerBound(double price, boolean inclusive) {
+            int low = 0;
+            int high = pricedCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int compared = Double.compare(prices[priceOrder[middle]], price);
+                if (inclusive ? compared <= 0 : compared < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // repriced 가 null 이면 지금 가격(변경 전)으로 위치를 찾아 바로 빼고, 아니면 표시만 (mergePrices 에서 처리)
+        private void removePrice(int slot, BitSet repriced) {
+            if (repriced != null) {
+                repriced.set(slot);
+                return;
+            }
+            if (Double.isNaN(prices[slot])) {
+                return;
+            }
+            int at = pricePosition(slot);
+            if (at < pricedCount && priceOrder[at] == slot) {
+                System.arraycopy(priceOrder, at + 1, priceOrder, at, pricedCount - at - 1);
+                pricedCount--;
+            }
+        }
+
+        private void addPrice(int slot, BitSet repriced) {
+            if (repriced != null) {
+                repriced.set(slot);
+                return;
+            }
+            if (Double.isNaN(prices[slot])) {
+                return;
+            }
+            int at = pricePosition(slot);
+            ensurePriceCapacity(pricedCount + 1);
+            System.arraycopy(priceOrder, at, priceOrder, at + 1, pricedCount - at);
+            priceOrder[at] = slot;
+            pricedCount++;
+        }
+
+        // 표시된 슬롯을 빼고 남은 순서에 정렬한 새 위치를 뒤에서부터 병합 (전체 재정렬 없이)
+        private void mergePrices(BitSet repriced) {
+            int kept = 0;
+            for (int i = 0; i < pricedCount; i++) {
+                if (!repriced.get(priceOrder[i])) {
+                    priceOrder[kept++] = priceOrder[i];
+                }
+            }
+            int[] added = repriced.stream().filter(slot -> !removed.get(slot) && !Double.isNaN(prices[slot])).toArray();
+            sortByPrice(added);
+            ensurePriceCapacity(kept + added.length);
+            int i = kept - 1;
+            int j = added.length - 1;
+            for (int k = kept + added.length - 1; j >= 0; k--) {
+                priceOrder[k] = i >= 0 && comparePrice(priceOrder[i], added[j]) > 0 ? priceOrder[i--] : added[j--];
+            }
+            pricedCount = kept + added.length;
+        }
+
+        // slot 의 (price, id) 가 들어갈 위치
+        private int pricePosition(int slot) {
+            int low = 0;
+            int high = pricedCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparePrice(priceOrder[middle], slot) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void ensurePriceCapacity(int capacity) {
+            if (capacity > priceOrder.length) {
+                priceOrder = Arrays.copyOf(priceOrder, Math.max(capacity, priceOrder.length * 2));
+            }
+        }
+
+        // (price, id) 순 병합 정렬 (Integer 상자 없이)
+        private void sortByPrice(int[] slots) {
+            int[] buffer = new int[slots.length];
+            for (int width = 1; width < slots.length; width *= 2) {
+                for (int low = 0; low + width < slots.length; low += 2 * width) {
+                    int middle = low + width;
+                    int high = Math.min(low + 2 * width, slots.length);
+                    int i = low;
+                    int j = middle;
+                    for (int k = low; k < high; k++) {
+                        buffer[k] = j >= high || (i < middle && comparePrice(slots[i], slots[j]) <= 0) ? slots[i++] : slots[j++];
+                    }
+                    System.arraycopy(buffer, low, slots, low, high - low);
+                }
+            }
+        }
+
+        private int comparePrice(int a, int b) {
+            int compared = Double.compare(prices[a], prices[b]);
+            return compared != 0 ? compared : Long.compare(ids[a], ids[b]);
+        }
+
+        // 저자 posting 과 (저자의 국적을 알면) 국적 posting 에 함께 넣고 뺀다
+        private void addToAuthor(int slot) {
+            addToPosting(booksByAuthor, authorIds[slot], slot);
+            String nationality = nationalityByAuthor.get(authorIds[slot]);
+            if (nationality != null) {
+                addToPosting(booksByNationality, nationality, slot);
+            }
+        }
+
+        private void removeFromAuthor(int slot) {
+            removeFromPosting(booksByAuthor, authorIds[slot], slot);
+            String nationality = nationalityByAuthor.get(authorIds[slot]);
+            if (nationality != null) {
+                removeFromPosting(booksByNationality, nationality, slot);
+            }
+        }
+
+        private <K> void addToPosting(Map<K, int[]> postings, K key, int slot) {
+            int[] slots = postings.getOrDefault(key, NO_SLOTS);
+            int at = slotIndex(slots, ids[slot]);
+            int[] added = new int[slots.length + 1];
+            System.arraycopy(slots, 0, added, 0, at);
+            added[at] = slot;
+            System.arraycopy(slots, at, added, at + 1, slots.length - at);
+            postings.put(key, added);
+        }
+
+        private <K> void removeFromPosting(Map<K, int[]> postings, K key, int slot) {
+            int[] slots = postings.getOrDefault(key, NO_SLOTS);
+            int at = slotIndex(slots, ids[slot]);
+            if (at >= slots.length || slots[at] != slot) {
+                return;
+            }
+            if (slots.length == 1) {
+                postings.remove(key);
+                return;
+            }
+            int[] remaining = new int[slots.length - 1];
+            System.arraycopy(slots, 0, remaining, 0, at);
+            System.arraycopy(slots, at + 1, remaining, at, slots.length - at - 1);
+            postings.put(key, remaining);
+        }
+
+        // id 순 슬롯 목록 두 개를 id 순으로 합친다
+        private int[] mergeById(int[] left, int[] right) {
+            int[] merged = new int[left.length + right.length];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < merged.length; k++) {
+                merged[k] = j >= right.length || (i < left.length && ids[left[i]] < ids[right[j]]) ? left[i++] : right[j++];
+            }
+            return merged;
+        }
+
+        // id 순 슬롯 목록에서 id 가 들어갈 위치
+        private int slotIndex(int[] slots, long id) {
+            int low = 0;
+            int high = slots.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ids[slots[middle]] < id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int append(long id) {
+            if (size == ids.length) {
+                grow(size * 2);
+            }
+            ids[size] = id;
+            slotsById.put(id, size);
+            return size++;
+        }
+
+        private void write(int slot, BookRow row) {
+            authorIds[slot] = row.authorId();
+            prices[slot] = price(row);
+            pageCounts[slot] = row.pageCount() != null ? row.pageCount() : NULL_INT;
+            publishedDates[slot] = toMicros(row.publishedDate());
+            createdAts[slot] = toMicros(row.createdAt());
+            updatedAts[slot] = toMicros(row.updatedAt());
+            titles[slot] = row.title();
+            isbns[slot] = row.isbn();
+            descriptions[slot] = row.description();
+        }
+
+        private void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            pageCounts = Arrays.copyOf(pageCounts, capacity);
+            publishedDates = Arrays.copyOf(publishedDates, capacity);
+            createdAts = Arrays.copyOf(createdAts, capacity);
+            updatedAts = Arrays.copyOf(updatedAts, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            isbns = Arrays.copyOf(isbns, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+
+        // 삭제된 슬롯을 당겨 채운다 (상대 순서가 그대로라 인덱스는 슬롯 번호만 바꾸면 된다)
+        private void compact() {
+            int[] moved = new int[size];
+            int live = 0;
+            LongIntMap compactedSlots = new LongIntMap();
+            for (int slot = 0; slot < size; slot++) {
+                if (removed.get(slot)) {
+                    moved[slot] = -1;
+                    continue;
+                }
+                moved[slot] = live;
+                ids[live] = ids[slot];
+                authorIds[live] = authorIds[slot];
+                prices[live] = prices[slot];
+                pageCounts[live] = pageCounts[slot];
+                publishedDates[live] = publishedDates[slot];
+                createdAts[live] = createdAts[slot];
+                updatedAts[live] = updatedAts[slot];
+                titles[live] = titles[slot];
+                isbns[live] = isbns[slot];
+                descriptions[live] = descriptions[slot];
+                compactedSlots.put(ids[live], live);
+                live++;
+            }
+            Arrays.fill(titles, live, size, null);
+            Arrays.fill(isbns, live, size, null);
+            Arrays.fill(descriptions, live, size, null);
+            size = live;
+            removedCount = 0;
+            removed = new BitSet();
+            slotsById = compactedSlots;
+            for (int i = 0; i < pricedCount; i++) {
+                priceOrder[i] = moved[priceOrder[i]];
+            }
+            booksByAuthor.replaceAll((authorId, slots) -> Arrays.stream(slots).map(slot -> moved[slot]).toArray());
+            booksByNationality.replaceAll((nationality, slots) -> Arrays.stream(slots).map(slot -> moved[slot]).toArray());
+        }
+
+        private String nationalityKey(String nationality) {
+            if (nationality == null || !nationalityIgnoreCase) {
+                return nationality;
+            }
+            return Normalizer.normalize(nationality, Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toLowerCase(Locale.ROOT);
+        }
+
+        private static double price(BookRow row) {
+            return row.price() != null ? row.price() : Double.NaN;
+        }
+
+        private static long toMicros(LocalDateTime time) {
+            if (time == null) {
+                return NULL_TIME;
+            }
+            return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+        }
+
+        private static LocalDateTime fromMicros(long micros) {
+            if (micros == NULL_TIME) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * 도서 id -> 슬롯 (선형 탐색 해시, 상자 객체 없이). 키 0 은 빈 칸 표시라 id 는 1 부터여야 한다.
+     */
+    private static final class LongIntMap {
+
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int count;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((count + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            count++;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                return -1;
+            }
+            int value = values[i];
+            // 뒤따르는 항목을 빈 칸으로 당겨 탐색 사슬이 끊기지 않게 한다
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = index(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            count--;
+            return value;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.cache.DocumentCache;
+import com.example.graphqlserver.interceptor.AdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.graphql.autoconfigure.GraphQlProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tools.jackson.databind.json.JsonMapper;
+
+// GraphQL 요청 수락 제어: 클라이언트별 할당량(429)과 지연 기반 동시 실행 한도(503) (graphql.admission.*)
+@Configuration
+@ConditionalOnProperty(prefix = "graphql.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionConfig {
+
+    // 요청 관측 필터(HIGHEST_PRECEDENCE + 1) 다음, ETag 필터보다 먼저 거절해 거절 응답도 http.server.requests 에 남게
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> graphQlAdmissionFilter(AdmissionProperties properties,
+                                                                          DocumentCache documentCache,
+                                                                          JsonMapper jsonMapper,
+                                                                          GraphQlProperties graphQlProperties,
+                                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        AdmissionFilter filter = new AdmissionFilter(properties, documentCache, jsonMapper);
+        meterRegistry.ifAvailable(filter::bindTo);
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(graphQlProperties.getHttp().getPath());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+}
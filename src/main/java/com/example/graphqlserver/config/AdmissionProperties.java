@@ -0,0 +1,81 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.admission")
+public class AdmissionProperties {
+
+    // false 면 /graphql POST 를 제한 없이 받음
+    private boolean enabled = true;
+
+    // 클라이언트 식별 헤더 (없거나 quota.clients 에 없는 키면 접속 주소)
+    private String apiKeyHeader = "X-Api-Key";
+
+    private Quota quota = new Quota();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Quota {
+
+        // 클라이언트별 토큰 버킷 (넘으면 429)
+        private boolean enabled = true;
+
+        // 기본 초당 요청 수 (버킷 충전 속도)
+        private double requestsPerSecond = 100;
+
+        // 한 번에 몰아 보낼 수 있는 요청 수 (버킷 크기)
+        private int burst = 200;
+
+        // 따로 버킷을 받는 API 키와 한도 (생략한 값은 기본값, 여기 없는 키는 접속 주소 버킷을 씀)
+        private Map<String, ClientQuota> clients = new LinkedHashMap<>();
+
+        // 버킷을 기억해 두는 최대 클라이언트 수
+        private int maxClients = 100000;
+    }
+
+    @Getter
+    @Setter
+    public static class ClientQuota {
+
+        private Double requestsPerSecond;
+
+        private Integer burst;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        // 지연으로 조절하는 동시 실행 한도 (넘으면 503)
+        private boolean enabled = true;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        // 최근 지연이 기준 지연의 이 배수까지는 한도를 줄이지 않음
+        private double tolerance = 1.5;
+
+        // 새 한도를 반영하는 비율 (0~1)
+        private double smoothing = 0.2;
+
+        // 한도 중 뮤테이션만 쓸 수 있는 비율 (조회가 몰려도 뮤테이션은 받음)
+        private double mutationReserve = 0.2;
+
+        // 503 응답의 Retry-After
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.author-stats")
+public class AuthorStatsProperties {
+
+    // false 면 주기적 재계산을 건너뜀 (POST /actuator/authorstats 는 계속 사용 가능)
+    private boolean reconcileEnabled = true;
+
+    // 재계산 주기 (애플리케이션 시작 직후 한 번 실행해 기존 데이터의 통계 행을 만든다)
+    private Duration reconcileInterval = Duration.ofHours(6);
+
+    // 재계산 시 한 트랜잭션에서 처리하는 저자 수
+    private int reconcileBatchSize = 1000;
+
+    // topAuthors limit 상한
+    private int maxTopAuthors = 100;
+
+}
@@ -0,0 +1,18 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.batching")
+public class BatchingProperties {
+
+    // false 면 JSON 배열 본문을 받지 않음 (기본 핸들러가 400)
+    private boolean enabled = true;
+
+    // 요청 하나에 담을 수 있는 최대 operation 수
+    private int maxOperations = 50;
+
+}
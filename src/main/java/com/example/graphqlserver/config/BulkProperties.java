@@ -0,0 +1,18 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.bulk")
+public class BulkProperties {
+
+    // JDBC 배치 한 번에 보내는 행 수
+    private int batchSize = 1000;
+
+    // 뮤테이션 한 번에 받을 수 있는 최대 항목 수
+    private int maxItems = 100000;
+
+}
@@ -0,0 +1,42 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.cache.CopyingCaffeineCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.cache.autoconfigure.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+// 캐시 종류/크기/TTL 은 application.yml 의 spring.cache 설정을 따름 (type: none 이면 캐시 미사용)
+// 캐시 적중 시 @SingleFlight 를 거치지 않도록 그보다 바깥에서 실행
+@Configuration
+@EnableCaching(order = SingleFlightConfig.ORDER - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // Boot 의 Caffeine 캐시 매니저와 같은 설정에 요청마다 엔티티 사본을 주는 캐시를 씀
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.cache", name = "type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new CopyingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        String specification = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(specification)) {
+            cacheManager.setCacheSpecification(specification);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.catalog")
+public class CatalogProperties {
+
+    // true 면 가격 범위/저자/국적별 도서 조회를 메모리 컬럼 모델로 처리
+    private boolean enabled = false;
+
+    // 시작 시 한 번에 읽어오는 행 수
+    private int rebuildBatchSize = 1000;
+
+    // 국적을 대소문자/악센트 구분 없이 비교 (MySQL utf8mb4_0900_ai_ci 와 같게, 구분하는 콜레이션이면 false)
+    private boolean nationalityIgnoreCase = true;
+
+}
@@ -0,0 +1,70 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.datasource.ReplicaPool;
+import com.example.graphqlserver.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 데이터소스 분리. 트랜잭션의 첫 SQL 시점까지 커넥션 획득을 미뤄(LazyConnectionDataSourceProxy)
+ * @Transactional(readOnly = true) 이면 ReplicaPool, 아니면 spring.datasource(primary) 커넥션을 쓴다.
+ * graphql.datasource.routing.enabled=false 면 Boot 기본 데이터소스를 그대로 사용.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "graphql.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+                                   DataSourceRoutingProperties properties) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(replicaDataSource(properties.getReplicas().get(i), i, primaryDataSource, dataSourceProperties, properties));
+        }
+        return new ReplicaPool(replicas, primaryDataSource, properties.getStrategy(), properties.getConnectionTimeout());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaPool);
+        return dataSource;
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceRoutingProperties.Replica replica, int index,
+                                                      HikariDataSource primary, DataSourceProperties dataSourceProperties,
+                                                      DataSourceRoutingProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(replica.getName() != null ? replica.getName() : "replica-" + (index + 1));
+        config.setJdbcUrl(replica.getUrl());
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        config.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+        config.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+        config.setMaximumPoolSize(replica.getMaximumPoolSize() != null ? replica.getMaximumPoolSize() : primary.getMaximumPoolSize());
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setValidationTimeout(Math.min(properties.getConnectionTimeout().toMillis(), config.getConnectionTimeout()));
+        // 시작 시 replica 가 내려가 있어도 애플리케이션은 뜨고, 상태 확인으로 제외/복귀
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+}
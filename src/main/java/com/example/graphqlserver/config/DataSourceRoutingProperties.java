@@ -0,0 +1,72 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // true 면 읽기 전용 트랜잭션을 replica 로, 나머지는 spring.datasource(primary) 로 보냄
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+
+    // replica 상태 확인 주기 (실패한 replica 는 제외했다가 확인에 성공하면 다시 사용)
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // replica 커넥션 획득/확인 제한 시간 (장애 replica 때문에 요청이 오래 멈추지 않도록 짧게)
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    // 쓰기를 한 클라이언트는 이 시간 동안 읽기도 primary 로 (replica 복제 지연 상한으로 잡는다)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // 클라이언트 식별 헤더
+    private String clientIdHeader = "X-Client-Id";
+
+    // 식별 헤더가 없을 때 클라이언트 구분 방법 (프록시/로드밸런서 뒤에서는 접속 주소가 모두 같으므로 기본은 X-Forwarded-For)
+    private ClientIdFallback clientIdFallback = ClientIdFallback.FORWARDED_FOR;
+
+    // 기억해 두는 최대 클라이언트 수
+    private int maxPinnedClients = 100000;
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    public enum ClientIdFallback {
+        // 헤더가 없으면 read-your-writes 를 적용하지 않음 (그 요청 안의 쓰기 후 읽기만 primary)
+        NONE,
+        // X-Forwarded-For 의 첫 주소 (프록시가 붙인 원래 클라이언트 주소)
+        FORWARDED_FOR,
+        // X-Forwarded-For, 없으면 접속 주소 (프록시 없이 직접 접속받을 때만)
+        REMOTE_ADDRESS
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        // 생략하면 spring.datasource 의 값
+        private String username;
+
+        private String password;
+
+        // 생략하면 spring.datasource.hikari.maximum-pool-size
+        private Integer maximumPoolSize;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.document-cache")
+public class DocumentCacheProperties {
+
+    // 파싱/검증이 끝난 Document 최대 보관 수
+    private int maxSize = 1000;
+
+    private PersistedQueries persistedQueries = new PersistedQueries();
+
+    @Getter
+    @Setter
+    public static class PersistedQueries {
+
+        // Automatic Persisted Queries (sha256 해시 조회, 미등록 시 등록)
+        private boolean enabled = true;
+
+        // 해시 -> 쿼리 원문 최대 보관 수
+        private int maxSize = 10000;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.support.BoundedVirtualThreadExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 루트 필드와 @BatchMapping, BatchLoaderRegistry 로더를 각자 가상 스레드에서 실행해 여러 루트 필드를 묻는 쿼리가 max(지연) 에 끝나게 한다.
+ * 서비스 메서드의 읽기 전용 트랜잭션은 스레드에 묶이므로 필드마다 별도 트랜잭션/커넥션을 쓴다.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    // 기본 applicationTaskExecutor 는 동시 실행 수 제한이 없어 커넥션 풀이 모자라면 대기/타임아웃이 생긴다
+    @Bean
+    public static BeanPostProcessor graphQlExecutorPostProcessor(ObjectProvider<ExecutionProperties> properties,
+                                                                 ObjectProvider<Scheduler> graphQlScheduler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AnnotatedControllerConfigurer configurer) {
+                    if (properties.getObject().isParallel()) {
+                        configurer.setExecutor(graphQlScheduler.getObject()::schedule);
+                    } else {
+                        configurer.setBlockingMethodPredicate(method -> false);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 컨트롤러 메서드와 BatchLoaderRegistry 로더(subscribeOn)가 함께 쓰는 실행기 (동시 실행 수를 같이 센다).
+    // Executor 빈으로 두면 기본 applicationTaskExecutor 가 만들어지지 않으므로 Scheduler 로 감싸 등록한다.
+    // Spring GraphQL 은 로더를 부르는 스레드에만 ThreadLocal(라우팅, SQL 카운터)을 복원하므로 제출할 때 담아 넘긴다.
+    @Bean
+    public Scheduler graphQlScheduler(ExecutionProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!properties.isParallel()) {
+            return Schedulers.immediate();
+        }
+        BoundedVirtualThreadExecutor executor =
+                new BoundedVirtualThreadExecutor("graphql-", properties.getMaxConcurrency());
+        meterRegistry.ifAvailable(registry -> Gauge.builder("graphql.executor.waiting", executor,
+                        BoundedVirtualThreadExecutor::getWaitingCount)
+                .description("Controller invocations waiting for a free execution slot")
+                .register(registry));
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        return Schedulers.fromExecutor(task -> executor.execute(snapshots.captureAll().wrap(task)));
+    }
+
+}
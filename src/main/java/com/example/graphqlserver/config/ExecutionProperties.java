@@ -0,0 +1,18 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.execution")
+public class ExecutionProperties {
+
+    // false 면 컨트롤러 메서드를 요청 스레드에서 순서대로 실행
+    private boolean parallel = true;
+
+    // 동시에 실행하는 컨트롤러 메서드 수 (커넥션 풀 크기보다 크면 풀 대기가 생김)
+    private int maxConcurrency = 10;
+
+}
@@ -0,0 +1,121 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.cache.DocumentCache;
+import com.example.graphqlserver.interceptor.BatchGraphQlHttpHandler;
+import com.example.graphqlserver.interceptor.DirectJsonGraphQlHttpHandler;
+import com.example.graphqlserver.interceptor.GraphQlETagFilter;
+import com.example.graphqlserver.interceptor.MultipartGraphQlHttpHandler;
+import com.example.graphqlserver.service.BookService;
+import com.example.graphqlserver.support.DateTimeScalar;
+import com.example.graphqlserver.support.TransactionalFlux;
+import graphql.ErrorClassification;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.graphql.autoconfigure.GraphQlProperties;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.graphql.execution.SubscriptionExceptionResolver;
+import org.springframework.graphql.execution.SubscriptionExceptionResolverAdapter;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class GraphQlConfig {
+
+    // 파싱/검증 결과 캐시
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(DocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+
+    @Bean
+    public RuntimeWiringConfigurer dateTimeScalarConfigurer() {
+        return wiring -> wiring.scalar(DateTimeScalar.INSTANCE);
+    }
+
+    // 잘못된 커서/페이지 크기, 중복 ISBN 은 INTERNAL_ERROR 대신 BAD_REQUEST (그 밖의 예외 메시지는 노출하지 않음)
+    @Bean
+    public DataFetcherExceptionResolver badRequestExceptionResolver() {
+        return DataFetcherExceptionResolver.forSingleError((ex, env) -> ex instanceof PaginationProperties.InvalidPaginationArgumentException
+                || ex instanceof BookService.DuplicateIsbnException
+                ? GraphqlErrorBuilder.newError(env).errorType(ErrorType.BAD_REQUEST).message(ex.getMessage()).build()
+                : null);
+    }
+
+    // 동시 스트림 한도 초과는 INTERNAL_ERROR 대신 다시 시도할 수 있는 UNAVAILABLE
+    @Bean
+    public SubscriptionExceptionResolver tooManyStreamsExceptionResolver() {
+        return new SubscriptionExceptionResolverAdapter() {
+            @Override
+            protected GraphQLError resolveToSingleError(Throwable ex) {
+                return ex instanceof TransactionalFlux.TooManyStreamsException
+                        ? GraphqlErrorBuilder.newError()
+                                .errorType(ErrorClassification.errorClassification("UNAVAILABLE"))
+                                .message(ex.getMessage()).build()
+                        : null;
+            }
+        };
+    }
+
+    // 기본 JSON 핸들러 대체 (상태 코드/헤더는 같고 본문만 직접 씀)
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "graphql.streaming", name = "direct-json-writer", matchIfMissing = true)
+    public GraphQlHttpHandler graphQlHttpHandler(WebGraphQlHandler webGraphQlHandler, JsonMapper jsonMapper) {
+        return new DirectJsonGraphQlHttpHandler(webGraphQlHandler, jsonMapper);
+    }
+
+    // ResponseCacheInterceptor 가 붙인 ETag 와 If-None-Match 가 같으면 304
+    @Bean
+    public FilterRegistrationBean<GraphQlETagFilter> graphQlETagFilter(GraphQlProperties graphQlProperties) {
+        FilterRegistrationBean<GraphQlETagFilter> registration = new FilterRegistrationBean<>(new GraphQlETagFilter());
+        registration.addUrlPatterns(graphQlProperties.getHttp().getPath());
+        return registration;
+    }
+
+    // Accept: multipart/mixed 요청의 @defer 점진 응답 (기본 JSON 라우트보다 먼저 매칭)
+    // (HTTP 핸들러들은 WebGraphQlHandler 가 있는 서블릿 컨텍스트에서만, 벤치마크처럼 웹 서버 없이 띄울 때는 제외)
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public RouterFunction<ServerResponse> graphQlMultipartRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                         JsonMapper jsonMapper,
+                                                                         GraphQlProperties graphQlProperties) {
+        MultipartGraphQlHttpHandler handler = new MultipartGraphQlHttpHandler(webGraphQlHandler, jsonMapper);
+        return RouterFunctions.route()
+                .POST(graphQlProperties.getHttp().getPath(), MultipartGraphQlHttpHandler::accepts, handler::handleRequest)
+                .build();
+    }
+
+    // JSON 배열 본문 = operation 일괄 실행 (multipart 다음, 기본 JSON 라우트보다 먼저 매칭, 배열이 아니면 기본 핸들러로)
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "graphql.batching", name = "enabled", matchIfMissing = true)
+    public RouterFunction<ServerResponse> graphQlBatchRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                     GraphQlHttpHandler graphQlHttpHandler,
+                                                                     JsonMapper jsonMapper,
+                                                                     GraphQlProperties graphQlProperties,
+                                                                     BatchingProperties batchingProperties) {
+        BatchGraphQlHttpHandler handler = new BatchGraphQlHttpHandler(webGraphQlHandler, graphQlHttpHandler,
+                jsonMapper, batchingProperties.getMaxOperations());
+        return RouterFunctions.route()
+                .POST(graphQlProperties.getHttp().getPath(), BatchGraphQlHttpHandler::accepts, handler::handleRequest)
+                .build();
+    }
+
+}
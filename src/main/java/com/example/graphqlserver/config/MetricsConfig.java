@@ -0,0 +1,25 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.instrumentation.SqlStatementCounter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // 요청별 SQL 수 집계 (graphql.sql.statements)
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // 클라이언트가 정하는 operation 이름으로 시계열이 무한히 늘어나지 않도록 제한
+    @Bean
+    public MeterFilter graphQlOperationTagLimit(MetricsProperties properties) {
+        return MeterFilter.maximumAllowableTags("graphql", "operation", properties.getMaxOperationNames(), MeterFilter.deny());
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.metrics")
+public class MetricsProperties {
+
+    private boolean enabled = true;
+
+    // 필드별 타이머를 기록할 요청 비율 (0 ~ 1)
+    private double fieldSampleRate = 0.1;
+
+    // operation 태그로 허용할 서로 다른 operation 이름 수 (넘으면 해당 측정값은 버림)
+    private int maxOperationNames = 100;
+
+}
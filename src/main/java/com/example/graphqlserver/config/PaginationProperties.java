@@ -0,0 +1,49 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.graphql.data.query.ScrollSubrange;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.pagination")
+public class PaginationProperties {
+
+    // first/last 미지정 시 페이지 크기
+    private int defaultSize = 20;
+
+    // 한 번에 조회할 수 있는 최대 페이지 크기
+    private int maxSize = 100;
+
+    public Limit limit(ScrollSubrange subrange) {
+        int size = subrange.count().orElse(defaultSize);
+        if (size < 0) {
+            throw new InvalidPaginationArgumentException("Page size must not be negative");
+        }
+        return Limit.of(Math.min(size, maxSize));
+    }
+
+    public KeysetScrollPosition position(ScrollSubrange subrange) {
+        ScrollPosition position = subrange.position()
+                .orElseGet(() -> subrange.forward() ? ScrollPosition.keyset() : ScrollPosition.keyset().backward());
+        // OFFSET 기반 커서는 허용하지 않음
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new InvalidPaginationArgumentException("Invalid cursor");
+        }
+        return keysetPosition;
+    }
+
+    // 잘못된 페이지 크기/커서 (BAD_REQUEST 로 응답)
+    public static class InvalidPaginationArgumentException extends RuntimeException {
+
+        public InvalidPaginationArgumentException(String message) {
+            super(message);
+        }
+
+    }
+
+}
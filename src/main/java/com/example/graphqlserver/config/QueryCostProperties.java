@@ -0,0 +1,39 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.cost")
+public class QueryCostProperties {
+
+    private boolean enabled = true;
+
+    // 쿼리 하나에 허용되는 최대 비용
+    private long maxCost = 20000;
+
+    // 최대 필드 중첩 깊이
+    private int maxDepth = 8;
+
+    // field-weights 에 없는 필드의 기본 비용
+    private int defaultFieldWeight = 1;
+
+    // 페이지 인자가 없는 목록 필드의 예상 건수
+    private int defaultListSize = 20;
+
+    // first/last/limit 인자가 없는 루트 목록 필드(getAllBooks 등 테이블 전체)의 예상 건수
+    private int unpaginatedListSize = 1000;
+
+    // 타입명 -> (필드명 -> 비용)
+    private Map<String, Map<String, Integer>> fieldWeights = new HashMap<>();
+
+    public int weightOf(String typeName, String fieldName) {
+        return fieldWeights.getOrDefault(typeName, Map.of()).getOrDefault(fieldName, defaultFieldWeight);
+    }
+
+}
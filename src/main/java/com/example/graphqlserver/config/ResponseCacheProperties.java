@@ -0,0 +1,23 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.response-cache")
+public class ResponseCacheProperties {
+
+    // 읽기 전용 operation 결과 캐시 + ETag
+    private boolean enabled = true;
+
+    // 보관할 결과 수 (정규화한 문서 + operation 이름 + 변수 조합)
+    private int maxSize = 10000;
+
+    // 변경 이벤트로 무효화되지 않는 경로(직접 수정한 DB 등)에 대비한 최대 보관 시간
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+}
@@ -0,0 +1,10 @@
+package com.example.graphqlserver.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 주기 작업 (AuthorStatsService 재계산), 주기는 application.yml 의 graphql.* 설정을 따름
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,18 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.search")
+public class SearchProperties {
+
+    // false 면 기존 LIKE 쿼리로 검색
+    private boolean enabled = true;
+
+    // 재색인 시 한 번에 읽어오는 도서 수
+    private int rebuildBatchSize = 1000;
+
+}
@@ -0,0 +1,41 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.support.SingleFlight;
+import com.example.graphqlserver.support.SingleFlightInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * @SingleFlight 적용. 프록시 안에서의 순서는 캐시(CacheConfig) -> single-flight -> 트랜잭션 이어서
+ * 캐시 적중은 바로 돌려주고, 기다리는 호출은 트랜잭션(커넥션)을 시작하지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "graphql.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    // @EnableTransactionManagement 기본 순서(LOWEST_PRECEDENCE) 보다 바깥
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static SingleFlightInterceptor singleFlightInterceptor(SingleFlightProperties properties) {
+        return new SingleFlightInterceptor(properties.getFollowerTimeout());
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor singleFlightAdvisor(SingleFlightInterceptor singleFlightInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(SingleFlight.class), singleFlightInterceptor);
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+}
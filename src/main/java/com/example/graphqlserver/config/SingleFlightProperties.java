@@ -0,0 +1,20 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.single-flight")
+public class SingleFlightProperties {
+
+    // false 면 @SingleFlight 를 무시하고 호출마다 실행
+    private boolean enabled = true;
+
+    // 진행 중인 호출을 기다리는 최대 시간 (넘으면 기다리던 호출이 직접 실행, leader 가 멈춰도 같이 멈추지 않도록)
+    private Duration followerTimeout = Duration.ofSeconds(2);
+
+}
@@ -0,0 +1,24 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.streaming")
+public class StreamingProperties {
+
+    // Accept: multipart/mixed 요청의 @defer 를 점진적으로 전송 (false 면 @defer 를 무시하고 한 번에 응답)
+    private boolean deferEnabled = true;
+
+    // streamBooksWithAuthors / streamAuthorsWithBooks 가 한 번에 DB 에서 읽어오는 행 수
+    private int fetchSize = 500;
+
+    // 동시에 실행되는 스트림 구독 수 (구독마다 끝날 때까지 커넥션 하나를 잡으므로 풀 크기보다 작게, 넘으면 바로 오류)
+    private int maxConcurrentStreams = 5;
+
+    // application/json 응답을 HttpMessageConverter 대신 GraphQlJsonWriter 로 출력 버퍼에 바로 쓴다
+    private boolean directJsonWriter = true;
+
+}
@@ -0,0 +1,15 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.subscriptions")
+public class SubscriptionProperties {
+
+    // 구독자별로 전송 대기 중인 이벤트 최대 수 (넘치면 오래된 이벤트부터 버림)
+    private int bufferSize = 256;
+
+}
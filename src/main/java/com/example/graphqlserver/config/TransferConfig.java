@@ -0,0 +1,42 @@
+package com.example.graphqlserver.config;
+
+import com.example.graphqlserver.transfer.BookExporter;
+import com.example.graphqlserver.transfer.BookImporter;
+import com.example.graphqlserver.transfer.BookTransferHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.Map;
+
+// 도서 NDJSON/CSV 내보내기/가져오기 (graphql.transfer.*)
+@Configuration
+@ConditionalOnProperty(prefix = "graphql.transfer", name = "enabled", matchIfMissing = true)
+public class TransferConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> bookTransferRouterFunction(BookExporter bookExporter, BookImporter bookImporter,
+                                                                     TransferProperties properties) {
+        BookTransferHandler handler = new BookTransferHandler(bookExporter, bookImporter);
+        return RouterFunctions.route()
+                .GET(BookTransferHandler.EXPORT_PATH, handler::export)
+                .POST(BookTransferHandler.IMPORT_PATH, handler::startImport)
+                .GET(BookTransferHandler.IMPORT_PATH + "/{id}", handler::importStatus)
+                .POST(BookTransferHandler.IMPORT_PATH + "/{id}/resume", handler::resumeImport)
+                .onError(BookExporter.TooManyExportsException.class, (e, request) ->
+                        ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getExportRetryAfter().toSeconds())))
+                                .body(Map.of("message", e.getMessage())))
+                .onError(IllegalArgumentException.class, (e, request) ->
+                        ServerResponse.badRequest().body(Map.of("message", e.getMessage())))
+                .onError(IllegalStateException.class, (e, request) ->
+                        ServerResponse.status(409).body(Map.of("message", e.getMessage())))
+                .build();
+    }
+
+}
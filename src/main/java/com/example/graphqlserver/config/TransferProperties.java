@@ -0,0 +1,52 @@
+package com.example.graphqlserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "graphql.transfer")
+public class TransferProperties {
+
+    // false 면 /export/books, /import/books 엔드포인트를 등록하지 않음
+    private boolean enabled = true;
+
+    // 내보내기 커서가 한 번에 DB 에서 읽어오는 행 수 (MySQL 은 이 값 대신 Integer.MIN_VALUE 로 행 단위 스트리밍)
+    private int exportFetchSize = 1000;
+
+    // 내보내기 응답을 이 행 수마다 flush
+    private int exportFlushRows = 1000;
+
+    // 동시에 실행하는 내보내기 수 (하나가 끝날 때까지 커넥션 하나를 잡으므로 풀 크기보다 작게, 넘으면 503)
+    private int maxConcurrentExports = 2;
+
+    // 내보내기를 거절한 503 응답의 Retry-After
+    private Duration exportRetryAfter = Duration.ofSeconds(5);
+
+    // 업로드한 파일을 보관하는 디렉터리 (가져오기가 끝나면 삭제)
+    private Path importDir = Path.of("import");
+
+    // 가져오기 청크 크기 (청크마다 한 트랜잭션으로 저장하고 체크포인트 기록)
+    private DataSize importChunkSize = DataSize.ofMegabytes(4);
+
+    // 청크를 동시에 파싱/검증하는 작업 수
+    private int importParallelism = Runtime.getRuntime().availableProcessors();
+
+    // 시작 시 중단된(RUNNING) 가져오기 작업을 체크포인트부터 이어서 실행
+    private boolean resumeOnStartup = true;
+
+    // 실행 중인 가져오기 작업의 소유 갱신 간격
+    private Duration importHeartbeatInterval = Duration.ofSeconds(10);
+
+    // 소유 인스턴스가 이 시간 동안 갱신하지 않은 RUNNING 작업은 다른 인스턴스가 가져갈 수 있음 (청크 하나 저장 시간보다 길게)
+    private Duration importLeaseTimeout = Duration.ofMinutes(1);
+
+    // 작업 상태 응답에 담는 행 오류 수 (나머지는 failed 건수로만 집계)
+    private int maxReportedErrors = 100;
+
+}
@@ -1,37 +1,85 @@
 package com.example.graphqlserver.controller;
 
 
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.dto.AuthorFilter;
 import com.example.graphqlserver.dto.AuthorInput;
+import com.example.graphqlserver.dto.AuthorOrder;
 import com.example.graphqlserver.dto.AuthorUpdateInput;
+import com.example.graphqlserver.dto.BulkResult;
 import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.event.AuthorChangedEvent;
+import com.example.graphqlserver.event.ChangeEventBus;
+import com.example.graphqlserver.event.ChangeType;
 import com.example.graphqlserver.service.AuthorService;
+import com.example.graphqlserver.service.BookService;
+import com.example.graphqlserver.support.FieldSelection;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 public class AuthorController {
 
     private final AuthorService authorService;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final BookService bookService;
+    private final PaginationProperties pagination;
+    private final ChangeEventBus changeEventBus;
+    private final BatchLoaderRegistry batchLoaderRegistry;
+    private final Scheduler graphQlScheduler;
+
+    // getAuthorById / Book.author 공용 (일괄 요청에서는 operation 들이 함께 써서 같은 id 는 한 번만 조회)
+    @PostConstruct
+    void registerLoaders() {
+        batchLoaderRegistry.forTypePair(Long.class, Author.class)
+                .registerMappedBatchLoader((authorIds, environment) ->
+                        Mono.fromCallable(() -> loadAuthors(authorIds)).subscribeOn(graphQlScheduler));
+    }
+
+    // 하나면 단건 조회 캐시를 거친다
+    private Map<Long, Author> loadAuthors(Set<Long> authorIds) {
+        if (authorIds.size() == 1) {
+            Long authorId = authorIds.iterator().next();
+            return authorService.getAuthorById(authorId).map(author -> Map.of(authorId, author)).orElse(Map.of());
+        }
+        return authorService.getAuthorsByIds(authorIds);
+    }
 
     // 쿼리 매핑
     @QueryMapping
-    public List<Author> getAllAuthors() {
-        return authorService.getAllAuthors();
+    public List<Author> getAllAuthors(DataFetchingFieldSelectionSet selectionSet) {
+        return authorService.getAllAuthors(FieldSelection.of(selectionSet));
     }
 
     @QueryMapping
-    public Optional<Author> getAuthorById(@Argument Long id) {
-        return authorService.getAuthorById(id);
+    public CompletableFuture<Author> getAuthorById(@Argument Long id, DataLoader<Long, Author> authorLoader) {
+        return authorLoader.load(id);
     }
 
     @QueryMapping
@@ -55,22 +103,65 @@ public class AuthorController {
     }
 
     @QueryMapping
-    public List<Author> getAuthorsWithBooks() {
-        return authorService.getAuthorsWithBooks();
+    public List<Author> getAuthorsWithBooks(DataFetchingFieldSelectionSet selectionSet) {
+        return authorService.getAuthorsWithBooks(FieldSelection.of(selectionSet));
+    }
+
+    // 페이지네이션 쿼리 매핑 (Relay Connection)
+    @QueryMapping
+    public Window<Author> getAllAuthorsConnection(ScrollSubrange subrange) {
+        return authorService.getAllAuthors(pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Author> getAuthorsByNameConnection(@Argument String name, ScrollSubrange subrange) {
+        return authorService.getAuthorsByName(name, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Author> getAuthorsByNationalityConnection(@Argument String nationality, ScrollSubrange subrange) {
+        return authorService.getAuthorsByNationality(nationality, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Author> getAuthorsWithBooksConnection(ScrollSubrange subrange) {
+        // 컬렉션 fetch join 은 메모리 페이징이 되므로 books 는 @BatchMapping 으로 조회
+        return authorService.getAllAuthors(pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Author> authors(@Argument AuthorFilter filter, @Argument List<AuthorOrder> orderBy, ScrollSubrange subrange) {
+        return authorService.getAuthors(filter, orderBy, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    // 필드 매핑 (Author.books 를 저자 id 묶음 단위로 한 번에 조회)
+    @BatchMapping
+    public Map<Author, List<Book>> books(List<Author> authors) {
+        Set<Long> authorIds = authors.stream()
+                .filter(author -> !isBooksLoaded(author))
+                .map(Author::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Book>> booksByAuthorId = bookService.getBooksByAuthorIds(authorIds);
+
+        Map<Author, List<Book>> result = new LinkedHashMap<>();
+        for (Author author : authors) {
+            // fetch join 으로 이미 로딩된 컬렉션은 그대로 사용
+            result.put(author, isBooksLoaded(author)
+                    ? author.getBooks()
+                    : booksByAuthorId.getOrDefault(author.getId(), List.of()));
+        }
+        return result;
+    }
+
+    // 부분 조회(projection)한 저자는 books 를 조회하지 않았으면 null
+    private static boolean isBooksLoaded(Author author) {
+        return author.getBooks() != null && Hibernate.isInitialized(author.getBooks());
     }
 
     // 뮤테이션 매핑
     @MutationMapping
     public Author createAuthor(@Argument(name = "authorInput") AuthorInput authorInput) {
-        Author author = Author.builder()
-                .name(authorInput.getName())
-                .email(authorInput.getEmail())
-                .bio(authorInput.getBio())
-                .birthDate(authorInput.getBirthDate() != null ?
-                        LocalDateTime.parse(authorInput.getBirthDate(), formatter) : null)
-                .nationality(authorInput.getNationality())
-                .build();
-        return authorService.createAuthor(author);
+        return authorService.createAuthor(toAuthor(authorInput));
     }
 
     @MutationMapping
@@ -79,8 +170,7 @@ public class AuthorController {
                 .name(authorUpdateInput.getName())
                 .email(authorUpdateInput.getEmail())
                 .bio(authorUpdateInput.getBio())
-                .birthDate(authorUpdateInput.getBirthDate() != null ?
-                        LocalDateTime.parse(authorUpdateInput.getBirthDate(), formatter) : null)
+                .birthDate(authorUpdateInput.getBirthDate())
                 .nationality(authorUpdateInput.getNationality())
                 .build();
         return authorService.updateAuthor(authorUpdateInput.getId(), authorDetails);
@@ -91,4 +181,44 @@ public class AuthorController {
         return authorService.deleteAuthor(id);
     }
 
+    // 일괄 뮤테이션 (항목별 실패는 errors 에 index 와 함께 담김)
+    @MutationMapping
+    public BulkResult createAuthors(@Argument List<AuthorInput> authorInputs) {
+        return authorService.createAuthors(authorInputs.stream().map(this::toAuthor).toList());
+    }
+
+    @SchemaMapping(typeName = "AuthorBulkResult", field = "authors")
+    public List<Author> bulkResultAuthors(BulkResult result) {
+        Map<Long, Author> authorsById = authorService.getAuthorsByIds(result.getIds());
+        return result.getIds().stream().map(authorsById::get).filter(Objects::nonNull).toList();
+    }
+
+    private Author toAuthor(AuthorInput authorInput) {
+        return Author.builder()
+                .name(authorInput.getName())
+                .email(authorInput.getEmail())
+                .bio(authorInput.getBio())
+                .birthDate(authorInput.getBirthDate())
+                .nationality(authorInput.getNationality())
+                .build();
+    }
+
+    // 구독 매핑 (커밋된 변경만 전달)
+    @SubscriptionMapping
+    public Flux<AuthorChangedEvent> authorChanged(@Argument Long id) {
+        return changeEventBus.authorChanges(id);
+    }
+
+    // getAuthorsWithBooks 를 저자 한 명씩 전달 (@stream 대신, 결과 전체를 메모리에 올리지 않음)
+    @SubscriptionMapping
+    public Flux<Author> streamAuthorsWithBooks(DataFetchingFieldSelectionSet selectionSet) {
+        return authorService.streamAuthorsWithBooks(FieldSelection.of(selectionSet));
+    }
+
+    // 삭제 이벤트는 null
+    @SchemaMapping(typeName = "AuthorChangedEvent", field = "author")
+    public Author changedAuthor(AuthorChangedEvent event) {
+        return event.type() == ChangeType.DELETED ? null : authorService.getAuthorById(event.authorId()).orElse(null);
+    }
+
 }
@@ -0,0 +1,70 @@
+package com.example.graphqlserver.controller;
+
+import com.example.graphqlserver.dto.AuthorRanking;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.AuthorStats;
+import com.example.graphqlserver.service.AuthorService;
+import com.example.graphqlserver.service.AuthorStatsService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@RequiredArgsConstructor
+public class AuthorStatsController {
+
+    private final AuthorStatsService authorStatsService;
+    private final AuthorService authorService;
+    private final BatchLoaderRegistry batchLoaderRegistry;
+    private final Scheduler graphQlScheduler;
+
+    // bookCount / averagePrice / latestPublishedDate 가 함께 선택돼도 저자 id 묶음당 한 번만 조회
+    @PostConstruct
+    void registerLoaders() {
+        batchLoaderRegistry.forTypePair(Long.class, AuthorStats.class)
+                .registerMappedBatchLoader((authorIds, environment) ->
+                        Mono.fromCallable(() -> authorStatsService.getStatsByAuthorIds(authorIds))
+                                .subscribeOn(graphQlScheduler));
+    }
+
+    // 쿼리 매핑 (조회한 통계는 DataLoader 에 넣어 필드 조회 시 다시 읽지 않는다)
+    @QueryMapping
+    public List<Author> topAuthors(@Argument AuthorRanking by, @Argument int limit,
+                                   DataLoader<Long, AuthorStats> authorStatsLoader) {
+        List<AuthorStats> top = authorStatsService.getTopAuthors(by, limit);
+        top.forEach(stats -> authorStatsLoader.prime(stats.getAuthorId(), stats));
+        Map<Long, Author> authors = authorService.getAuthorsByIds(top.stream().map(AuthorStats::getAuthorId).toList());
+        return top.stream().map(stats -> authors.get(stats.getAuthorId())).filter(Objects::nonNull).toList();
+    }
+
+    // 필드 매핑
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<Long> bookCount(Author author, DataLoader<Long, AuthorStats> authorStatsLoader) {
+        return authorStatsLoader.load(author.getId()).thenApply(AuthorStats::getBookCount);
+    }
+
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<Double> averagePrice(Author author, DataLoader<Long, AuthorStats> authorStatsLoader) {
+        return authorStatsLoader.load(author.getId()).thenApply(AuthorStats::getAveragePrice);
+    }
+
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<LocalDateTime> latestPublishedDate(Author author,
+                                                                DataLoader<Long, AuthorStats> authorStatsLoader) {
+        return authorStatsLoader.load(author.getId()).thenApply(AuthorStats::getLatestPublishedDate);
+    }
+
+}
@@ -1,22 +1,37 @@
 package com.example.graphqlserver.controller;
 
 
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.dto.BookFilter;
 import com.example.graphqlserver.dto.BookInput;
+import com.example.graphqlserver.dto.BookOrder;
 import com.example.graphqlserver.dto.BookUpdateInput;
+import com.example.graphqlserver.dto.BulkResult;
 import com.example.graphqlserver.entity.Author;
 import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.event.BookChangedEvent;
+import com.example.graphqlserver.event.ChangeEventBus;
+import com.example.graphqlserver.event.ChangeType;
 import com.example.graphqlserver.service.BookService;
+import com.example.graphqlserver.support.FieldSelection;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 
@@ -25,12 +40,13 @@ import java.util.Optional;
 public class BookController {
 
     private final BookService bookService;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final PaginationProperties pagination;
+    private final ChangeEventBus changeEventBus;
 
     // 쿼리 매핑
     @QueryMapping
-    public List<Book> getAllBooks() {
-        return bookService.getAllBooks();
+    public List<Book> getAllBooks(DataFetchingFieldSelectionSet selectionSet) {
+        return bookService.getAllBooks(FieldSelection.of(selectionSet));
     }
 
     @QueryMapping
@@ -38,6 +54,11 @@ public class BookController {
         return bookService.getBookById(id);
     }
 
+    @QueryMapping
+    public Optional<Book> getBookByIsbn(@Argument String isbn) {
+        return bookService.getBookByIsbn(isbn);
+    }
+
     @QueryMapping
     public List<Book> getBooksByTitle(@Argument String title) {
         return bookService.getBooksByTitle(title);
@@ -64,8 +85,8 @@ public class BookController {
     }
 
     @QueryMapping
-    public List<Book> getBooksWithAuthors() {
-        return bookService.getBooksWithAuthors();
+    public List<Book> getBooksWithAuthors(DataFetchingFieldSelectionSet selectionSet) {
+        return bookService.getBooksWithAuthors(FieldSelection.of(selectionSet));
     }
 
     @QueryMapping
@@ -78,49 +99,153 @@ public class BookController {
         return bookService.getBooksByAuthorNationality(nationality);
     }
 
+    // 페이지네이션 쿼리 매핑 (Relay Connection)
+    @QueryMapping
+    public Window<Book> getAllBooksConnection(ScrollSubrange subrange) {
+        return bookService.getAllBooks(pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksByTitleConnection(@Argument String title, ScrollSubrange subrange) {
+        return bookService.getBooksByTitle(title, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksByAuthorIdConnection(@Argument Long authorId, ScrollSubrange subrange) {
+        return bookService.getBooksByAuthorId(authorId, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksByPriceRangeConnection(@Argument Float minPrice, @Argument Float maxPrice,
+                                                       ScrollSubrange subrange) {
+        return bookService.getBooksByPriceRange(minPrice.doubleValue(), maxPrice.doubleValue(),
+                pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> searchBooksConnection(@Argument String keyword, ScrollSubrange subrange) {
+        return bookService.searchBooks(keyword, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksByAuthorNameConnection(@Argument String authorName, ScrollSubrange subrange) {
+        return bookService.getBooksByAuthorName(authorName, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksByAuthorNationalityConnection(@Argument String nationality, ScrollSubrange subrange) {
+        return bookService.getBooksByAuthorNationality(nationality, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> getBooksWithAuthorsConnection(ScrollSubrange subrange) {
+        return bookService.getAllBooks(pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    @QueryMapping
+    public Window<Book> books(@Argument BookFilter filter, @Argument List<BookOrder> orderBy, ScrollSubrange subrange) {
+        return bookService.getBooks(filter, orderBy, pagination.position(subrange), pagination.limit(subrange));
+    }
+
+    // 필드 매핑 (Book.author 를 저자 id 로 DataLoader 에서 묶어 조회, 로더는 AuthorController 에 등록)
+    @SchemaMapping(typeName = "Book")
+    public CompletableFuture<Author> author(Book book, DataLoader<Long, Author> authorLoader) {
+        Author author = book.getAuthor();
+        // fetch join / 프로젝션으로 이미 채워진 저자는 이 필드에만 그대로 쓴다
+        // (프로젝션 저자는 요청한 컬럼만 있으므로 요청 전체가 함께 쓰는 로더에 넣지 않는다)
+        if (Hibernate.isInitialized(author)) {
+            return CompletableFuture.completedFuture(author);
+        }
+        return authorLoader.load(author.getId());
+    }
+
     // 뮤테이션 매핑
     @MutationMapping
     public Book createBook(@Argument(name = "bookInput") BookInput bookInput) {
+        return bookService.createBook(toBook(bookInput));
+    }
+
+    @MutationMapping
+    public Book updateBook(@Argument(name = "bookUpdateInput") BookUpdateInput bookUpdateInput) {
+        return bookService.updateBook(bookUpdateInput.getId(), toBookDetails(bookUpdateInput));
+    }
+
+    @MutationMapping
+    public Boolean deleteBook(@Argument Long id) {
+        return bookService.deleteBook(id);
+    }
+
+    // 일괄 뮤테이션 (항목별 실패는 errors 에 index 와 함께 담김)
+    @MutationMapping
+    public BulkResult createBooks(@Argument List<BookInput> bookInputs) {
+        return bookService.createBooks(bookInputs.stream().map(this::toBook).toList());
+    }
+
+    @MutationMapping
+    public BulkResult updateBooks(@Argument List<BookUpdateInput> bookUpdateInputs) {
+        return bookService.updateBooks(bookUpdateInputs.stream().map(this::toBookDetails).toList());
+    }
+
+    @MutationMapping
+    public BulkResult deleteBooks(@Argument List<Long> ids) {
+        return bookService.deleteBooks(ids);
+    }
+
+    @SchemaMapping(typeName = "BookBulkResult", field = "books")
+    public List<Book> bulkResultBooks(BulkResult result) {
+        return bookService.getBooksByIds(result.getIds());
+    }
+
+    private Book toBook(BookInput bookInput) {
         Author author = new Author();
         author.setId(bookInput.getAuthorId());
 
-        Book book = Book.builder()
+        return Book.builder()
                 .title(bookInput.getTitle())
                 .isbn(bookInput.getIsbn())
                 .description(bookInput.getDescription())
                 .price(bookInput.getPrice())
                 .pageCount(bookInput.getPageCount())
-                .publishedDate(bookInput.getPublishedDate() != null ?
-                        LocalDateTime.parse(bookInput.getPublishedDate(), formatter) : null)
+                .publishedDate(bookInput.getPublishedDate())
                 .author(author)
                 .build();
-        return bookService.createBook(book);
     }
 
-    @MutationMapping
-    public Book updateBook(@Argument(name = "bookUpdateInput") BookUpdateInput bookUpdateInput) {
+    private Book toBookDetails(BookUpdateInput bookUpdateInput) {
         Author author = null;
         if (bookUpdateInput.getAuthorId() != null) {
             author = new Author();
             author.setId(bookUpdateInput.getAuthorId());
         }
 
-        Book bookDetails = Book.builder()
+        return Book.builder()
+                .id(bookUpdateInput.getId())
                 .title(bookUpdateInput.getTitle())
                 .isbn(bookUpdateInput.getIsbn())
                 .description(bookUpdateInput.getDescription())
                 .price(bookUpdateInput.getPrice())
                 .pageCount(bookUpdateInput.getPageCount())
-                .publishedDate(bookUpdateInput.getPublishedDate() != null ?
-                        LocalDateTime.parse(bookUpdateInput.getPublishedDate(), formatter) : null)
+                .publishedDate(bookUpdateInput.getPublishedDate())
                 .author(author)
                 .build();
-        return bookService.updateBook(bookUpdateInput.getId(), bookDetails);
     }
 
-    @MutationMapping
-    public Boolean deleteBook(@Argument Long id) {
-        return bookService.deleteBook(id);
+    // 구독 매핑 (커밋된 변경만 전달)
+    @SubscriptionMapping
+    public Flux<BookChangedEvent> bookChanged(@Argument Long authorId) {
+        return changeEventBus.bookChanges(authorId);
+    }
+
+    // getBooksWithAuthors 를 도서 한 권씩 전달 (@stream 대신, 결과 전체를 메모리에 올리지 않음)
+    @SubscriptionMapping
+    public Flux<Book> streamBooksWithAuthors(DataFetchingFieldSelectionSet selectionSet) {
+        return bookService.streamBooksWithAuthors(FieldSelection.of(selectionSet));
+    }
+
+    // 삭제 이벤트는 null
+    @SchemaMapping(typeName = "BookChangedEvent", field = "book")
+    public Book changedBook(BookChangedEvent event) {
+        return event.type() == ChangeType.DELETED ? null : bookService.getBookById(event.bookId()).orElse(null);
     }
 
 }
@@ -0,0 +1,28 @@
+package com.example.graphqlserver.datasource;
+
+import com.example.graphqlserver.config.DataSourceRoutingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * 캐시 무효화 직후 아직 복제되지 않은 replica 에서 읽은 옛 값이 다시 캐시되는 것을 막기 위해,
+ * 복제 지연 상한(read-your-writes window)이 지난 뒤 같은 무효화를 한 번 더 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaLag {
+
+    private final DataSourceRoutingProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    // 라우팅을 쓰지 않으면 아무것도 하지 않음
+    public void repeatAfterLag(Runnable action) {
+        if (properties.isEnabled() && !properties.getReplicas().isEmpty()) {
+            taskScheduler.schedule(action, Instant.now().plus(properties.getReadYourWritesWindow()));
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.example.graphqlserver.datasource;
+
+import com.example.graphqlserver.config.DataSourceRoutingProperties.Strategy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 읽기 전용 트랜잭션용 커넥션을 replica 들 중에서 골라 준다 (LazyConnectionDataSourceProxy 의 readOnlyDataSource).
+ * 커넥션을 얻지 못한 replica 는 바로 제외하고 주기적인 확인에 성공하면 다시 넣으며,
+ * 쓸 수 있는 replica 가 없거나 요청이 primary 에 고정된 경우(read-your-writes)에는 primary 커넥션을 준다.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements MeterBinder, DisposableBean {
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final Strategy strategy;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaPool(List<HikariDataSource> replicas, DataSource primary, Strategy strategy, Duration validationTimeout) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.strategy = strategy;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final AtomicLong reads = new AtomicLong();
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RoutingContext context = RoutingContext.current();
+        if (context == null || !context.isPrimaryReads()) {
+            for (Replica replica : candidates()) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.incrementAndGet();
+                    return connection;
+                } catch (SQLTransientConnectionException e) {
+                    // 원인이 없으면 풀이 바쁜 것이므로 제외하지 않고 다음 replica 로
+                    if (e.getCause() != null) {
+                        eject(replica, e);
+                    }
+                } catch (SQLException e) {
+                    eject(replica, e);
+                }
+            }
+        }
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    // 시도 순서 (ROUND_ROBIN: 요청마다 시작점을 돌림, LEAST_CONNECTIONS: 사용 중인 커넥션이 적은 순)
+    private List<Replica> candidates() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.size() <= 1) {
+            return healthy;
+        }
+        if (strategy == Strategy.LEAST_CONNECTIONS) {
+            return healthy.stream().sorted(Comparator.comparingInt(Replica::activeConnections)).toList();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), healthy.size());
+        List<Replica> ordered = new ArrayList<>(healthy.subList(start, healthy.size()));
+        ordered.addAll(healthy.subList(0, start));
+        return ordered;
+    }
+
+    private void eject(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} ejected: {}", replica.name(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${graphql.datasource.routing.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                replica.healthy = healthy;
+                log.warn("Replica {} is {}", replica.name(), healthy ? "back in rotation" : "ejected after failed health check");
+            }
+        }
+    }
+
+    // graphql.datasource.reads{target}: replica 별 / primary 로 보낸 읽기 커넥션 수, graphql.datasource.replica.healthy{replica}: 1 이면 사용 중
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            FunctionCounter.builder("graphql.datasource.reads", replica, r -> r.reads.get())
+                    .description("Read-only connections handed out")
+                    .tag("target", replica.name())
+                    .register(registry);
+            Gauge.builder("graphql.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+        FunctionCounter.builder("graphql.datasource.reads", primaryReads, AtomicLong::get)
+                .description("Read-only connections handed out")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+}
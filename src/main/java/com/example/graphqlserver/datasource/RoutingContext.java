@@ -0,0 +1,53 @@
+package com.example.graphqlserver.datasource;
+
+/**
+ * 한 GraphQL 요청의 데이터소스 라우팅 상태.
+ * ReadYourWritesInterceptor 가 GraphQLContext 에 넣어 두면 Spring GraphQL 이 컨트롤러/배치 로더 실행 스레드에 ThreadLocal 로 복원한다
+ * (RoutingContextAccessor, META-INF/services 로 ContextRegistry 에 등록).
+ */
+public class RoutingContext {
+
+    public static final String CONTEXT_KEY = RoutingContext.class.getName();
+
+    private static final ThreadLocal<RoutingContext> current = new ThreadLocal<>();
+
+    private volatile boolean primaryReads;
+    private volatile boolean written;
+
+    public RoutingContext(boolean primaryReads) {
+        this.primaryReads = primaryReads;
+    }
+
+    static RoutingContext current() {
+        return current.get();
+    }
+
+    static void setCurrent(RoutingContext context) {
+        current.set(context);
+    }
+
+    static void clearCurrent() {
+        current.remove();
+    }
+
+    // 현재 스레드의 요청이 읽기도 primary 로 보내는지
+    public static boolean currentReadsFromPrimary() {
+        RoutingContext context = current.get();
+        return context != null && context.isPrimaryReads();
+    }
+
+    // 최근에 쓰기를 한 클라이언트이거나 이 요청에서 이미 쓰기를 했으면 읽기도 primary 로
+    public boolean isPrimaryReads() {
+        return primaryReads;
+    }
+
+    public boolean isWritten() {
+        return written;
+    }
+
+    void markWritten() {
+        written = true;
+        primaryReads = true;
+    }
+
+}
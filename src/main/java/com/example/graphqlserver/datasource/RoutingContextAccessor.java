@@ -0,0 +1,31 @@
+package com.example.graphqlserver.datasource;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * GraphQLContext 의 RoutingContext 를 데이터 페처 실행 스레드의 ThreadLocal 로 옮긴다.
+ * ContextRegistry 가 처음 만들어질 때 ServiceLoader 로 한 번 등록된다 (META-INF/services/io.micrometer.context.ThreadLocalAccessor).
+ */
+public class RoutingContextAccessor implements ThreadLocalAccessor<RoutingContext> {
+
+    @Override
+    public Object key() {
+        return RoutingContext.CONTEXT_KEY;
+    }
+
+    @Override
+    public RoutingContext getValue() {
+        return RoutingContext.current();
+    }
+
+    @Override
+    public void setValue(RoutingContext value) {
+        RoutingContext.setCurrent(value);
+    }
+
+    @Override
+    public void setValue() {
+        RoutingContext.clearCurrent();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.graphqlserver.datasource;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스트리밍 조회(구독 스트림, 내보내기)에 쓸 JDBC fetch size.
+ * MySQL Connector/J 는 useCursorFetch=true 가 아니면 fetch size 를 무시하고 결과 전체를 메모리에 올리는데,
+ * useCursorFetch=true 는 모든 문장을 서버 prepared statement 로 만들므로 URL 에 두지 않는다.
+ * 대신 MySQL 에서는 Integer.MIN_VALUE 로 행 단위 스트리밍을 켠다 (결과를 다 읽거나 닫기 전에는 같은 커넥션으로 다른 문장을 실행할 수 없음).
+ */
+@Component
+public class StreamingFetchSize {
+
+    private final boolean mysql;
+
+    public StreamingFetchSize(DataSourceProperties dataSourceProperties) {
+        this.mysql = DatabaseDriver.fromJdbcUrl(dataSourceProperties.getUrl()) == DatabaseDriver.MYSQL;
+    }
+
+    // MySQL 이 아니면 설정한 행 수 그대로
+    public int of(int rows) {
+        return mysql ? Integer.MIN_VALUE : rows;
+    }
+
+}
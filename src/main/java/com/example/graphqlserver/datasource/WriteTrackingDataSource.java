@@ -0,0 +1,35 @@
+package com.example.graphqlserver.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 읽기 전용이 아닌 트랜잭션이 primary 커넥션을 얻으면 현재 요청을 쓰기 요청으로 기록
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    public WriteTrackingDataSource(DataSource primary) {
+        super(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        markWritten();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        markWritten();
+        return super.getConnection(username, password);
+    }
+
+    private static void markWritten() {
+        RoutingContext context = RoutingContext.current();
+        if (context != null) {
+            context.markWritten();
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.graphqlserver.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// authors(filter) 조건 (지정한 조건만 AND 로 결합, 범위는 양 끝 포함, equals 는 @SingleFlight 키 비교용)
+@Getter
+@Setter
+@EqualsAndHashCode
+public class AuthorFilter {
+    private List<Long> ids;
+    private String namePrefix;
+    private String nationality;
+    private LocalDateTime bornFrom;
+    private LocalDateTime bornTo;
+}
@@ -3,12 +3,14 @@ package com.example.graphqlserver.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 public class AuthorInput {
     private String name;
     private String email;
     private String bio;
-    private String birthDate;
+    private LocalDateTime birthDate;
     private String nationality;
 }
@@ -0,0 +1,8 @@
+package com.example.graphqlserver.dto;
+
+// topAuthors 정렬 기준 (모두 내림차순, 같으면 저자 id 순)
+public enum AuthorRanking {
+    BOOK_COUNT,
+    AVERAGE_PRICE,
+    LATEST_PUBLISHED_DATE
+}
@@ -3,6 +3,8 @@ package com.example.graphqlserver.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 public class AuthorUpdateInput {
@@ -10,6 +12,6 @@ public class AuthorUpdateInput {
     private String name;
     private String email;
     private String bio;
-    private String birthDate;
+    private LocalDateTime birthDate;
     private String nationality;
 }
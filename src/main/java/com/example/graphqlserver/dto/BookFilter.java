@@ -0,0 +1,24 @@
+package com.example.graphqlserver.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// books(filter) 조건 (지정한 조건만 AND 로 결합, 범위는 양 끝 포함, equals 는 @SingleFlight 키 비교용)
+@Getter
+@Setter
+@EqualsAndHashCode
+public class BookFilter {
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minPageCount;
+    private Integer maxPageCount;
+    private LocalDateTime publishedFrom;
+    private LocalDateTime publishedTo;
+    private String authorNationality;
+    private List<Long> authorIds;
+    private String titlePrefix;
+}
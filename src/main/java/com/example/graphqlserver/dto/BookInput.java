@@ -3,6 +3,8 @@ package com.example.graphqlserver.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 public class BookInput {
@@ -10,7 +12,7 @@ public class BookInput {
     private String isbn;
     private String description;
     private Double price;
-    private String publishedDate;
+    private LocalDateTime publishedDate;
     private Integer pageCount;
     private Long authorId;
 }
@@ -0,0 +1,33 @@
+package com.example.graphqlserver.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class BookOrder {
+    private Field field;
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    // 값이 없는(null) 항목은 오름차순이면 맨 앞, 내림차순이면 맨 뒤
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        PRICE("price"),
+        PAGE_COUNT("pageCount"),
+        PUBLISHED_DATE("publishedDate");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+    }
+}
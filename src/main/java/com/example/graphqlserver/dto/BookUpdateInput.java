@@ -3,6 +3,8 @@ package com.example.graphqlserver.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 public class BookUpdateInput {
@@ -11,7 +13,7 @@ public class BookUpdateInput {
     private String isbn;
     private String description;
     private Double price;
-    private String publishedDate;
+    private LocalDateTime publishedDate;
     private Integer pageCount;
     private Long authorId;
 }
@@ -0,0 +1,11 @@
+package com.example.graphqlserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkItemError {
+    private int index;
+    private String message;
+}
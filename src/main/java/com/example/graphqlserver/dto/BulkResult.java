@@ -0,0 +1,22 @@
+package com.example.graphqlserver.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class BulkResult {
+    private final List<Long> ids = new ArrayList<>();
+    // 입력 순서대로 검증하므로 index 오름차순으로 쌓인다
+    private final List<BulkItemError> errors = new ArrayList<>();
+
+    public int getSuccessCount() {
+        return ids.size();
+    }
+
+    // 항목을 입력 순서대로 처리하면서 호출할 것
+    public void addError(int index, String message) {
+        errors.add(new BulkItemError(index, message));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.graphqlserver.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 저자별 도서 통계 (도서 변경 시 증분 갱신, AuthorStatsService 의 재계산 작업으로 보정)
+@Entity
+@Table(name = "author_stats", indexes = {
+        @Index(name = "idx_author_stats_book_count", columnList = "book_count, author_id"),
+        @Index(name = "idx_author_stats_average_price", columnList = "average_price, author_id"),
+        @Index(name = "idx_author_stats_latest_published_date", columnList = "latest_published_date, author_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuthorStats {
+    @Id
+    @Column(name = "author_id")
+    private Long authorId;
+
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+
+    // 평균 가격 계산용 (가격이 없는 도서는 제외)
+    @Column(name = "priced_book_count", nullable = false)
+    private long pricedBookCount;
+
+    @Column(name = "price_sum", nullable = false)
+    private double priceSum;
+
+    @Column(name = "average_price")
+    private Double averagePrice;
+
+    @Column(name = "latest_published_date")
+    private LocalDateTime latestPublishedDate;
+
+    public AuthorStats(Long authorId) {
+        this.authorId = authorId;
+    }
+}
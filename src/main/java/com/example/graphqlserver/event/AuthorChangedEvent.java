@@ -0,0 +1,4 @@
+package com.example.graphqlserver.event;
+
+public record AuthorChangedEvent(ChangeType type, Long authorId) {
+}
@@ -0,0 +1,7 @@
+package com.example.graphqlserver.event;
+
+import java.util.Set;
+
+// authorIds: 변경 전/후 저자 (저자가 바뀐 경우 둘 다 포함)
+public record BookChangedEvent(ChangeType type, Long bookId, Set<Long> authorIds) {
+}
@@ -0,0 +1,64 @@
+package com.example.graphqlserver.event;
+
+import com.example.graphqlserver.config.SubscriptionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 서비스가 발행한 변경 이벤트를 커밋 이후 GraphQL 구독자에게 전달하는 프로세스 내 이벤트 버스.
+ * 구독자마다 크기가 제한된 버퍼를 두고 별도 스레드에서 전송하므로
+ * 느린 구독자는 자신의 오래된 이벤트만 잃고 커밋 스레드나 다른 구독자를 막지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeEventBus {
+
+    private final SubscriptionProperties properties;
+
+    private final Sinks.Many<BookChangedEvent> bookSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<AuthorChangedEvent> authorSink = Sinks.many().multicast().directBestEffort();
+
+    // 트랜잭션 밖에서 발행된 이벤트는 즉시 전달
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        emit(bookSink, event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        emit(authorSink, event);
+    }
+
+    // authorId 가 null 이면 모든 도서 변경
+    public Flux<BookChangedEvent> bookChanges(Long authorId) {
+        return subscribe(bookSink.asFlux()
+                .filter(event -> authorId == null || event.authorIds().contains(authorId)));
+    }
+
+    // id 가 null 이면 모든 저자 변경
+    public Flux<AuthorChangedEvent> authorChanges(Long id) {
+        return subscribe(authorSink.asFlux()
+                .filter(event -> id == null || event.authorId().equals(id)));
+    }
+
+    private <T> Flux<T> subscribe(Flux<T> events) {
+        return events
+                .onBackpressureBuffer(properties.getBufferSize(),
+                        dropped -> log.debug("Dropped change event for slow subscriber: {}", dropped),
+                        BufferOverflowStrategy.DROP_OLDEST)
+                .publishOn(Schedulers.boundedElastic(), 1);
+    }
+
+    // 여러 커밋 스레드에서 동시에 발행될 수 있으므로 직렬화
+    private synchronized <T> void emit(Sinks.Many<T> sink, T event) {
+        sink.tryEmitNext(event);
+    }
+
+}
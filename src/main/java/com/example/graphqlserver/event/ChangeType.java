@@ -0,0 +1,7 @@
+package com.example.graphqlserver.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
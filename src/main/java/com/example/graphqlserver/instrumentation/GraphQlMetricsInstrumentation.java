@@ -0,0 +1,228 @@
+package com.example.graphqlserver.instrumentation;
+
+import com.example.graphqlserver.config.MetricsProperties;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.LightDataFetcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 요청/필드 단위 Micrometer 지표.
+ * - graphql.operation: operation 실행 시간 (operation, type, outcome)
+ * - graphql.field: 데이터 페처 실행 시간, field-sample-rate 비율의 요청만 기록 (field, outcome)
+ * - graphql.sql.statements: 요청당 SQL 수 (operation)
+ * - graphql.result.items: 루트 목록 필드의 결과 건수 (operation, field)
+ * - graphql.errors: 오류 수 (operation, classification)
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQlMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final MeterRegistry registry;
+    private final MetricsProperties properties;
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < properties.getFieldSampleRate();
+        String operationName = parameters.getExecutionInput().getOperationName();
+        return new MetricsState(sampled, operationName != null ? operationName : ANONYMOUS);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof MetricsState metricsState)) {
+            return super.beginExecution(parameters, state);
+        }
+        // 배치 로더처럼 페처 밖에서 실행되는 SQL 은 GraphQLContext 값으로 전파해 센다 (SqlStatementCounterAccessor).
+        // 실행 스레드에는 연결하지 않는다: 페처가 비동기면 실행이 다른 스레드에서 끝나 연결을 풀 수 없다
+        parameters.getGraphQLContext().put(SqlStatementCounter.CONTEXT_KEY, metricsState.statements);
+        return super.beginExecution(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (state instanceof MetricsState metricsState) {
+            OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+            if (operation.getName() != null) {
+                metricsState.operation = operation.getName();
+            }
+            metricsState.type = operation.getOperation().name().toLowerCase(Locale.ROOT);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (!(state instanceof MetricsState metricsState)) {
+            return dataFetcher;
+        }
+        // 시간을 재지 않는 페처도 지연 로딩 등으로 실행되는 SQL 은 센다
+        if (parameters.isTrivialDataFetcher() && dataFetcher instanceof LightDataFetcher<?> light) {
+            return new CountingLightDataFetcher(light, metricsState.statements);
+        }
+        boolean root = parameters.getExecutionStepInfo().getPath().getLevel() == 1;
+        if (parameters.isTrivialDataFetcher() || (!root && !metricsState.sampled)) {
+            return environment -> {
+                AtomicInteger previous = SqlStatementCounter.bind(metricsState.statements);
+                try {
+                    return dataFetcher.get(environment);
+                } finally {
+                    SqlStatementCounter.restore(previous);
+                }
+            };
+        }
+
+        String fieldName = parameters.getExecutionStepInfo().getFieldDefinition().getName();
+        String field = ((GraphQLObjectType) parameters.getExecutionStepInfo().getObjectType()).getName() + "." + fieldName;
+        return environment -> {
+            long start = System.nanoTime();
+            AtomicInteger previous = SqlStatementCounter.bind(metricsState.statements);
+            try {
+                Object value = dataFetcher.get(environment);
+                if (value instanceof CompletionStage<?> stage) {
+                    stage.whenComplete((result, throwable) -> recordField(metricsState, field, root, start, result, throwable));
+                } else {
+                    recordField(metricsState, field, root, start, value, null);
+                }
+                return value;
+            } catch (Exception e) {
+                recordField(metricsState, field, root, start, null, e);
+                throw e;
+            } finally {
+                SqlStatementCounter.restore(previous);
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (state instanceof MetricsState metricsState) {
+            Timer.builder("graphql.operation")
+                    .tag("operation", metricsState.operation)
+                    .tag("type", metricsState.type)
+                    .tag("outcome", executionResult.getErrors().isEmpty() ? "SUCCESS" : "ERROR")
+                    .register(registry)
+                    .record(System.nanoTime() - metricsState.start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("graphql.sql.statements")
+                    .tag("operation", metricsState.operation)
+                    .register(registry)
+                    .record(metricsState.statements.get());
+            for (GraphQLError error : executionResult.getErrors()) {
+                registry.counter("graphql.errors",
+                        "operation", metricsState.operation,
+                        "classification", error.getErrorType() != null ? error.getErrorType().toString() : "UNKNOWN")
+                        .increment();
+            }
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private void recordField(MetricsState state, String field, boolean root, long start, Object value, Throwable error) {
+        if (state.sampled) {
+            Timer.builder("graphql.field")
+                    .tag("field", field)
+                    .tag("outcome", error == null ? "SUCCESS" : "ERROR")
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (root && error == null) {
+            int items = itemCount(value instanceof DataFetcherResult<?> result ? result.getData() : value);
+            if (items >= 0) {
+                DistributionSummary.builder("graphql.result.items")
+                        .tag("operation", state.operation)
+                        .tag("field", field)
+                        .register(registry)
+                        .record(items);
+            }
+        }
+    }
+
+    // 목록이 아니면 -1
+    private static int itemCount(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Window<?> window) {
+            return window.size();
+        }
+        return -1;
+    }
+
+    // 환경 객체 없이 호출되는 경로(LightDataFetcher)를 유지하면서 호출 동안만 카운터를 연결
+    private record CountingLightDataFetcher(LightDataFetcher<?> delegate, AtomicInteger statements)
+            implements LightDataFetcher<Object> {
+
+        @Override
+        public Object get(GraphQLFieldDefinition fieldDefinition, Object sourceObject,
+                          Supplier<DataFetchingEnvironment> environmentSupplier) throws Exception {
+            AtomicInteger previous = SqlStatementCounter.bind(statements);
+            try {
+                return delegate.get(fieldDefinition, sourceObject, environmentSupplier);
+            } finally {
+                SqlStatementCounter.restore(previous);
+            }
+        }
+
+        @Override
+        public Object get(DataFetchingEnvironment environment) throws Exception {
+            AtomicInteger previous = SqlStatementCounter.bind(statements);
+            try {
+                return delegate.get(environment);
+            } finally {
+                SqlStatementCounter.restore(previous);
+            }
+        }
+    }
+
+    private static class MetricsState implements InstrumentationState {
+
+        private final long start = System.nanoTime();
+        private final boolean sampled;
+        private final AtomicInteger statements = new AtomicInteger();
+        private volatile String operation;
+        private volatile String type = "unknown";
+
+        MetricsState(boolean sampled, String operation) {
+            this.sampled = sampled;
+            this.operation = operation;
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.example.graphqlserver.instrumentation;
+
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.config.QueryCostProperties;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 실행 전에 쿼리의 정적 비용과 깊이를 계산해 한도를 넘는 요청은 거부한다.
+ * 목록 필드의 하위 비용은 first/last 인자(없으면 기본 건수, 페이지 인자가 없는 루트 목록은 unpaginated-list-size)만큼 곱해지고,
+ * 계산된 값은 응답 extensions.cost 로 내려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String CONNECTION_SUFFIX = "Connection";
+    private static final List<String> PAGE_ARGUMENTS = List.of("first", "last", "limit");
+
+    private final QueryCostProperties properties;
+    private final PaginationProperties pagination;
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return properties.isEnabled() ? new CostState() : null;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (state instanceof CostState costState) {
+            Measure measure = measure(parameters.getExecutionContext());
+            costState.measure = measure;
+            if (measure.cost() > properties.getMaxCost() || measure.depth() > properties.getMaxDepth()) {
+                log.warn("Rejected query: cost {}/{}, depth {}/{}",
+                        measure.cost(), properties.getMaxCost(), measure.depth(), properties.getMaxDepth());
+                throw new AbortExecutionException(List.of(tooExpensive(measure)));
+            }
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (state instanceof CostState costState && costState.measure != null) {
+            Map<String, Object> cost = toExtension(costState.measure);
+            return CompletableFuture.completedFuture(executionResult.transform(builder -> builder.addExtension("cost", cost)));
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private Measure measure(ExecutionContext context) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+
+        // post-order 로 순회하며 자식 필드의 합산 값을 부모 필드 기준으로 모은다 (루트 필드의 부모는 null)
+        Map<QueryVisitorFieldEnvironment, Measure> childrenByParent = new HashMap<>();
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                Measure children = childrenByParent.getOrDefault(env, Measure.EMPTY);
+                Measure field = isIntrospection(env) ? Measure.EMPTY : new Measure(
+                        weightOf(env) + multiplierOf(env) * children.cost(),
+                        children.depth() + 1);
+                childrenByParent.merge(env.getParentEnvironment(), field, Measure::plus);
+            }
+        });
+        return childrenByParent.getOrDefault(null, Measure.EMPTY);
+    }
+
+    private boolean isIntrospection(QueryVisitorFieldEnvironment env) {
+        return env.getField().getName().startsWith("__") || env.getFieldsContainer().getName().startsWith("__");
+    }
+
+    private long weightOf(QueryVisitorFieldEnvironment env) {
+        return properties.weightOf(env.getFieldsContainer().getName(), env.getField().getName());
+    }
+
+    private long multiplierOf(QueryVisitorFieldEnvironment env) {
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType());
+        boolean connection = GraphQLTypeUtil.unwrapAll(type).getName().endsWith(CONNECTION_SUFFIX);
+        if (!connection && !GraphQLTypeUtil.isList(type)) {
+            return 1;
+        }
+        // Connection 의 edges 는 상위 Connection 필드에서 이미 건수를 곱했음
+        if (env.getFieldsContainer().getName().endsWith(CONNECTION_SUFFIX)) {
+            return 1;
+        }
+        Object size = env.getArguments().getOrDefault("first", env.getArguments().get("last"));
+        if (size instanceof Integer count) {
+            return Math.max(0, Math.min(count, pagination.getMaxSize()));
+        }
+        if (connection) {
+            return pagination.getDefaultSize();
+        }
+        return isUnpaginatedRoot(env) ? properties.getUnpaginatedListSize() : properties.getDefaultListSize();
+    }
+
+    // 건수를 제한할 인자가 없는 루트 목록 필드는 전체 테이블을 읽는다
+    private boolean isUnpaginatedRoot(QueryVisitorFieldEnvironment env) {
+        return env.getParentEnvironment() == null && PAGE_ARGUMENTS.stream()
+                .noneMatch(argument -> env.getFieldDefinition().getArgument(argument) != null);
+    }
+
+    private GraphQLError tooExpensive(Measure measure) {
+        return GraphqlErrorBuilder.newError()
+                .message("Query is too expensive: cost %d (max %d), depth %d (max %d)",
+                        measure.cost(), properties.getMaxCost(), measure.depth(), properties.getMaxDepth())
+                .errorType(ErrorType.BAD_REQUEST)
+                .extensions(Map.of("cost", toExtension(measure)))
+                .build();
+    }
+
+    private Map<String, Object> toExtension(Measure measure) {
+        Map<String, Object> cost = new LinkedHashMap<>();
+        cost.put("requested", measure.cost());
+        cost.put("maximum", properties.getMaxCost());
+        cost.put("depth", measure.depth());
+        cost.put("maxDepth", properties.getMaxDepth());
+        return cost;
+    }
+
+    private record Measure(long cost, int depth) {
+
+        static final Measure EMPTY = new Measure(0, 0);
+
+        Measure plus(Measure other) {
+            return new Measure(cost + other.cost, Math.max(depth, other.depth));
+        }
+    }
+
+    private static class CostState implements InstrumentationState {
+        private volatile Measure measure;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.graphqlserver.instrumentation;
+
+import com.example.graphqlserver.cache.CacheTags;
+import com.example.graphqlserver.cache.ResponseCache;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.relay.Connection;
+import graphql.relay.Edge;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * ResponseCache 용 태그 수집. 데이터 페처가 돌려준 Book/Author 마다 엔티티 태그를 남기고,
+ * 루트 필드가 단건 엔티티가 아니면(목록, Connection, 없음) 새 엔티티가 생겨도 무효화되도록 타입 태그를 남긴다.
+ */
+@Component
+public class ResponseCacheInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Set<String> ENTITY_TYPES = Set.of(ResponseCache.BOOK, ResponseCache.AUTHOR);
+    // 반환된 엔티티 밖의 데이터에 따라 결과가 달라지는 루트 필드
+    private static final Map<String, String> ROOT_FIELD_TAGS = Map.of("topAuthors", ResponseCache.AUTHOR_STATS);
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        CacheTags tags = parameters.getEnvironment().getGraphQlContext().get(CacheTags.CONTEXT_KEY);
+        if (tags == null || parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        boolean root = parameters.getExecutionStepInfo().getPath().getLevel() == 1;
+        String typeTag = root ? typeTag(parameters.getExecutionStepInfo().getFieldDefinition()) : null;
+        if (root && ROOT_FIELD_TAGS.containsKey(parameters.getExecutionStepInfo().getFieldDefinition().getName())) {
+            tags.add(ROOT_FIELD_TAGS.get(parameters.getExecutionStepInfo().getFieldDefinition().getName()));
+        }
+        return environment -> {
+            Object value = dataFetcher.get(environment);
+            // 결과가 조립되기 전에 태그가 기록되도록 이어진 stage 를 돌려준다
+            if (value instanceof CompletionStage<?> stage) {
+                return stage.thenApply(result -> {
+                    record(tags, root, typeTag, result);
+                    return result;
+                });
+            }
+            record(tags, root, typeTag, value);
+            return value;
+        };
+    }
+
+    private static void record(CacheTags tags, boolean root, String typeTag, Object value) {
+        Object data = unwrap(value);
+        if (root && ResponseCache.entityTag(data) == null) {
+            if (typeTag == null) {
+                tags.markUncacheable();
+                return;
+            }
+            tags.add(typeTag);
+        }
+        addEntityTags(tags, data);
+    }
+
+    private static void addEntityTags(CacheTags tags, Object value) {
+        if (value instanceof Collection<?> collection) {
+            collection.forEach(element -> addEntityTags(tags, element));
+        } else if (value instanceof Window<?> window) {
+            window.forEach(element -> addEntityTags(tags, element));
+        } else if (value instanceof Connection<?> connection) {
+            connection.getEdges().stream().map(Edge::getNode).forEach(node -> addEntityTags(tags, node));
+        } else if (value != null) {
+            String tag = ResponseCache.entityTag(value);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+    }
+
+    private static Object unwrap(Object value) {
+        if (value instanceof DataFetcherResult<?> result) {
+            value = result.getData();
+        }
+        if (value instanceof Optional<?> optional) {
+            value = optional.orElse(null);
+        }
+        return value;
+    }
+
+    // 루트 필드의 엔티티 타입 (Connection 은 edges.node 타입), 엔티티가 아니면 null
+    private static String typeTag(GraphQLFieldDefinition field) {
+        GraphQLNamedType type = GraphQLTypeUtil.unwrapAll(field.getType());
+        if (type instanceof GraphQLObjectType objectType && objectType.getFieldDefinition("edges") != null) {
+            GraphQLNamedType edge = GraphQLTypeUtil.unwrapAll(objectType.getFieldDefinition("edges").getType());
+            if (edge instanceof GraphQLObjectType edgeType && edgeType.getFieldDefinition("node") != null) {
+                type = GraphQLTypeUtil.unwrapAll((GraphQLOutputType) edgeType.getFieldDefinition("node").getType());
+            }
+        }
+        return ENTITY_TYPES.contains(type.getName()) ? type.getName() : null;
+    }
+
+}
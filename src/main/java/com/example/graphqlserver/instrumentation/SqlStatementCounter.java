@@ -0,0 +1,47 @@
+package com.example.graphqlserver.instrumentation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate 가 실행하는 SQL 을 현재 스레드에 연결된 GraphQL 요청 카운터에 센다.
+ * 카운터는 GraphQlMetricsInstrumentation 이 데이터 페처 호출 동안 연결했다가 finally 에서 되돌리고,
+ * 컨트롤러가 가상 스레드 executor 에서 실행될 때는 GraphQLContext 의 CONTEXT_KEY 값으로 전파된다
+ * (SqlStatementCounterAccessor, META-INF/services 로 ContextRegistry 에 등록).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String CONTEXT_KEY = SqlStatementCounter.class.getName();
+
+    private static final ThreadLocal<AtomicInteger> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = current.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    static AtomicInteger current() {
+        return current.get();
+    }
+
+    // 이전에 연결돼 있던 카운터를 반환 (restore 로 되돌림)
+    static AtomicInteger bind(AtomicInteger counter) {
+        AtomicInteger previous = current.get();
+        current.set(counter);
+        return previous;
+    }
+
+    static void restore(AtomicInteger previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+}
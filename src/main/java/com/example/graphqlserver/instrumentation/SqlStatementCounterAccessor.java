@@ -0,0 +1,30 @@
+package com.example.graphqlserver.instrumentation;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Spring GraphQL 이 executor 로 넘길 때 GraphQLContext 의 요청 SQL 카운터를 ThreadLocal 로 복원 (ServiceLoader 로 등록)
+public class SqlStatementCounterAccessor implements ThreadLocalAccessor<AtomicInteger> {
+
+    @Override
+    public Object key() {
+        return SqlStatementCounter.CONTEXT_KEY;
+    }
+
+    @Override
+    public AtomicInteger getValue() {
+        return SqlStatementCounter.current();
+    }
+
+    @Override
+    public void setValue(AtomicInteger value) {
+        SqlStatementCounter.bind(value);
+    }
+
+    @Override
+    public void setValue() {
+        SqlStatementCounter.restore(null);
+    }
+
+}
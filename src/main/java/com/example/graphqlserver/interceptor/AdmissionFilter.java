@@ -0,0 +1,400 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.cache.DocumentCache;
+import com.example.graphqlserver.config.AdmissionProperties;
+import com.example.graphqlserver.support.AdaptiveConcurrencyLimit;
+import com.example.graphqlserver.support.TokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GraphQL HTTP 엔드포인트의 요청 수락 제어. 실행 전에 거절해 과부하에서도 받은 요청은 제때 끝나게 한다.
+ * 1. 클라이언트(quota.clients 에 설정된 API 키, 그 밖에는 접속 주소)별 토큰 버킷을 넘으면 429.
+ *    키를 바꿔 가며 보내도 새 버킷을 얻지 못하도록 설정에 없는 키는 접속 주소 버킷을 쓴다.
+ * 2. 실행 중인 요청이 지연으로 조절되는 동시 실행 한도를 넘으면 503. 한도의 일부는 뮤테이션 몫으로 남겨
+ *    조회가 몰려도 뮤테이션은 받는다. 조회 몫이 찼을 때만 operation 종류를 본다.
+ * 일괄 요청(JSON 배열 본문)은 operation 들이 동시에 실행되므로 operation 수만큼 토큰과 동시 실행 자리를 쓴다
+ * (버킷 크기나 한도보다 많으면 그만큼 전부). 이를 위해 JSON 본문은 먼저 읽어 두고 배열일 때만 파싱한다.
+ * 거절 응답에는 Retry-After 를 붙인다. SSE 구독은 오래 열려 있으므로 동시 실행 한도에서 뺀다.
+ */
+public class AdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String KEY_PREFIX = "key:";
+    private static final String ADDRESS_PREFIX = "addr:";
+
+    private final AdmissionProperties properties;
+    private final DocumentCache documentCache;
+    private final JsonMapper jsonMapper;
+    private final TokenBuckets tokenBuckets;
+    private final AdaptiveConcurrencyLimit limit;
+    private Counter quotaRejections;
+    private Counter queryRejections;
+    private Counter mutationRejections;
+
+    public AdmissionFilter(AdmissionProperties properties, DocumentCache documentCache, JsonMapper jsonMapper) {
+        this.properties = properties;
+        this.documentCache = documentCache;
+        this.jsonMapper = jsonMapper;
+        AdmissionProperties.Quota quota = properties.getQuota();
+        this.tokenBuckets = new TokenBuckets(quota.getMaxClients(), idleTimeout(quota));
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        this.limit = new AdaptiveConcurrencyLimit(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getTolerance(), concurrency.getSmoothing());
+    }
+
+    // 버킷이 빈 상태에서 가득 차는 데 걸리는 가장 긴 시간 (최소 1초)
+    private static Duration idleTimeout(AdmissionProperties.Quota quota) {
+        double seconds = quota.getBurst() / Math.max(quota.getRequestsPerSecond(), 1e-3);
+        for (AdmissionProperties.ClientQuota client : quota.getClients().values()) {
+            seconds = Math.max(seconds, burst(quota, client) / Math.max(rate(quota, client), 1e-3));
+        }
+        return Duration.ofMillis((long) Math.ceil(Math.max(1, seconds) * 1000));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = null;
+        JsonNode batch = null;
+        MediaType contentType = contentType(request);
+        if (contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            body = request.getInputStream().readAllBytes();
+            request = new BufferedBodyRequest(request, body);
+            batch = batch(body);
+        }
+        int operations = batch != null ? Math.max(1, batch.size()) : 1;
+
+        if (properties.getQuota().isEnabled()) {
+            long waitNanos = consumeQuota(request, operations);
+            if (waitNanos > 0) {
+                increment(quotaRejections);
+                reject(response, 429, "Rate limit exceeded", "RATE_LIMITED", Duration.ofNanos(waitNanos));
+                return;
+            }
+        }
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        if (!concurrency.isEnabled() || isEventStream(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int currentLimit = limit.getLimit();
+        int queryCap = Math.max(1, (int) (currentLimit * (1 - concurrency.getMutationReserve())));
+        int permits = Math.min(operations, queryCap);
+        int inFlightAtStart = limit.tryAcquire(queryCap, permits);
+        if (inFlightAtStart < 0 && queryCap < currentLimit) {
+            // 조회 몫이 찼으면 뮤테이션만 남은 몫을 쓸 수 있다
+            if (body == null) {
+                body = request.getInputStream().readAllBytes();
+                request = new BufferedBodyRequest(request, body);
+            }
+            if (isMutation(contentType, body, batch)) {
+                permits = Math.min(operations, currentLimit);
+                inFlightAtStart = limit.tryAcquire(currentLimit, permits);
+                if (inFlightAtStart < 0) {
+                    increment(mutationRejections);
+                }
+            } else {
+                increment(queryRejections);
+            }
+        } else if (inFlightAtStart < 0) {
+            increment(queryRejections);
+        }
+        if (inFlightAtStart < 0) {
+            reject(response, 503, "Server is overloaded", "OVERLOADED", concurrency.getRetryAfter());
+            return;
+        }
+
+        Permit permit = new Permit(inFlightAtStart, permits);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(permit);
+        } else {
+            permit.release(false);
+        }
+    }
+
+    private long consumeQuota(HttpServletRequest request, int operations) {
+        AdmissionProperties.Quota quota = properties.getQuota();
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        AdmissionProperties.ClientQuota client = StringUtils.hasText(apiKey) ? quota.getClients().get(apiKey) : null;
+        if (client == null) {
+            return tokenBuckets.tryConsume(ADDRESS_PREFIX + request.getRemoteAddr(),
+                    quota.getRequestsPerSecond(), quota.getBurst(), operations);
+        }
+        return tokenBuckets.tryConsume(KEY_PREFIX + apiKey, rate(quota, client), burst(quota, client), operations);
+    }
+
+    private static double rate(AdmissionProperties.Quota quota, AdmissionProperties.ClientQuota client) {
+        return client.getRequestsPerSecond() != null ? client.getRequestsPerSecond() : quota.getRequestsPerSecond();
+    }
+
+    private static int burst(AdmissionProperties.Quota quota, AdmissionProperties.ClientQuota client) {
+        return client.getBurst() != null ? client.getBurst() : quota.getBurst();
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private static MediaType contentType(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 첫 글자가 '[' 인 JSON 본문만 파싱해 일괄 요청의 operation 배열을 돌려준다 (아니면 null)
+    private JsonNode batch(byte[] body) {
+        int i = 0;
+        while (i < body.length && (body[i] == ' ' || body[i] == '\t' || body[i] == '\r' || body[i] == '\n')) {
+            i++;
+        }
+        if (i == body.length || body[i] != '[') {
+            return null;
+        }
+        try {
+            JsonNode root = jsonMapper.readTree(body);
+            return root.isArray() ? root : null;
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    // JSON 본문의 query/operationName (해시만 온 APQ 는 등록된 원문), 일괄 요청은 뮤테이션이 하나라도 있으면 뮤테이션
+    private boolean isMutation(MediaType contentType, byte[] body, JsonNode batch) {
+        if (batch != null) {
+            for (JsonNode operation : batch) {
+                if (isMutation(operation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (contentType == null) {
+            return false;
+        }
+        if ("graphql".equals(contentType.getSubtype())) {
+            return OperationTypeScanner.isMutation(new String(body, charset(contentType)), null);
+        }
+        if (!MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return false;
+        }
+        try {
+            return isMutation(jsonMapper.readTree(body));
+        } catch (JacksonException e) {
+            return false;
+        }
+    }
+
+    private boolean isMutation(JsonNode operation) {
+        if (!operation.isObject()) {
+            return false;
+        }
+        String query = operation.path("query").stringValue(null);
+        if (!StringUtils.hasText(query)) {
+            String hash = operation.path("extensions").path("persistedQuery").path("sha256Hash").stringValue(null);
+            query = hash != null ? documentCache.getPersistedQuery(hash.toLowerCase()) : null;
+        }
+        return query != null && OperationTypeScanner.isMutation(query, operation.path("operationName").stringValue(null));
+    }
+
+    private static Charset charset(MediaType mediaType) {
+        return mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+    }
+
+    private void reject(HttpServletResponse response, int status, String message, String code, Duration retryAfter)
+            throws IOException {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("extensions", Map.of("code", code, "retryAfterSeconds", seconds));
+        jsonMapper.writeValue(response.getOutputStream(), Map.of("errors", List.of(error)));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    // graphql.admission.limit / inflight 게이지, graphql.admission.rejected{reason, lane} 카운터
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("graphql.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for GraphQL requests")
+                .register(registry);
+        Gauge.builder("graphql.admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("GraphQL requests currently admitted and executing")
+                .register(registry);
+        quotaRejections = rejections(registry, "quota", "all");
+        queryRejections = rejections(registry, "concurrency", "query");
+        mutationRejections = rejections(registry, "concurrency", "mutation");
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason, String lane) {
+        return Counter.builder("graphql.admission.rejected")
+                .description("GraphQL requests rejected before execution")
+                .tag("reason", reason)
+                .tag("lane", lane)
+                .register(registry);
+    }
+
+    // 동기 요청은 체인이 끝날 때, 비동기 요청은 응답이 끝날 때 한 번 반환하고 지연을 한도 계산에 넘긴다
+    private final class Permit implements AsyncListener {
+
+        private final int inFlightAtStart;
+        private final int permits;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(int inFlightAtStart, int permits) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.permits = permits;
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - startNanos, inFlightAtStart, permits, dropped);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    // 미리 읽은 본문을 다시 읽을 수 있게 하는 요청
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문이 이미 메모리에 있으므로 바로 읽을 수 있다고 알리고, 다 읽었으면 끝났다고 알린다
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.support.GraphQlJsonWriter;
+import graphql.GraphqlErrorBuilder;
+import jakarta.servlet.ServletException;
+import org.dataloader.DataLoader;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON 배열 본문(operation 목록)을 한 요청으로 실행하고 결과를 같은 순서의 배열로 응답한다.
+ * operation 마다 WebGraphQlRequest 를 만들어 인터셉터(APQ, 결과 캐시 등)를 그대로 거치고 동시에 실행하며,
+ * DataLoader 는 요청 단위로 공유해 operation 들이 같은 저자/통계를 한 번만 조회한다.
+ * 오류는 operation 별 errors 에 담기고 상태 코드는 200 이다. 배열이 아닌 본문은 기본 JSON 핸들러로 넘긴다.
+ */
+public class BatchGraphQlHttpHandler {
+
+    private final WebGraphQlHandler graphQlHandler;
+    private final GraphQlHttpHandler graphQlHttpHandler;
+    private final JsonMapper jsonMapper;
+    private final ObjectReader batchReader;
+    private final int maxOperations;
+    private final IdGenerator idGenerator = new AlternativeJdkIdGenerator();
+
+    public BatchGraphQlHttpHandler(WebGraphQlHandler graphQlHandler, GraphQlHttpHandler graphQlHttpHandler,
+                                   JsonMapper jsonMapper, int maxOperations) {
+        this.graphQlHandler = graphQlHandler;
+        this.graphQlHttpHandler = graphQlHttpHandler;
+        this.jsonMapper = jsonMapper;
+        this.batchReader = jsonMapper.readerForListOf(SerializableGraphQlRequest.class);
+        this.maxOperations = maxOperations;
+    }
+
+    // JSON 본문만 (application/graphql, multipart, SSE 는 기존 라우트로)
+    public static boolean accepts(ServerRequest request) {
+        return request.headers().contentType()
+                .map(MediaType.APPLICATION_JSON::isCompatibleWith)
+                .orElse(false)
+                && request.headers().accept().stream().noneMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    public ServerResponse handleRequest(ServerRequest request) throws ServletException, IOException {
+        byte[] body = request.body(byte[].class);
+        if (!isArray(body)) {
+            return graphQlHttpHandler.handleRequest(ServerRequest.from(request).body(body).build());
+        }
+        List<SerializableGraphQlRequest> operations = readOperations(body);
+
+        URI uri = request.uri();
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        MultiValueMap<String, HttpCookie> cookies = cookies(request);
+        InetSocketAddress remoteAddress = request.remoteAddress().orElse(null);
+        Map<String, Object> attributes = request.attributes();
+        Locale locale = LocaleContextHolder.getLocale();
+        ConcurrentMap<String, DataLoader<?, ?>> sharedLoaders = new ConcurrentHashMap<>();
+
+        // 구독은 순서대로 하지만 루트 필드는 실행기에서 돌므로 operation 들이 동시에 진행된다
+        Mono<List<Map<String, Object>>> results = Flux.range(0, operations.size())
+                .flatMapSequential(index -> {
+                    SerializableGraphQlRequest operation = operations.get(index);
+                    if (operation == null) {
+                        return Mono.just(errorResult("Batch element must be a JSON object"));
+                    }
+                    WebGraphQlRequest graphQlRequest;
+                    try {
+                        graphQlRequest = new WebGraphQlRequest(uri, headers, cookies, remoteAddress, attributes,
+                                operation, idGenerator.generateId().toString(), locale);
+                    } catch (RuntimeException e) {
+                        return Mono.just(errorResult(e instanceof ServerWebInputException input ? input.getReason() : e.getMessage()));
+                    }
+                    graphQlRequest.configureExecutionInput((input, builder) ->
+                            builder.dataLoaderRegistry(new SharedDataLoaderRegistry(sharedLoaders)).build());
+                    return graphQlHandler.handleRequest(graphQlRequest)
+                            .map(WebGraphQlResponse::toMap)
+                            .onErrorResume(e -> Mono.just(errorResult(e.getMessage())));
+                }, operations.size())
+                .collectList();
+
+        return ServerResponse.async(results.map(list -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .build((servletRequest, servletResponse) -> {
+                    GraphQlJsonWriter.write(jsonMapper, servletResponse.getOutputStream(), list);
+                    return null;
+                })));
+    }
+
+    private List<SerializableGraphQlRequest> readOperations(byte[] body) {
+        List<SerializableGraphQlRequest> operations;
+        try {
+            operations = batchReader.readValue(body);
+        } catch (JacksonException e) {
+            throw new ServerWebInputException("Invalid batch request: " + e.getOriginalMessage());
+        }
+        if (operations.isEmpty()) {
+            throw new ServerWebInputException("Batch request must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new ServerWebInputException("Batch request contains " + operations.size()
+                    + " operations (max " + maxOperations + ")");
+        }
+        return operations;
+    }
+
+    // 첫 공백이 아닌 문자가 '['
+    private static boolean isArray(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+
+    private static MultiValueMap<String, HttpCookie> cookies(ServerRequest request) {
+        MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>(request.cookies().size());
+        request.cookies().values().forEach(list -> list.forEach(cookie ->
+                cookies.add(cookie.getName(), new HttpCookie(cookie.getName(), cookie.getValue()))));
+        return cookies;
+    }
+
+    private static Map<String, Object> errorResult(String message) {
+        return Map.of("errors", List.of(GraphqlErrorBuilder.newError()
+                .message(message)
+                .errorType(ErrorType.BAD_REQUEST)
+                .build()
+                .toSpecification()));
+    }
+
+}
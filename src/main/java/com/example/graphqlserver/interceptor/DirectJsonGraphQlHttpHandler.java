@@ -0,0 +1,33 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.support.GraphQlJsonWriter;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.ServerResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+
+/**
+ * 기본 GraphQL HTTP 핸들러와 같은 상태 코드/헤더로 응답하되, 본문은 HttpMessageConverter 대신
+ * GraphQlJsonWriter 로 서블릿 출력 버퍼에 바로 쓴다.
+ */
+public class DirectJsonGraphQlHttpHandler extends GraphQlHttpHandler {
+
+    private final JsonMapper jsonMapper;
+
+    public DirectJsonGraphQlHttpHandler(WebGraphQlHandler graphQlHandler, JsonMapper jsonMapper) {
+        super(graphQlHandler);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected ServerResponse.HeadersBuilder.WriteFunction getWriteFunction(Map<String, Object> resultMap, MediaType contentType) {
+        return (request, response) -> {
+            GraphQlJsonWriter.write(jsonMapper, response.getOutputStream(), resultMap);
+            return null;
+        };
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.example.graphqlserver.interceptor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * GraphQL HTTP 엔드포인트의 If-None-Match 처리.
+ * ResponseCacheInterceptor 가 붙인 ETag 와 같으면 본문 없이 304 를 보낸다.
+ * GraphQL 은 POST 로 조회하므로 ShallowEtagHeaderFilter(GET 전용, POST 는 412) 대신 직접 비교한다.
+ */
+public class GraphQlETagFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) == null;
+    }
+
+    // 응답 본문은 비동기 디스패치에서 쓰이므로 그때 비교
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                respond(request, wrapper);
+            }
+        }
+    }
+
+    private void respond(HttpServletRequest request, ContentCachingResponseWrapper wrapper) throws IOException {
+        String eTag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (eTag != null && wrapper.getStatus() == HttpServletResponse.SC_OK
+                && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            // 캐시된 본문은 버리고 상태만 보냄
+            ((HttpServletResponse) wrapper.getResponse()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
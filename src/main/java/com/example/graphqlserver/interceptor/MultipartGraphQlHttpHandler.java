@@ -0,0 +1,100 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.support.GraphQlJsonWriter;
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webmvc.AbstractGraphQlHttpHandler;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Accept: multipart/mixed 요청을 incremental delivery 형식으로 응답한다.
+ * 첫 part 에 @defer 되지 않은 결과를, 이후 part 마다 준비된 @defer 조각을 보내므로
+ * 클라이언트는 느린 하위 필드를 기다리지 않고 먼저 화면을 그릴 수 있다.
+ * @defer 가 없거나 캐시된 결과는 part 하나로 끝난다.
+ */
+public class MultipartGraphQlHttpHandler extends AbstractGraphQlHttpHandler {
+
+    // Apollo / graphql-helix 와 같은 boundary "-" (구분자 "---", 종료 "-----")
+    public static final MediaType MULTIPART_MIXED = MediaType.parseMediaType(
+            "multipart/mixed; boundary=\"-\"; deferSpec=20220824");
+
+    private static final byte[] PART_HEADER =
+            "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\r\n-----\r\n".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonMapper jsonMapper;
+
+    public MultipartGraphQlHttpHandler(WebGraphQlHandler graphQlHandler, JsonMapper jsonMapper) {
+        super(graphQlHandler, null);
+        this.jsonMapper = jsonMapper;
+    }
+
+    // multipart/mixed 를 명시한 요청만 (*/* 는 기본 JSON 핸들러로)
+    public static boolean accepts(ServerRequest request) {
+        return request.headers().accept().stream().anyMatch(MediaType.MULTIPART_MIXED::equalsTypeAndSubtype);
+    }
+
+    @Override
+    protected ServerResponse prepareResponse(ServerRequest request, Mono<WebGraphQlResponse> responseMono) {
+        return ServerResponse.async(responseMono.map(response -> ServerResponse.ok()
+                .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                .contentType(MULTIPART_MIXED)
+                .stream(stream -> write(stream, response))));
+    }
+
+    private void write(ServerResponse.StreamBuilder stream, WebGraphQlResponse response) {
+        try {
+            stream.write(part(response.toMap()));
+            stream.flush();
+        } catch (IOException e) {
+            stream.error(e);
+            return;
+        }
+        if (!(response.getExecutionResult() instanceof IncrementalExecutionResult incremental)
+                || !incremental.hasNext()) {
+            end(stream);
+            return;
+        }
+        // 조각은 graphql-java 가 @defer 필드를 완료하는 스레드에서 순서대로 도착한다
+        Flux.from(incremental.getIncrementalItemPublisher())
+                .doOnNext(item -> {
+                    try {
+                        stream.write(part(item.toSpecification()));
+                        stream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .subscribe(item -> {
+                }, stream::error, () -> end(stream));
+    }
+
+    private byte[] part(Map<String, Object> payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(PART_HEADER);
+        GraphQlJsonWriter.write(jsonMapper, out, payload);
+        return out.toByteArray();
+    }
+
+    private static void end(ServerResponse.StreamBuilder stream) {
+        try {
+            stream.write(END);
+            stream.complete();
+        } catch (IOException e) {
+            stream.error(e);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.graphqlserver.interceptor;
+
+/**
+ * 문서를 파싱하지 않고 최상위 정의만 훑어 실행할 operation 이 mutation 인지 본다.
+ * 주석과 문자열(블록 문자열 포함)은 건너뛰고, operationName 이 없으면 첫 operation 을 쓴다.
+ * 알 수 없으면 false (조회로 취급) — 실제 검증은 실행 시 graphql-java 가 한다.
+ */
+final class OperationTypeScanner {
+
+    private OperationTypeScanner() {
+    }
+
+    static boolean isMutation(String document, String operationName) {
+        int length = document.length();
+        int depth = 0;
+        String keyword = null;
+        String name = null;
+        boolean expectName = false;
+        int i = 0;
+        while (i < length) {
+            char c = document.charAt(i);
+            if (c == '#') {
+                while (i < length && document.charAt(i) != '\n' && document.charAt(i) != '\r') {
+                    i++;
+                }
+            } else if (c == '"') {
+                i = skipString(document, i);
+            } else if (c == '{' || c == '(' || c == '[') {
+                // 최상위 선택 집합이 시작되면 정의의 머리가 끝남 ('{' 만 있는 정의는 익명 query)
+                if (depth == 0 && c == '{') {
+                    String type = keyword == null ? "query" : keyword;
+                    if (!type.equals("fragment") && (operationName == null || operationName.equals(name))) {
+                        return type.equals("mutation");
+                    }
+                }
+                expectName = false;
+                depth++;
+                i++;
+            } else if (c == '}' || c == ')' || c == ']') {
+                depth = Math.max(0, depth - 1);
+                if (depth == 0 && c == '}') {
+                    keyword = null;
+                    name = null;
+                }
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(document.charAt(i)) || document.charAt(i) == '_')) {
+                    i++;
+                }
+                if (depth == 0) {
+                    String token = document.substring(start, i);
+                    if (keyword == null) {
+                        keyword = token;
+                        expectName = true;
+                    } else if (expectName) {
+                        name = token;
+                        expectName = false;
+                    }
+                }
+            } else {
+                // '@' 다음 이름은 디렉티브, '$' 다음은 변수
+                if (c == '@' || c == '$') {
+                    expectName = false;
+                }
+                i++;
+            }
+        }
+        return false;
+    }
+
+    // 닫는 따옴표 다음 위치
+    private static int skipString(String document, int start) {
+        int length = document.length();
+        if (document.startsWith("\"\"\"", start)) {
+            int i = start + 3;
+            while (i < length) {
+                if (document.startsWith("\\\"\"\"", i)) {
+                    i += 4;
+                } else if (document.startsWith("\"\"\"", i)) {
+                    return i + 3;
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+        int i = start + 1;
+        while (i < length) {
+            char c = document.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"' || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.cache.DocumentCache;
+import com.example.graphqlserver.config.DocumentCacheProperties;
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Automatic Persisted Queries (extensions.persistedQuery.sha256Hash) 처리.
+ * 해시만 온 요청은 등록된 쿼리 원문으로 실행하고, 쿼리와 해시가 함께 오면 검증 후 등록한다.
+ */
+@Order(0)
+@Component
+@RequiredArgsConstructor
+public class PersistedQueryInterceptor implements WebGraphQlInterceptor {
+
+    private final DocumentCache documentCache;
+    private final DocumentCacheProperties properties;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String hash = persistedQueryHash(request);
+        if (hash == null || !properties.getPersistedQueries().isEnabled()) {
+            return chain.next(request);
+        }
+
+        String document = request.getDocument();
+        if (!StringUtils.hasText(document) || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(document)) {
+            String query = documentCache.getPersistedQuery(hash);
+            if (query == null) {
+                return Mono.just(errorResponse(request, hash, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND"));
+            }
+            request.configureExecutionInput((input, builder) -> {
+                input.getGraphQLContext().put(DocumentCache.QUERY_HASH_KEY, hash);
+                return builder.query(query).build();
+            });
+        } else {
+            if (!hash.equals(DocumentCache.sha256(document))) {
+                return Mono.just(errorResponse(request, hash, "PersistedQueryIdInvalid", "PERSISTED_QUERY_ID_INVALID"));
+            }
+            documentCache.registerPersistedQuery(hash, document);
+            request.configureExecutionInput((input, builder) -> {
+                input.getGraphQLContext().put(DocumentCache.QUERY_HASH_KEY, hash);
+                return input;
+            });
+        }
+        return chain.next(request);
+    }
+
+    private String persistedQueryHash(WebGraphQlRequest request) {
+        if (request.getExtensions().get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash && StringUtils.hasText(hash)) {
+            return hash.toLowerCase();
+        }
+        return null;
+    }
+
+    // Apollo 클라이언트가 인식하는 message/code 형식
+    private WebGraphQlResponse errorResponse(WebGraphQlRequest request, String hash, String message, String code) {
+        ExecutionResult result = ExecutionResult.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError()
+                        .message(message)
+                        .errorType(ErrorType.BAD_REQUEST)
+                        .extensions(Map.of("code", code, "persistedQueryId", hash))
+                        .build())
+                .build();
+        return new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.config.DataSourceRoutingProperties;
+import com.example.graphqlserver.config.DataSourceRoutingProperties.ClientIdFallback;
+import com.example.graphqlserver.datasource.RoutingContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * read-your-writes: 쓰기를 한 클라이언트의 요청은 read-your-writes-window 동안 읽기도 primary 로 보낸다.
+ * 클라이언트는 client-id-header 값으로 구분하고, 없으면 client-id-fallback 에 따라 X-Forwarded-For 또는 접속 주소를 쓴다.
+ */
+@Component
+public class ReadYourWritesInterceptor implements WebGraphQlInterceptor {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final DataSourceRoutingProperties properties;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(DataSourceRoutingProperties properties) {
+        this.properties = properties;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPinnedClients())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!properties.isEnabled()) {
+            return chain.next(request);
+        }
+        String client = clientId(request);
+        RoutingContext context = new RoutingContext(client != null && recentWriters.getIfPresent(client) != null);
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(RoutingContext.CONTEXT_KEY, context);
+            return input;
+        });
+        // 응답 시점에는 쓰기 트랜잭션이 이미 커밋됨
+        return chain.next(request).doOnNext(response -> {
+            if (context.isWritten() && client != null) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String clientId(WebGraphQlRequest request) {
+        String header = request.getHeaders().getFirst(properties.getClientIdHeader());
+        if (StringUtils.hasText(header)) {
+            return header;
+        }
+        if (properties.getClientIdFallback() == ClientIdFallback.NONE) {
+            return null;
+        }
+        String forwardedFor = request.getHeaders().getFirst(FORWARDED_FOR);
+        if (StringUtils.hasText(forwardedFor)) {
+            String client = forwardedFor.split(",", 2)[0].strip();
+            return client.isEmpty() ? null : "forwarded:" + client;
+        }
+        if (properties.getClientIdFallback() == ClientIdFallback.REMOTE_ADDRESS && request.getRemoteAddress() != null) {
+            return "address:" + request.getRemoteAddress().getHostString();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.cache.CacheTags;
+import com.example.graphqlserver.cache.ResponseCache;
+import com.example.graphqlserver.config.ResponseCacheProperties;
+import graphql.ExecutionInput;
+import graphql.incremental.IncrementalExecutionResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * query operation 결과를 ResponseCache 에서 돌려주고, 오류 없이 실행된 결과는 태그와 함께 저장한다.
+ * 응답에는 결과 내용의 ETag 를 붙여 GraphQlETagFilter 가 If-None-Match 에 304 로 답할 수 있게 한다.
+ */
+@Order(1) // Automatic Persisted Queries 가 쿼리 원문을 채운 뒤에 실행
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!properties.isEnabled()) {
+            return chain.next(request);
+        }
+        ExecutionInput input = request.toExecutionInput();
+        ResponseCache.Key key = responseCache.keyFor(input.getQuery(), input.getOperationName(), input.getVariables());
+        if (key == null) {
+            return chain.next(request);
+        }
+
+        ResponseCache.Entry cached = responseCache.get(key);
+        if (cached != null) {
+            WebGraphQlResponse response = new WebGraphQlResponse(
+                    new DefaultExecutionGraphQlResponse(input, cached.toExecutionResult()));
+            response.getResponseHeaders().setETag(cached.etag());
+            return Mono.just(response);
+        }
+
+        CacheTags tags = new CacheTags();
+        long version = responseCache.version();
+        request.configureExecutionInput((executionInput, builder) -> {
+            executionInput.getGraphQLContext().put(CacheTags.CONTEXT_KEY, tags);
+            return executionInput;
+        });
+        return chain.next(request).doOnNext(response -> {
+            // @defer 로 나뉜 결과는 첫 조각만 있으므로 저장하지 않는다
+            if (response.isValid() && response.getErrors().isEmpty() && tags.isCacheable()
+                    && !(response.getExecutionResult() instanceof IncrementalExecutionResult)) {
+                ResponseCache.Entry entry = responseCache.put(key, response.toMap(), tags.getTags(), version);
+                response.getResponseHeaders().setETag(entry.etag());
+            }
+        });
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.graphqlserver.interceptor;
+
+import org.dataloader.CacheMap;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 일괄 요청의 operation 마다 만드는 DataLoaderRegistry.
+ * 등록되는 DataLoader 를 요청 단위 맵에서 이름으로 찾아 먼저 등록된 것을 쓰므로
+ * 같은 요청의 operation 들이 DataLoader 의 키 캐시(같은 저자 id 는 한 번만 조회)를 함께 쓴다.
+ * 레지스트리 자체를 공유하면 Spring 이 operation 마다 DataLoader 를 다시 등록하다 중복 등록 오류가 나므로 따로 둔다.
+ */
+class SharedDataLoaderRegistry extends DataLoaderRegistry {
+
+    private final ConcurrentMap<String, DataLoader<?, ?>> sharedLoaders;
+
+    SharedDataLoaderRegistry(ConcurrentMap<String, DataLoader<?, ?>> sharedLoaders) {
+        this.sharedLoaders = sharedLoaders;
+    }
+
+    @Override
+    public DataLoaderRegistry register(DataLoader<?, ?> dataLoader) {
+        return register(dataLoader.getName(), dataLoader);
+    }
+
+    @Override
+    public DataLoaderRegistry register(String key, DataLoader<?, ?> dataLoader) {
+        return super.register(key, sharedLoaders.computeIfAbsent(key, name -> withExplicitCache(dataLoader)));
+    }
+
+    // GraphQlObservationInstrumentation 은 실행마다 레지스트리를 복사하며 DataLoader 를 새로 만들므로
+    // 캐시 맵을 옵션에 명시해 복사본들도 같은 캐시를 보게 한다 (이때 배치 큐는 operation 별)
+    private static DataLoader<?, ?> withExplicitCache(DataLoader<?, ?> dataLoader) {
+        DataLoaderOptions options = dataLoader.getOptions();
+        if (!options.cachingEnabled() || options.cacheMap().isPresent()) {
+            return dataLoader;
+        }
+        DataLoaderOptions sharedCache = options.transform(builder -> builder.setCacheMap(CacheMap.simpleMap()));
+        return dataLoader.transform(builder -> builder.options(sharedCache));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.config.StreamingProperties;
+import graphql.ExperimentalApi;
+import graphql.execution.SubscriptionExecutionStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 점진 전송 실행 옵션.
+ * 구독 이벤트는 필드 조회가 끝난 순서가 아니라 발행 순서대로 보내고 (stream* 구독의 목록 순서 유지),
+ * @defer 는 multipart/mixed 를 받을 수 있는 요청에서만 켠다 (그 외 요청은 @defer 를 무시하고 한 번에 응답).
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingExecutionInterceptor implements WebGraphQlInterceptor {
+
+    private final StreamingProperties properties;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        boolean incremental = properties.isDeferEnabled()
+                && request.getHeaders().getAccept().stream().anyMatch(MediaType.MULTIPART_MIXED::equalsTypeAndSubtype);
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(SubscriptionExecutionStrategy.KEEP_SUBSCRIPTION_EVENTS_ORDERED, true);
+            if (incremental) {
+                input.getGraphQLContext().put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true);
+            }
+            return input;
+        });
+        return chain.next(request);
+    }
+
+}
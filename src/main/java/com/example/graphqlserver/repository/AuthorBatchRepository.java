@@ -0,0 +1,12 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+
+import java.util.List;
+
+public interface AuthorBatchRepository {
+
+    // IDENTITY 키라 Hibernate 가 insert 를 묶지 못하므로 JDBC 배치로 저장하고 생성된 id 를 엔티티에 채운다
+    void insertAll(List<Author> authors, int batchSize);
+
+}
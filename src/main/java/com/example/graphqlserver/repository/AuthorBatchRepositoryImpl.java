@@ -0,0 +1,62 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AuthorBatchRepositoryImpl implements AuthorBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO authors "
+            + "(name, email, bio, birth_date, nationality, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Author> authors, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < authors.size(); from += batchSize) {
+            List<Author> chunk = authors.subList(from, Math.min(from + batchSize, authors.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Author author = chunk.get(i);
+                            ps.setString(1, author.getName());
+                            ps.setObject(2, author.getEmail(), Types.VARCHAR);
+                            ps.setObject(3, author.getBio(), Types.VARCHAR);
+                            ps.setObject(4, author.getBirthDate(), Types.TIMESTAMP);
+                            ps.setObject(5, author.getNationality(), Types.VARCHAR);
+                            ps.setObject(6, now, Types.TIMESTAMP);
+                            ps.setObject(7, now, Types.TIMESTAMP);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                Author author = chunk.get(i);
+                author.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                author.setCreatedAt(now);
+                author.setUpdatedAt(now);
+            }
+        }
+    }
+
+}
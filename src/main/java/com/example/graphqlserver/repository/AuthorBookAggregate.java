@@ -0,0 +1,13 @@
+package com.example.graphqlserver.repository;
+
+import java.time.LocalDateTime;
+
+// books 테이블에서 직접 집계한 저자별 통계 (AuthorStats 재계산 기준)
+public record AuthorBookAggregate(Long authorId, Long bookCount, Long pricedBookCount, Double priceSum,
+                                  LocalDateTime latestPublishedDate) {
+
+    public static AuthorBookAggregate empty(Long authorId) {
+        return new AuthorBookAggregate(authorId, 0L, 0L, null, null);
+    }
+
+}
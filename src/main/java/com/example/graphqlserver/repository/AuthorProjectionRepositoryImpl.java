@@ -0,0 +1,107 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.support.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@RequiredArgsConstructor
+public class AuthorProjectionRepositoryImpl implements AuthorProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Author> findAllProjected(FieldSelection selection) {
+        try (Stream<Author> authors = streamProjected(selection, 0)) {
+            return authors.toList();
+        }
+    }
+
+    @Override
+    public Stream<Author> streamProjected(FieldSelection selection, int fetchSize) {
+        List<String> authorAttributes = ProjectionColumns.AUTHOR.selected(selection);
+        boolean withBooks = selection.contains("books");
+        FieldSelection bookSelection = selection.nested("books");
+        List<String> bookAttributes = withBooks ? ProjectionColumns.BOOK.selected(bookSelection) : List.of();
+        boolean withBookAuthor = bookSelection.contains("author");
+
+        StringBuilder jpql = new StringBuilder("SELECT a.id");
+        ProjectionColumns.appendSelect(jpql, "a", authorAttributes);
+        if (withBooks) {
+            jpql.append(", b.id");
+            ProjectionColumns.appendSelect(jpql, "b", bookAttributes);
+            jpql.append(" FROM Author a LEFT JOIN a.books b ORDER BY a.id, b.id");
+        } else {
+            jpql.append(" FROM Author a ORDER BY a.id");
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (fetchSize != 0) {
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        }
+        Stream<Object[]> rows = query.getResultStream();
+        Iterator<Object[]> iterator = rows.iterator();
+        int bookOffset = authorAttributes.size() + 1;
+
+        // 저자 id 순으로 정렬된 행을 저자 단위로 묶는다 (한 번에 저자 한 명의 도서만 메모리에 둠)
+        Iterator<Author> authors = new Iterator<>() {
+            private Object[] pending;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || iterator.hasNext();
+            }
+
+            @Override
+            public Author next() {
+                Object[] row = pending != null ? pending : iterator.next();
+                pending = null;
+                Author author = new Author();
+                author.setId((Long) row[0]);
+                ProjectionColumns.AUTHOR.read(author, authorAttributes, row, 1);
+                // 조회하지 않은 컬렉션은 null 로 두어 @BatchMapping 이 조회하게 한다
+                author.setBooks(withBooks ? new ArrayList<>() : null);
+                while (row != null) {
+                    if (withBooks && row[bookOffset] != null) {
+                        author.getBooks().add(toBook(row));
+                    }
+                    row = null;
+                    if (iterator.hasNext()) {
+                        Object[] following = iterator.next();
+                        if (following[0].equals(author.getId())) {
+                            row = following;
+                        } else {
+                            pending = following;
+                        }
+                    }
+                }
+                return author;
+            }
+
+            private Book toBook(Object[] row) {
+                Book book = new Book();
+                book.setId((Long) row[bookOffset]);
+                ProjectionColumns.BOOK.read(book, bookAttributes, row, bookOffset + 1);
+                if (withBookAuthor) {
+                    // books.author 의 선택 필드는 다를 수 있으므로 초기화되지 않은 프록시로 두고 @BatchMapping 에 맡긴다
+                    book.setAuthor(entityManager.getReference(Author.class, row[0]));
+                }
+                return book;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(authors, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+}
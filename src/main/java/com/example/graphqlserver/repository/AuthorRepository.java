@@ -1,16 +1,26 @@
 package com.example.graphqlserver.repository;
 
 import com.example.graphqlserver.entity.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>, JpaSpecificationExecutor<Author>,
+        AuthorBatchRepository, AuthorProjectionRepository {
 
     Optional<Author> findByEmail(String email);
 
@@ -25,4 +35,27 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     @Query("SELECT a FROM Author a WHERE a.nationality = :nationality")
     List<Author> findByNationality(@Param("nationality") String nationality);
 
+    @Query("SELECT a FROM Author a WHERE a.id IN :ids")
+    List<Author> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 일괄 뮤테이션의 묶음 조회 (Chunks): 묶음마다 auto flush 로 영속성 컨텍스트 전체를 검사하지 않는다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT a.id FROM Author a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT a.email FROM Author a WHERE a.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // afterId 다음부터 limit 개의 저자 id (통계 재계산 배치)
+    @Query("SELECT a.id FROM Author a WHERE a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // keyset 페이지네이션
+    Window<Author> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Author> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Author> findByNationality(String nationality, ScrollPosition position, Limit limit, Sort sort);
+
 }
@@ -0,0 +1,32 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// authors(filter) 조건 (AuthorService 에서 지정된 조건만 골라 하나의 쿼리로 결합)
+public final class AuthorSpecifications {
+
+    private AuthorSpecifications() {
+    }
+
+    public static Specification<Author> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // 접두 검색은 idx_authors_name 을 사용
+    public static Specification<Author> nameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("name"), RangePredicates.prefixPattern(prefix), RangePredicates.LIKE_ESCAPE);
+    }
+
+    public static Specification<Author> nationality(String nationality) {
+        return (root, query, cb) -> cb.equal(root.get("nationality"), nationality);
+    }
+
+    public static Specification<Author> bornBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> RangePredicates.between(cb, root.get("birthDate"), from, to);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.AuthorStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AuthorStatsRepository extends JpaRepository<AuthorStats, Long> {
+
+    // 증분 갱신/재계산이 같은 행을 동시에 고치지 않도록 행 잠금 (저자 id 순서로 잠가 교착 방지)
+    // 묶음(Chunks)으로 나눠 잠그므로 묶음마다 auto flush 하지 않는다 (호출 전에 한 번 flush)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT s FROM AuthorStats s WHERE s.authorId IN :authorIds ORDER BY s.authorId")
+    List<AuthorStats> findAllForUpdate(@Param("authorIds") Collection<Long> authorIds);
+
+    // 새 저자의 빈 통계 행
+    @Modifying
+    @Query("INSERT INTO AuthorStats (authorId, bookCount, pricedBookCount, priceSum) "
+            + "SELECT a.id, 0, 0, 0.0 FROM Author a WHERE a.id IN :authorIds")
+    int insertEmpty(@Param("authorIds") Collection<Long> authorIds);
+
+    @Query("SELECT new com.example.graphqlserver.repository.AuthorBookAggregate("
+            + "b.author.id, COUNT(b), COUNT(b.price), SUM(b.price), MAX(b.publishedDate)) "
+            + "FROM Book b WHERE b.author.id IN :authorIds GROUP BY b.author.id")
+    List<AuthorBookAggregate> aggregateByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+
+    @Query("SELECT MAX(b.publishedDate) FROM Book b WHERE b.author.id = :authorId")
+    LocalDateTime findLatestPublishedDate(@Param("authorId") Long authorId);
+
+    List<AuthorStats> findAllBy(Limit limit, Sort sort);
+
+    List<AuthorStats> findByAveragePriceNotNull(Limit limit, Sort sort);
+
+    List<AuthorStats> findByLatestPublishedDateNotNull(Limit limit, Sort sort);
+
+    @Modifying
+    @Query("DELETE FROM AuthorStats s WHERE s.authorId NOT IN (SELECT a.id FROM Author a)")
+    int deleteOrphans();
+}
@@ -0,0 +1,12 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Book;
+
+import java.util.List;
+
+public interface BookBatchRepository {
+
+    // IDENTITY 키라 Hibernate 가 insert 를 묶지 못하므로 JDBC 배치로 저장하고 생성된 id 를 엔티티에 채운다
+    void insertAll(List<Book> books, int batchSize);
+
+}
@@ -0,0 +1,64 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class BookBatchRepositoryImpl implements BookBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO books "
+            + "(title, isbn, description, price, published_date, page_count, author_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Book> books, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < books.size(); from += batchSize) {
+            List<Book> chunk = books.subList(from, Math.min(from + batchSize, books.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Book book = chunk.get(i);
+                            ps.setString(1, book.getTitle());
+                            ps.setString(2, book.getIsbn());
+                            ps.setObject(3, book.getDescription(), Types.VARCHAR);
+                            ps.setObject(4, book.getPrice(), Types.DOUBLE);
+                            ps.setObject(5, book.getPublishedDate(), Types.TIMESTAMP);
+                            ps.setObject(6, book.getPageCount(), Types.INTEGER);
+                            ps.setLong(7, book.getAuthor().getId());
+                            ps.setObject(8, now, Types.TIMESTAMP);
+                            ps.setObject(9, now, Types.TIMESTAMP);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                Book book = chunk.get(i);
+                book.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                book.setCreatedAt(now);
+                book.setUpdatedAt(now);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.support.FieldSelection;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookProjectionRepository {
+
+    // 선택된 컬럼만 조회한 분리(detached) 도서, author 가 선택된 경우에만 저자를 join 한다
+    List<Book> findAllProjected(FieldSelection selection);
+
+    // 같은 조회를 fetchSize 행씩 읽어 오는 Stream (트랜잭션 안에서 소비하고 닫아야 함, Integer.MIN_VALUE 는 MySQL 행 단위 스트리밍)
+    Stream<Book> streamProjected(FieldSelection selection, int fetchSize);
+
+}
@@ -0,0 +1,81 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.support.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    private static final int MAX_SHARED_AUTHORS = 1024;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Book> findAllProjected(FieldSelection selection) {
+        try (Stream<Book> books = streamProjected(selection, 0)) {
+            return books.toList();
+        }
+    }
+
+    @Override
+    public Stream<Book> streamProjected(FieldSelection selection, int fetchSize) {
+        List<String> bookAttributes = ProjectionColumns.BOOK.selected(selection);
+        boolean withAuthor = selection.contains("author");
+        List<String> authorAttributes = withAuthor
+                ? ProjectionColumns.AUTHOR.selected(selection.nested("author"))
+                : List.of();
+
+        StringBuilder jpql = new StringBuilder("SELECT b.id");
+        ProjectionColumns.appendSelect(jpql, "b", bookAttributes);
+        if (withAuthor && authorAttributes.isEmpty()) {
+            // author { id } 만 선택되면 외래 키로 충분하므로 join 하지 않는다
+            jpql.append(", b.author.id FROM Book b");
+        } else if (withAuthor) {
+            jpql.append(", a.id");
+            ProjectionColumns.appendSelect(jpql, "a", authorAttributes);
+            jpql.append(" FROM Book b JOIN b.author a");
+        } else {
+            jpql.append(" FROM Book b");
+        }
+        jpql.append(" ORDER BY b.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (fetchSize != 0) {
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        }
+        // 같은 저자의 도서는 저자 객체 하나를 공유 (스트림은 끝없이 길 수 있으므로 최근 저자만 LRU 로 보관)
+        Map<Long, Author> authors = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Author> eldest) {
+                return size() > MAX_SHARED_AUTHORS;
+            }
+        };
+        return query.getResultStream().map(row -> {
+            Book book = new Book();
+            book.setId((Long) row[0]);
+            int next = ProjectionColumns.BOOK.read(book, bookAttributes, row, 1);
+            if (withAuthor) {
+                book.setAuthor(authors.computeIfAbsent((Long) row[next], authorId -> {
+                    Author author = new Author();
+                    author.setId(authorId);
+                    // 조회하지 않은 컬렉션 (Author.books 는 @BatchMapping 으로 조회)
+                    author.setBooks(null);
+                    ProjectionColumns.AUTHOR.read(author, authorAttributes, row, next + 1);
+                    return author;
+                }));
+            }
+            return book;
+        });
+    }
+
+}
@@ -1,16 +1,31 @@
 package com.example.graphqlserver.repository;
 
 import com.example.graphqlserver.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookBatchRepository, BookProjectionRepository {
+
+    Optional<Book> findByIsbn(String isbn);
+
+    boolean existsByIsbn(String isbn);
 
     List<Book> findByTitleContainingIgnoreCase(String title);
 
@@ -27,9 +42,41 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author")
     List<Book> findAllWithAuthor();
 
-    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author WHERE b.author.nationality = :nationality")
+    // author_id 는 NOT NULL 이므로 inner join 으로 써서 저자 인덱스(idx_authors_*)부터 읽을 수 있게 한다
+    @Query("SELECT b FROM Book b JOIN FETCH b.author a WHERE a.nationality = :nationality")
     List<Book> findByAuthorNationality(@Param("nationality") String nationality);
 
-    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author a WHERE a.name = :authorName")
+    @Query("SELECT b FROM Book b JOIN FETCH b.author a WHERE a.name = :authorName")
     List<Book> findByAuthorName(@Param("authorName") String authorName);
+
+    @Query("SELECT b FROM Book b WHERE b.author.id IN :authorIds ORDER BY b.id")
+    List<Book> findByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds);
+
+    // 일괄 뮤테이션의 묶음 조회/삭제 (Chunks): 묶음마다 auto flush 로 영속성 컨텍스트 전체를 검사하지 않는다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids")
+    List<Book> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Book b WHERE b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    // keyset 페이지네이션
+    Window<Book> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Book> findByAuthorId(Long authorId, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Book> findByPriceBetween(Double minPrice, Double maxPrice, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Book> findByAuthorName(String authorName, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Book> findByAuthorNationality(String nationality, ScrollPosition position, Limit limit, Sort sort);
 }
@@ -0,0 +1,46 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// books(filter) 조건 (BookService 에서 지정된 조건만 골라 하나의 쿼리로 결합)
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> priceBetween(Double min, Double max) {
+        return (root, query, cb) -> RangePredicates.between(cb, root.get("price"), min, max);
+    }
+
+    public static Specification<Book> pageCountBetween(Integer min, Integer max) {
+        return (root, query, cb) -> RangePredicates.between(cb, root.get("pageCount"), min, max);
+    }
+
+    public static Specification<Book> publishedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> RangePredicates.between(cb, root.get("publishedDate"), from, to);
+    }
+
+    // books.author_id 로 조인 (ManyToOne 이라 행이 늘지 않음)
+    public static Specification<Book> authorNationality(String nationality) {
+        return (root, query, cb) -> {
+            Join<Book, Author> author = root.join("author");
+            return cb.equal(author.get("nationality"), nationality);
+        };
+    }
+
+    public static Specification<Book> authorIdIn(Collection<Long> authorIds) {
+        return (root, query, cb) -> authorIds.isEmpty() ? cb.disjunction() : root.get("author").get("id").in(authorIds);
+    }
+
+    // 접두 검색은 idx_books_title 을 사용
+    public static Specification<Book> titleStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("title"), RangePredicates.prefixPattern(prefix), RangePredicates.LIKE_ESCAPE);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.config.PaginationProperties;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * nullable 필드가 섞인 정렬의 keyset 스크롤 (books(orderBy)/authors(orderBy)).
+ * Spring Data 의 keyset 스크롤은 커서 값이 null 이면 비교 조건을 만들 수 없어 값이 없는 행을 건너뛰게 되므로,
+ * null 을 가장 작은 값으로 보고 (오름차순이면 맨 앞, 내림차순이면 맨 뒤) 정렬과 커서 비교를 같은 기준으로 직접 만든다.
+ * 정렬의 마지막 필드는 유일해야 한다 (id).
+ */
+public final class NullableKeyset {
+
+    private NullableKeyset() {
+    }
+
+    public static <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                       Sort sort, KeysetScrollPosition position, Limit limit) {
+        Sort nullsLowest = nullsLowest(sort);
+        // 뒤로 넘길 때는 반대 순서로 읽고 뒤집는다
+        Sort querySort = position.scrollsBackward() ? reverse(nullsLowest) : nullsLowest;
+        Specification<T> query = position.isInitial()
+                ? specification
+                : specification.and(after(querySort, keys(position, sort)));
+        List<T> rows = repository.findBy(query, fluent -> fluent.sortBy(querySort).limit(limit.max() + 1).all());
+
+        List<T> content = new ArrayList<>(rows.subList(0, Math.min(rows.size(), limit.max())));
+        if (position.scrollsBackward()) {
+            Collections.reverse(content);
+        }
+        return Window.from(content, i -> ScrollPosition.of(keys(content.get(i), sort), position.getDirection()),
+                rows.size() > limit.max());
+    }
+
+    private static Sort nullsLowest(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.isAscending() ? order.nullsFirst() : order.nullsLast())
+                .toList());
+    }
+
+    private static Sort reverse(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.isAscending()
+                        ? Sort.Order.desc(order.getProperty()).nullsLast()
+                        : Sort.Order.asc(order.getProperty()).nullsFirst())
+                .toList());
+    }
+
+    // (k1 이후) OR (k1 같고 k2 이후) OR ... (null 은 가장 작은 값)
+    private static <T> Specification<T> after(Sort sort, Map<String, Object> keys) {
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalSoFar = new ArrayList<>();
+            for (Sort.Order order : sort) {
+                Object key = keys.get(order.getProperty());
+                List<Predicate> alternative = new ArrayList<>(equalSoFar);
+                alternative.add(after(cb, root, order, key));
+                alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+                equalSoFar.add(equal(cb, root, order.getProperty(), key));
+            }
+            return cb.or(alternatives.toArray(Predicate[]::new));
+        };
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate after(CriteriaBuilder cb, Root<?> root, Sort.Order order, Object key) {
+        Expression<Comparable> path = root.get(order.getProperty());
+        if (order.isAscending()) {
+            return key == null ? cb.isNotNull(path) : cb.greaterThan(path, (Comparable) key);
+        }
+        return key == null ? cb.disjunction() : cb.or(cb.lessThan(path, (Comparable) key), cb.isNull(path));
+    }
+
+    private static Predicate equal(CriteriaBuilder cb, Root<?> root, String property, Object key) {
+        return key == null ? cb.isNull(root.get(property)) : cb.equal(root.get(property), key);
+    }
+
+    // 커서는 정렬 필드를 모두, 그것만 가져야 한다 (값은 null 가능)
+    private static Map<String, Object> keys(KeysetScrollPosition position, Sort sort) {
+        Map<String, Object> keys = position.getKeys();
+        if (!keys.keySet().equals(sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet()))) {
+            throw new PaginationProperties.InvalidPaginationArgumentException("Invalid cursor");
+        }
+        return keys;
+    }
+
+    private static Map<String, Object> keys(Object entity, Sort sort) {
+        BeanWrapper accessor = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), accessor.getPropertyValue(order.getProperty())));
+        return keys;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.support.FieldSelection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// GraphQL 필드와 이름이 같은 스칼라 속성 (id 는 항상 조회하므로 제외)
+final class ProjectionColumns<T> {
+
+    static final ProjectionColumns<Book> BOOK = new ProjectionColumns<>(Map.of(
+            "title", (book, value) -> book.setTitle((String) value),
+            "isbn", (book, value) -> book.setIsbn((String) value),
+            "description", (book, value) -> book.setDescription((String) value),
+            "price", (book, value) -> book.setPrice((Double) value),
+            "publishedDate", (book, value) -> book.setPublishedDate((LocalDateTime) value),
+            "pageCount", (book, value) -> book.setPageCount((Integer) value),
+            "createdAt", (book, value) -> book.setCreatedAt((LocalDateTime) value),
+            "updatedAt", (book, value) -> book.setUpdatedAt((LocalDateTime) value)));
+
+    static final ProjectionColumns<Author> AUTHOR = new ProjectionColumns<>(Map.of(
+            "name", (author, value) -> author.setName((String) value),
+            "email", (author, value) -> author.setEmail((String) value),
+            "bio", (author, value) -> author.setBio((String) value),
+            "birthDate", (author, value) -> author.setBirthDate((LocalDateTime) value),
+            "nationality", (author, value) -> author.setNationality((String) value),
+            "createdAt", (author, value) -> author.setCreatedAt((LocalDateTime) value),
+            "updatedAt", (author, value) -> author.setUpdatedAt((LocalDateTime) value)));
+
+    private final Map<String, BiConsumer<T, Object>> setters;
+
+    private ProjectionColumns(Map<String, BiConsumer<T, Object>> setters) {
+        this.setters = setters;
+    }
+
+    // 정렬해 두면 같은 선택은 같은 JPQL 이 되어 쿼리 플랜 캐시를 재사용한다
+    List<String> selected(FieldSelection selection) {
+        return selection.fields().stream().filter(setters::containsKey).sorted().toList();
+    }
+
+    static void appendSelect(StringBuilder jpql, String alias, List<String> attributes) {
+        attributes.forEach(attribute -> jpql.append(", ").append(alias).append('.').append(attribute));
+    }
+
+    // row[offset] 부터 attributes 순서대로 채우고 다음 위치를 반환
+    int read(T entity, List<String> attributes, Object[] row, int offset) {
+        for (String attribute : attributes) {
+            setters.get(attribute).accept(entity, row[offset++]);
+        }
+        return offset;
+    }
+
+}
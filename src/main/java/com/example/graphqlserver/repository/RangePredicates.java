@@ -0,0 +1,33 @@
+package com.example.graphqlserver.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+final class RangePredicates {
+
+    static final char LIKE_ESCAPE = '\\';
+
+    private RangePredicates() {
+    }
+
+    // 한쪽 끝만 지정하면 반대쪽은 열린 범위
+    static <Y extends Comparable<? super Y>> Predicate between(CriteriaBuilder cb, Expression<Y> expression, Y min, Y max) {
+        if (min != null && max != null) {
+            return cb.between(expression, min, max);
+        }
+        if (min != null) {
+            return cb.greaterThanOrEqualTo(expression, min);
+        }
+        if (max != null) {
+            return cb.lessThanOrEqualTo(expression, max);
+        }
+        return cb.conjunction();
+    }
+
+    // LIKE 특수 문자를 이스케이프한 'prefix%'
+    static String prefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+}
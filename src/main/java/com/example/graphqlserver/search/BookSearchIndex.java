@@ -0,0 +1,286 @@
+package com.example.graphqlserver.search;
+
+import com.example.graphqlserver.config.SearchProperties;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.repository.BookRepository;
+import com.example.graphqlserver.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 도서 제목/설명에 대한 메모리 역색인.
+ * 문자 bigram(1글자 검색어는 unigram)으로 후보를 좁힌 뒤 부분 문자열 포함 여부로 확정하므로
+ * 띄어쓰기가 없는 한국어와 영어 모두 기존 LIKE '%keyword%' 와 같은 결과를 낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    // 점수 = 제목 등장 횟수 * TITLE_WEIGHT + 설명 등장 횟수
+    private static final int TITLE_WEIGHT = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+    // 관련도 순 (점수 내림차순, id 오름차순)
+    private static final Comparator<SearchHit> RELEVANCE =
+            Comparator.comparingInt(SearchHit::score).reversed().thenComparing(SearchHit::id);
+
+    private final BookRepository bookRepository;
+    private final SearchProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // 재색인 중 들어온 변경 (재색인이 끝나면 새 세그먼트에 다시 반영)
+    private List<Consumer<Segment>> pending;
+    private volatile boolean ready;
+
+    public record SearchHit(Long id, int score) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isEnabled()) {
+            Thread.ofVirtual().name("book-search-rebuild").start(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                throw new IllegalStateException("Search index rebuild is already running");
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            Window<Book> window = bookRepository.findAllBy(
+                    ScrollPosition.keyset(), Limit.of(properties.getRebuildBatchSize()), Sort.by("id"));
+            while (true) {
+                window.forEach(book -> rebuilt.put(IndexedBook.of(book)));
+                if (window.isEmpty() || !window.hasNext()) {
+                    break;
+                }
+                window = bookRepository.findAllBy(
+                        window.positionAt(window.size() - 1), Limit.of(properties.getRebuildBatchSize()), Sort.by("id"));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            segment = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book search index rebuilt: {} books", rebuilt.books.size());
+        return rebuilt.books.size();
+    }
+
+    // 커밋 이후 색인에 반영
+    public void index(Book book) {
+        IndexedBook indexed = IndexedBook.of(book);
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.put(indexed)));
+    }
+
+    public void indexAll(Collection<Book> books) {
+        List<IndexedBook> indexed = books.stream().map(IndexedBook::of).toList();
+        TransactionCallbacks.afterCommit(() -> apply(current -> indexed.forEach(current::put)));
+    }
+
+    public void remove(Collection<Long> bookIds) {
+        List<Long> ids = List.copyOf(bookIds);
+        TransactionCallbacks.afterCommit(() -> apply(current -> ids.forEach(current::remove)));
+    }
+
+    // 관련도(점수 내림차순, id 오름차순) 순으로 정렬된 검색 결과
+    public List<SearchHit> search(String keyword, boolean titleOnly) {
+        String normalized = normalize(keyword);
+        List<SearchHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : segment.candidates(normalized)) {
+                int score = score(segment.books.get(id), normalized, titleOnly);
+                if (score >= 0) {
+                    hits.add(new SearchHit(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(RELEVANCE);
+        return hits;
+    }
+
+    // 색인 없이 주어진 도서(DB LIKE 결과)를 search 와 같은 기준으로 거르고 같은 순서로 정렬
+    // 색인이 준비되기 전/꺼져 있을 때도 같은 검색어의 결과 순서와 커서가 같게 한다
+    public static List<SearchHit> rank(Collection<Book> books, String keyword, boolean titleOnly) {
+        String normalized = normalize(keyword);
+        List<SearchHit> hits = new ArrayList<>();
+        for (Book book : books) {
+            int score = score(IndexedBook.of(book), normalized, titleOnly);
+            if (score >= 0) {
+                hits.add(new SearchHit(book.getId(), score));
+            }
+        }
+        hits.sort(RELEVANCE);
+        return hits;
+    }
+
+    // 포함하지 않으면 -1
+    private static int score(IndexedBook book, String normalized, boolean titleOnly) {
+        boolean matched = book.title().contains(normalized)
+                || (!titleOnly && book.description().contains(normalized));
+        if (!matched) {
+            return -1;
+        }
+        return count(book.title(), normalized) * TITLE_WEIGHT
+                + (titleOnly ? 0 : count(book.description(), normalized));
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int count(String text, String keyword) {
+        if (keyword.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int from = text.indexOf(keyword); from >= 0; from = text.indexOf(keyword, from + keyword.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // bigram 은 두 글자를 int 하나로, unigram 은 음수로 표현
+    static Set<Integer> grams(String text, boolean withUnigrams) {
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            if (current == FIELD_SEPARATOR) {
+                continue;
+            }
+            if (withUnigrams) {
+                grams.add(-(current + 1));
+            }
+            if (i + 1 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR) {
+                grams.add((current << 16) | text.charAt(i + 1));
+            }
+        }
+        return grams;
+    }
+
+    private record IndexedBook(Long id, String title, String description) {
+
+        static IndexedBook of(Book book) {
+            return new IndexedBook(book.getId(), normalize(book.getTitle()), normalize(book.getDescription()));
+        }
+
+        String text() {
+            return title + FIELD_SEPARATOR + description;
+        }
+    }
+
+    private static class Segment {
+
+        private final Map<Integer, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, IndexedBook> books = new HashMap<>();
+
+        void put(IndexedBook book) {
+            remove(book.id());
+            books.put(book.id(), book);
+            for (Integer gram : grams(book.text(), true)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(book.id());
+            }
+        }
+
+        void remove(Long id) {
+            IndexedBook removed = books.remove(id);
+            if (removed == null) {
+                return;
+            }
+            for (Integer gram : grams(removed.text(), true)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        // 검색어의 모든 gram 을 포함하는 도서 (가장 작은 posting 부터 교집합)
+        Collection<Long> candidates(String keyword) {
+            if (keyword.isEmpty()) {
+                return books.keySet();
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (Integer gram : grams(keyword, keyword.length() == 1)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Long> result = new ArrayList<>();
+            for (Long id : lists.get(0)) {
+                if (lists.stream().allMatch(ids -> ids.contains(id))) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+    }
+
+}
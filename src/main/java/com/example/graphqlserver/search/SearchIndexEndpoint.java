@@ -0,0 +1,25 @@
+package com.example.graphqlserver.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 색인을 DB 기준으로 다시 생성하는 관리용 엔드포인트 (POST /actuator/searchindex, 색인된 도서 수 반환).
+ * 전체 테이블을 읽으므로 공개 GraphQL 뮤테이션이 아닌 actuator 로만 제공하고,
+ * management.endpoints.web.exposure.include 에 searchindex 를 넣어야 노출된다.
+ */
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final BookSearchIndex bookSearchIndex;
+
+    @WriteOperation
+    public int rebuild() {
+        return bookSearchIndex.rebuild();
+    }
+
+}
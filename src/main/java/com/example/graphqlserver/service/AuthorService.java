@@ -1,16 +1,49 @@
 package com.example.graphqlserver.service;
 
+import com.example.graphqlserver.cache.EntityCaches;
+import com.example.graphqlserver.catalog.BookCatalog;
+import com.example.graphqlserver.config.BulkProperties;
+import com.example.graphqlserver.config.StreamingProperties;
+import com.example.graphqlserver.datasource.StreamingFetchSize;
+import com.example.graphqlserver.dto.AuthorFilter;
+import com.example.graphqlserver.dto.AuthorOrder;
+import com.example.graphqlserver.dto.BulkResult;
 import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.event.AuthorChangedEvent;
+import com.example.graphqlserver.event.BookChangedEvent;
+import com.example.graphqlserver.event.ChangeType;
 import com.example.graphqlserver.repository.AuthorRepository;
+import com.example.graphqlserver.repository.NullableKeyset;
+import com.example.graphqlserver.repository.AuthorSpecifications;
+import com.example.graphqlserver.repository.BookRepository;
+import com.example.graphqlserver.search.BookSearchIndex;
+import com.example.graphqlserver.support.Chunks;
+import com.example.graphqlserver.support.FieldSelection;
+import com.example.graphqlserver.support.SingleFlight;
+import com.example.graphqlserver.support.TransactionalFlux;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,55 +51,187 @@ import java.util.Optional;
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final BookRepository bookRepository;
+    private final AuthorStatsService authorStatsService;
+    private final EntityCaches entityCaches;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCatalog bookCatalog;
+    private final BulkProperties bulkProperties;
+    private final StreamingProperties streamingProperties;
+    private final StreamingFetchSize streamingFetchSize;
+    private final TransactionalFlux transactionalFlux;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final Sort idOrder = Sort.by("id");
 
+    // 선택된 필드의 컬럼만 조회 (분리된 부분 객체라 캐시하거나 수정하지 않는다)
     @Transactional(readOnly = true)
-    public List<Author> getAllAuthors() {
-        return authorRepository.findAll();
+    @SingleFlight
+    public List<Author> getAllAuthors(FieldSelection selection) {
+        return authorRepository.findAllProjected(selection);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.AUTHORS, key = "#id", unless = "#result == null")
     public Optional<Author> getAuthorById(Long id) {
         return authorRepository.findById(id);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.AUTHORS_BY_EMAIL, key = "#email", unless = "#result == null")
     public Optional<Author> getAuthorByEmail(String email) {
         return authorRepository.findByEmail(email);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Author> getAuthorsByName(String name) {
         return authorRepository.findByNameContainingIgnoreCase(name);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Author> getAuthorsByNationality(String nationality) {
         return authorRepository.findByNationality(nationality);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.AUTHORS_WITH_BOOKS, key = "#id", unless = "#result == null")
     public Optional<Author> getAuthorWithBooks(Long id) {
         return authorRepository.findByIdWithBooks(id);
     }
 
+    // books 가 선택되지 않았으면 도서 join 도 생략
     @Transactional(readOnly = true)
-    public List<Author> getAuthorsWithBooks() {
-        return authorRepository.findAllWithBooks();
+    @SingleFlight
+    public List<Author> getAuthorsWithBooks(FieldSelection selection) {
+        return authorRepository.findAllProjected(selection);
+    }
+
+    // 전체 목록을 fetchSize 행씩 읽어 한 건씩 내보낸다 (구독자가 요청한 만큼만 읽음)
+    public Flux<Author> streamAuthorsWithBooks(FieldSelection selection) {
+        return transactionalFlux.readOnly("author-stream",
+                () -> authorRepository.streamProjected(selection, streamingFetchSize.of(streamingProperties.getFetchSize())));
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Map<Long, Author> getAuthorsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return authorRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+    }
+
+    // keyset 페이지네이션
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Author> getAllAuthors(KeysetScrollPosition position, Limit limit) {
+        return authorRepository.findAllBy(position, limit, idOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Author> getAuthorsByName(String name, KeysetScrollPosition position, Limit limit) {
+        return authorRepository.findByNameContainingIgnoreCase(name, position, limit, idOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Author> getAuthorsByNationality(String nationality, KeysetScrollPosition position, Limit limit) {
+        return authorRepository.findByNationality(nationality, position, limit, idOrder);
+    }
+
+    // 조건과 정렬을 하나의 쿼리로 (정렬 끝에 id 를 붙여 keyset 커서가 항상 한 행을 가리키도록)
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Author> getAuthors(AuthorFilter filter, List<AuthorOrder> orderBy, KeysetScrollPosition position, Limit limit) {
+        List<Specification<Author>> conditions = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getIds() != null) {
+                conditions.add(AuthorSpecifications.idIn(filter.getIds()));
+            }
+            if (filter.getNamePrefix() != null) {
+                conditions.add(AuthorSpecifications.nameStartsWith(filter.getNamePrefix()));
+            }
+            if (filter.getNationality() != null) {
+                conditions.add(AuthorSpecifications.nationality(filter.getNationality()));
+            }
+            if (filter.getBornFrom() != null || filter.getBornTo() != null) {
+                conditions.add(AuthorSpecifications.bornBetween(filter.getBornFrom(), filter.getBornTo()));
+            }
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        Set<AuthorOrder.Field> sortedFields = new HashSet<>();
+        for (AuthorOrder order : orderBy != null ? orderBy : List.<AuthorOrder>of()) {
+            // 같은 필드를 다시 지정하면 먼저 지정한 것만 사용
+            if (!sortedFields.add(order.getField())) {
+                continue;
+            }
+            orders.add(new Sort.Order(order.getDirection(), order.getField().property()));
+        }
+        if (!sortedFields.contains(AuthorOrder.Field.ID)) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        Specification<Author> specification = Specification.allOf(conditions);
+        Sort sort = Sort.by(orders);
+        // nullable 필드로 정렬해도 값이 없는 행을 빼지 않도록 null 을 가장 작은 값으로 비교
+        return NullableKeyset.scroll(authorRepository, specification, sort, position, limit);
     }
 
     @Transactional
     public Author createAuthor(Author author) {
-        if (author.getBirthDate() != null) {
-            author.setBirthDate(parseDateTime(author.getBirthDate().toString()));
+        Author savedAuthor = authorRepository.save(author);
+        authorStatsService.authorsCreated(List.of(savedAuthor.getId()));
+        bookCatalog.putAuthors(List.of(savedAuthor));
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, savedAuthor.getId()));
+        return savedAuthor;
+    }
+
+    // 일괄 생성: 이미 존재하거나 요청 안에서 중복된 이메일은 항목별 오류로 보고 (null 항목은 컨트롤러에서 이미 거부된 입력)
+    @Transactional
+    public BulkResult createAuthors(List<Author> authors) {
+        if (authors.size() > bulkProperties.getMaxItems()) {
+            throw new RuntimeException("Too many items: " + authors.size() + " (max " + bulkProperties.getMaxItems() + ")");
+        }
+        BulkResult result = new BulkResult();
+        Set<String> emails = authors.stream()
+                .filter(author -> author != null && author.getEmail() != null)
+                .map(Author::getEmail)
+                .collect(Collectors.toSet());
+        Set<String> usedEmails = new HashSet<>(Chunks.flatMap(emails, bulkProperties.getBatchSize(), authorRepository::findExistingEmails));
+
+        List<Author> validAuthors = new ArrayList<>();
+        for (int i = 0; i < authors.size(); i++) {
+            Author author = authors.get(i);
+            if (author == null) {
+                continue;
+            }
+            if (author.getEmail() != null && !usedEmails.add(author.getEmail())) {
+                result.addError(i, "Author already exists with email: " + author.getEmail());
+            } else {
+                validAuthors.add(author);
+            }
         }
-        return authorRepository.save(author);
+
+        authorRepository.insertAll(validAuthors, bulkProperties.getBatchSize());
+        validAuthors.forEach(author -> result.getIds().add(author.getId()));
+        authorStatsService.authorsCreated(result.getIds());
+        bookCatalog.putAuthors(validAuthors);
+        validAuthors.forEach(author -> eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, author.getId())));
+        return result;
     }
 
     @Transactional
     public Author updateAuthor(Long id, Author authorDetails) {
         Author author = authorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Author not found with id: " + id));
+        String previousEmail = author.getEmail();
 
         if (authorDetails.getName() != null) {
             author.setName(authorDetails.getName());
@@ -78,30 +243,37 @@ public class AuthorService {
             author.setBio(authorDetails.getBio());
         }
         if (authorDetails.getBirthDate() != null) {
-            author.setBirthDate(parseDateTime(authorDetails.getBirthDate().toString()));
+            author.setBirthDate(authorDetails.getBirthDate());
         }
         if (authorDetails.getNationality() != null) {
             author.setNationality(authorDetails.getNationality());
         }
 
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        entityCaches.evictAuthor(id, Arrays.asList(previousEmail, savedAuthor.getEmail()), bookRepository.findIdsByAuthorId(id));
+        bookCatalog.putAuthors(List.of(savedAuthor));
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, id));
+        return savedAuthor;
     }
 
     @Transactional
     public boolean deleteAuthor(Long id) {
-        if (authorRepository.existsById(id)) {
-            authorRepository.deleteById(id);
+        Optional<Author> author = authorRepository.findById(id);
+        if (author.isPresent()) {
+            // 저자의 도서도 cascade 로 함께 삭제됨
+            List<Long> bookIds = bookRepository.findIdsByAuthorId(id);
+            authorRepository.delete(author.get());
+            authorStatsService.authorDeleted(id);
+            entityCaches.evictAuthor(id, Arrays.asList(author.get().getEmail()), bookIds);
+            entityCaches.evictAuthorBooks(List.of(id));
+            entityCaches.evictBooks(bookIds);
+            bookSearchIndex.remove(bookIds);
+            bookCatalog.removeAuthor(id);
+            bookIds.forEach(bookId -> eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, bookId, Set.of(id))));
+            eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.DELETED, id));
             return true;
         }
         return false;
     }
 
-    private LocalDateTime parseDateTime(String dateTimeStr) {
-        try {
-            return LocalDateTime.parse(dateTimeStr, formatter);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid date format. Please use ISO format (yyyy-MM-ddTHH:mm:ss)");
-        }
-    }
-
 }
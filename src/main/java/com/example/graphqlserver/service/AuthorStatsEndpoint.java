@@ -0,0 +1,25 @@
+package com.example.graphqlserver.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저자 도서 통계를 books 에서 다시 집계하는 관리용 엔드포인트 (POST /actuator/authorstats, 값을 고친 저자 수 반환).
+ * 모든 저자를 묶음마다 잠그고 다시 집계하므로 공개 GraphQL 뮤테이션이 아닌 actuator 로만 제공하고,
+ * management.endpoints.web.exposure.include 에 authorstats 를 넣어야 노출된다.
+ */
+@Component
+@Endpoint(id = "authorstats")
+@RequiredArgsConstructor
+public class AuthorStatsEndpoint {
+
+    private final AuthorStatsService authorStatsService;
+
+    @WriteOperation
+    public int reconcile() {
+        return authorStatsService.reconcile();
+    }
+
+}
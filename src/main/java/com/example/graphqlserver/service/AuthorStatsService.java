@@ -0,0 +1,302 @@
+package com.example.graphqlserver.service;
+
+import com.example.graphqlserver.config.AuthorStatsProperties;
+import com.example.graphqlserver.config.BulkProperties;
+import com.example.graphqlserver.dto.AuthorRanking;
+import com.example.graphqlserver.entity.AuthorStats;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.event.AuthorChangedEvent;
+import com.example.graphqlserver.event.ChangeType;
+import com.example.graphqlserver.repository.AuthorBookAggregate;
+import com.example.graphqlserver.repository.AuthorRepository;
+import com.example.graphqlserver.repository.AuthorStatsRepository;
+import com.example.graphqlserver.support.Chunks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 저자별 도서 통계 (도서 수, 평균 가격, 최근 출간일).
+ * 도서 생성/수정/삭제 트랜잭션 안에서 바뀐 만큼만 갱신하고, 주기적으로 books 에서 다시 집계해 어긋난 행을 고친다.
+ */
+@Slf4j
+@Service
+public class AuthorStatsService {
+
+    private static final Sort byAuthorId = Sort.by("authorId");
+
+    private final AuthorStatsRepository authorStatsRepository;
+    private final AuthorRepository authorRepository;
+    private final AuthorStatsProperties properties;
+    private final BulkProperties bulkProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthorStatsService(AuthorStatsRepository authorStatsRepository, AuthorRepository authorRepository,
+                              AuthorStatsProperties properties, BulkProperties bulkProperties,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.authorStatsRepository = authorStatsRepository;
+        this.authorRepository = authorRepository;
+        this.properties = properties;
+        this.bulkProperties = bulkProperties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 통계에 영향을 주는 도서 값
+    public record BookSnapshot(Long authorId, Double price, LocalDateTime publishedDate) {
+
+        public static BookSnapshot of(Book book) {
+            return new BookSnapshot(book.getAuthor().getId(), book.getPrice(), book.getPublishedDate());
+        }
+    }
+
+    // 새 저자의 빈 통계 행 (첫 도서 추가가 행 잠금으로 갱신할 수 있게 미리 만든다)
+    @Transactional
+    public void authorsCreated(Collection<Long> authorIds) {
+        Chunks.forEach(authorIds, bulkProperties.getBatchSize(), authorStatsRepository::insertEmpty);
+    }
+
+    @Transactional
+    public void authorDeleted(Long authorId) {
+        authorStatsRepository.deleteById(authorId);
+    }
+
+    @Transactional
+    public void booksAdded(Collection<BookSnapshot> books) {
+        apply(List.of(), books);
+    }
+
+    @Transactional
+    public void booksRemoved(Collection<BookSnapshot> books) {
+        apply(books, List.of());
+    }
+
+    // before/after 는 같은 순서의 도서별 변경 전/후 값 (다른 저자로 옮기면 이전 저자에서 빼고 새 저자에 더함)
+    @Transactional
+    public void booksUpdated(List<BookSnapshot> before, List<BookSnapshot> after) {
+        List<BookSnapshot> removed = new ArrayList<>();
+        List<BookSnapshot> added = new ArrayList<>();
+        for (int i = 0; i < before.size(); i++) {
+            if (!before.get(i).equals(after.get(i))) {
+                removed.add(before.get(i));
+                added.add(after.get(i));
+            }
+        }
+        apply(removed, added);
+    }
+
+    // 통계 행이 없는 저자(첫 재계산 전의 기존 데이터)는 books 에서 바로 집계
+    @Transactional(readOnly = true)
+    public Map<Long, AuthorStats> getStatsByAuthorIds(Collection<Long> authorIds) {
+        Map<Long, AuthorStats> statsById = authorStatsRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(AuthorStats::getAuthorId, Function.identity(), (first, second) -> first, HashMap::new));
+        List<Long> missingIds = authorIds.stream().filter(id -> !statsById.containsKey(id)).toList();
+        if (!missingIds.isEmpty()) {
+            Map<Long, AuthorBookAggregate> aggregates = aggregate(missingIds);
+            missingIds.forEach(id -> {
+                AuthorStats stats = new AuthorStats(id);
+                copy(aggregates.get(id), stats);
+                statsById.put(id, stats);
+            });
+        }
+        return statsById;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AuthorStats> getTopAuthors(AuthorRanking by, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        Limit top = Limit.of(Math.min(limit, properties.getMaxTopAuthors()));
+        return switch (by) {
+            case BOOK_COUNT -> authorStatsRepository.findAllBy(top, Sort.by(Sort.Direction.DESC, "bookCount").and(byAuthorId));
+            case AVERAGE_PRICE -> authorStatsRepository.findByAveragePriceNotNull(
+                    top, Sort.by(Sort.Direction.DESC, "averagePrice").and(byAuthorId));
+            case LATEST_PUBLISHED_DATE -> authorStatsRepository.findByLatestPublishedDateNotNull(
+                    top, Sort.by(Sort.Direction.DESC, "latestPublishedDate").and(byAuthorId));
+        };
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${graphql.author-stats.reconcile-interval:6h}")
+    public void reconcileOnSchedule() {
+        if (properties.isReconcileEnabled()) {
+            reconcile();
+        }
+    }
+
+    // 저자 묶음마다 통계 행을 잠근 뒤 books 에서 다시 집계해 다른 값을 고친다 (고친 저자 수)
+    public int reconcile() {
+        int corrected = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> authorIds = authorRepository.findIdsAfter(afterId, Limit.of(properties.getReconcileBatchSize()));
+            if (authorIds.isEmpty()) {
+                break;
+            }
+            corrected += transactionTemplate.execute(status -> reconcileBatch(authorIds));
+            afterId = authorIds.get(authorIds.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(status -> authorStatsRepository.deleteOrphans());
+        if (corrected > 0) {
+            log.warn("Author stats reconciled: {} authors corrected", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileBatch(List<Long> authorIds) {
+        Map<Long, AuthorStats> statsById = lock(authorIds);
+        List<Long> missingIds = authorIds.stream().filter(id -> !statsById.containsKey(id)).toList();
+        if (!missingIds.isEmpty()) {
+            authorStatsRepository.insertEmpty(missingIds);
+            statsById.putAll(lock(missingIds));
+        }
+        // 행을 잠근 뒤 집계하므로 진행 중인 증분 갱신은 이 결과 위에 더해진다
+        Map<Long, AuthorBookAggregate> aggregates = aggregate(authorIds);
+
+        int corrected = 0;
+        for (AuthorStats stats : statsById.values()) {
+            AuthorBookAggregate aggregate = aggregates.get(stats.getAuthorId());
+            if (!matches(stats, aggregate)) {
+                copy(aggregate, stats);
+                // 새로 만든 행은 조회 시 이미 books 에서 집계하던 값이므로 보정으로 치지 않는다
+                if (!missingIds.contains(stats.getAuthorId())) {
+                    corrected++;
+                    eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, stats.getAuthorId()));
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private void apply(Collection<BookSnapshot> removed, Collection<BookSnapshot> added) {
+        // 저자 id 순서로 잠가 교착 방지
+        Map<Long, Delta> deltas = new TreeMap<>();
+        removed.forEach(book -> deltas.computeIfAbsent(book.authorId(), Delta::new).remove(book));
+        added.forEach(book -> deltas.computeIfAbsent(book.authorId(), Delta::new).add(book));
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, AuthorStats> statsById = lock(deltas.keySet());
+        List<AuthorStats> created = new ArrayList<>();
+        for (Delta delta : deltas.values()) {
+            AuthorStats stats = statsById.get(delta.authorId);
+            if (stats == null) {
+                // 첫 재계산 전의 기존 저자, 도서 변경은 이미 flush 되었으므로 집계 결과에 포함됨
+                stats = new AuthorStats(delta.authorId);
+                copy(aggregate(List.of(delta.authorId)).get(delta.authorId), stats);
+                created.add(stats);
+                continue;
+            }
+            applyDelta(stats, delta);
+        }
+        authorStatsRepository.saveAll(created);
+    }
+
+    private void applyDelta(AuthorStats stats, Delta delta) {
+        stats.setBookCount(stats.getBookCount() + delta.bookCount);
+        stats.setPricedBookCount(stats.getPricedBookCount() + delta.pricedBookCount);
+        stats.setPriceSum(stats.getPricedBookCount() > 0 ? stats.getPriceSum() + delta.priceSum : 0);
+        stats.setAveragePrice(average(stats.getPriceSum(), stats.getPricedBookCount()));
+
+        LocalDateTime latest = stats.getLatestPublishedDate();
+        if (delta.latestRemoved != null && latest != null && !delta.latestRemoved.isBefore(latest)) {
+            // 가장 최근 도서가 빠지면 다음 값을 알 수 없으므로 이 저자만 다시 집계
+            stats.setLatestPublishedDate(authorStatsRepository.findLatestPublishedDate(stats.getAuthorId()));
+        } else if (delta.latestAdded != null && (latest == null || delta.latestAdded.isAfter(latest))) {
+            stats.setLatestPublishedDate(delta.latestAdded);
+        }
+    }
+
+    private Map<Long, AuthorStats> lock(Collection<Long> authorIds) {
+        // 정렬된 id 를 순서대로 나눠 잠그므로 잠금 순서는 그대로, 쌓인 변경은 묶음마다가 아니라 한 번만 flush
+        authorStatsRepository.flush();
+        return Chunks.flatMap(authorIds, bulkProperties.getBatchSize(), authorStatsRepository::findAllForUpdate).stream()
+                .collect(Collectors.toMap(AuthorStats::getAuthorId, Function.identity(), (first, second) -> first, HashMap::new));
+    }
+
+    // 도서가 없는 저자도 빈 집계로 채운다
+    private Map<Long, AuthorBookAggregate> aggregate(Collection<Long> authorIds) {
+        Map<Long, AuthorBookAggregate> aggregates = authorStatsRepository.aggregateByAuthorIds(authorIds).stream()
+                .collect(Collectors.toMap(AuthorBookAggregate::authorId, Function.identity()));
+        authorIds.forEach(id -> aggregates.putIfAbsent(id, AuthorBookAggregate.empty(id)));
+        return aggregates;
+    }
+
+    private static void copy(AuthorBookAggregate aggregate, AuthorStats stats) {
+        stats.setBookCount(aggregate.bookCount());
+        stats.setPricedBookCount(aggregate.pricedBookCount());
+        stats.setPriceSum(aggregate.priceSum() != null ? aggregate.priceSum() : 0);
+        stats.setAveragePrice(average(stats.getPriceSum(), stats.getPricedBookCount()));
+        stats.setLatestPublishedDate(aggregate.latestPublishedDate());
+    }
+
+    // 가격 합계는 증분 갱신 중 부동소수점 오차가 쌓일 수 있으므로 상대 오차로 비교
+    private static boolean matches(AuthorStats stats, AuthorBookAggregate aggregate) {
+        double priceSum = aggregate.priceSum() != null ? aggregate.priceSum() : 0;
+        return stats.getBookCount() == aggregate.bookCount()
+                && stats.getPricedBookCount() == aggregate.pricedBookCount()
+                && Math.abs(stats.getPriceSum() - priceSum) <= 1e-9 * Math.max(1, Math.abs(priceSum))
+                && Objects.equals(stats.getLatestPublishedDate(), aggregate.latestPublishedDate());
+    }
+
+    private static Double average(double priceSum, long pricedBookCount) {
+        return pricedBookCount > 0 ? priceSum / pricedBookCount : null;
+    }
+
+    // 한 트랜잭션 안에서 저자 한 명에게 생긴 변화량
+    private static final class Delta {
+
+        private final Long authorId;
+        private long bookCount;
+        private long pricedBookCount;
+        private double priceSum;
+        private LocalDateTime latestAdded;
+        private LocalDateTime latestRemoved;
+
+        Delta(Long authorId) {
+            this.authorId = authorId;
+        }
+
+        void add(BookSnapshot book) {
+            bookCount++;
+            if (book.price() != null) {
+                pricedBookCount++;
+                priceSum += book.price();
+            }
+            latestAdded = later(latestAdded, book.publishedDate());
+        }
+
+        void remove(BookSnapshot book) {
+            bookCount--;
+            if (book.price() != null) {
+                pricedBookCount--;
+                priceSum -= book.price();
+            }
+            latestRemoved = later(latestRemoved, book.publishedDate());
+        }
+
+        private static LocalDateTime later(LocalDateTime current, LocalDateTime candidate) {
+            return current == null || (candidate != null && candidate.isAfter(current)) ? candidate : current;
+        }
+    }
+
+}
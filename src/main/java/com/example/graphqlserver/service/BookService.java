@@ -1,18 +1,55 @@
 package com.example.graphqlserver.service;
 
+import com.example.graphqlserver.cache.EntityCaches;
+import com.example.graphqlserver.catalog.BookCatalog;
+import com.example.graphqlserver.config.BulkProperties;
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.config.StreamingProperties;
+import com.example.graphqlserver.datasource.StreamingFetchSize;
+import com.example.graphqlserver.dto.BookFilter;
+import com.example.graphqlserver.dto.BookOrder;
+import com.example.graphqlserver.dto.BulkResult;
 import com.example.graphqlserver.entity.Author;
 import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.event.BookChangedEvent;
+import com.example.graphqlserver.event.ChangeType;
 import com.example.graphqlserver.repository.AuthorRepository;
 import com.example.graphqlserver.repository.BookRepository;
+import com.example.graphqlserver.repository.NullableKeyset;
+import com.example.graphqlserver.repository.BookSpecifications;
+import com.example.graphqlserver.search.BookSearchIndex;
+import com.example.graphqlserver.search.BookSearchIndex.SearchHit;
+import com.example.graphqlserver.service.AuthorStatsService.BookSnapshot;
+import com.example.graphqlserver.support.Chunks;
+import com.example.graphqlserver.support.FieldSelection;
+import com.example.graphqlserver.support.SingleFlight;
+import com.example.graphqlserver.support.TransactionalFlux;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,81 +58,439 @@ public class BookService {
 
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private final AuthorService authorService;
+    private final AuthorStatsService authorStatsService;
+    private final EntityCaches entityCaches;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCatalog bookCatalog;
+    private final BulkProperties bulkProperties;
+    private final StreamingProperties streamingProperties;
+    private final StreamingFetchSize streamingFetchSize;
+    private final TransactionalFlux transactionalFlux;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final Sort idOrder = Sort.by("id");
+    private static final Sort priceOrder = Sort.by("price", "id");
 
+    // 선택된 필드의 컬럼만 조회 (분리된 부분 객체라 캐시하거나 수정하지 않는다)
     @Transactional(readOnly = true)
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    @SingleFlight
+    public List<Book> getAllBooks(FieldSelection selection) {
+        return bookRepository.findAllProjected(selection);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.BOOKS, key = "#id", unless = "#result == null")
     public Optional<Book> getBookById(Long id) {
         return bookRepository.findById(id);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return bookRepository.findByIsbn(isbn);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
     public List<Book> getBooksByTitle(String title) {
-        return bookRepository.findByTitleContainingIgnoreCase(title);
+        if (bookSearchIndex.isReady()) {
+            return findAllInOrder(bookSearchIndex.search(title, true));
+        }
+        return rankInOrder(bookRepository.findByTitleContainingIgnoreCase(title), title, true);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.BOOKS_BY_AUTHOR, key = "#authorId")
     public List<Book> getBooksByAuthorId(Long authorId) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByAuthorId(authorId);
+        }
         return bookRepository.findByAuthorId(authorId);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Book> getBooksByPriceRange(Double minPrice, Double maxPrice) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByPriceBetween(minPrice, maxPrice);
+        }
         return bookRepository.findByPriceBetween(minPrice, maxPrice);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Book> searchBooks(String keyword) {
-        return bookRepository.searchByKeyword(keyword);
+        if (bookSearchIndex.isReady()) {
+            return findAllInOrder(bookSearchIndex.search(keyword, false));
+        }
+        return rankInOrder(bookRepository.searchByKeyword(keyword), keyword, false);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
+    @Cacheable(cacheNames = EntityCaches.BOOKS_WITH_AUTHOR, key = "#id", unless = "#result == null")
     public Optional<Book> getBookWithAuthor(Long id) {
         return bookRepository.findByIdWithAuthor(id);
     }
 
+    // author 가 선택되지 않았으면 저자 join 도 생략
     @Transactional(readOnly = true)
-    public List<Book> getBooksWithAuthors() {
-        return bookRepository.findAllWithAuthor();
+    @SingleFlight
+    public List<Book> getBooksWithAuthors(FieldSelection selection) {
+        return bookRepository.findAllProjected(selection);
+    }
+
+    // 전체 목록을 fetchSize 행씩 읽어 한 건씩 내보낸다 (구독자가 요청한 만큼만 읽음)
+    public Flux<Book> streamBooksWithAuthors(FieldSelection selection) {
+        return transactionalFlux.readOnly("book-stream",
+                () -> bookRepository.streamProjected(selection, streamingFetchSize.of(streamingProperties.getFetchSize())));
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Book> getBooksByAuthorName(String authorName) {
         return bookRepository.findByAuthorName(authorName);
     }
 
     @Transactional(readOnly = true)
+    @SingleFlight
     public List<Book> getBooksByAuthorNationality(String nationality) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByAuthorNationality(nationality);
+        }
         return bookRepository.findByAuthorNationality(nationality);
     }
 
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Map<Long, List<Book>> getBooksByAuthorIds(Collection<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            return Map.of();
+        }
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByAuthorIds(authorIds);
+        }
+        return bookRepository.findByAuthorIdIn(authorIds).stream()
+                .collect(Collectors.groupingBy(book -> book.getAuthor().getId()));
+    }
+
+    // keyset 페이지네이션
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getAllBooks(KeysetScrollPosition position, Limit limit) {
+        return bookRepository.findAllBy(position, limit, idOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooksByTitle(String title, KeysetScrollPosition position, Limit limit) {
+        if (bookSearchIndex.isReady()) {
+            return rankedWindow(bookSearchIndex.search(title, true), position, limit, this::findAllInOrder);
+        }
+        List<Book> matches = bookRepository.findByTitleContainingIgnoreCase(title);
+        return rankedWindow(BookSearchIndex.rank(matches, title, true), position, limit, inOrder(matches));
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooksByAuthorId(Long authorId, KeysetScrollPosition position, Limit limit) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByAuthorId(authorId, position, limit);
+        }
+        return bookRepository.findByAuthorId(authorId, position, limit, idOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooksByPriceRange(Double minPrice, Double maxPrice, KeysetScrollPosition position, Limit limit) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByPriceBetween(minPrice, maxPrice, position, limit);
+        }
+        return bookRepository.findByPriceBetween(minPrice, maxPrice, position, limit, priceOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> searchBooks(String keyword, KeysetScrollPosition position, Limit limit) {
+        if (bookSearchIndex.isReady()) {
+            return rankedWindow(bookSearchIndex.search(keyword, false), position, limit, this::findAllInOrder);
+        }
+        List<Book> matches = bookRepository.searchByKeyword(keyword);
+        return rankedWindow(BookSearchIndex.rank(matches, keyword, false), position, limit, inOrder(matches));
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooksByAuthorName(String authorName, KeysetScrollPosition position, Limit limit) {
+        return bookRepository.findByAuthorName(authorName, position, limit, idOrder);
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooksByAuthorNationality(String nationality, KeysetScrollPosition position, Limit limit) {
+        if (bookCatalog.isReady()) {
+            return bookCatalog.findByAuthorNationality(nationality, position, limit);
+        }
+        return bookRepository.findByAuthorNationality(nationality, position, limit, idOrder);
+    }
+
+    // 조건과 정렬을 하나의 쿼리로 (정렬 끝에 id 를 붙여 keyset 커서가 항상 한 행을 가리키도록)
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Window<Book> getBooks(BookFilter filter, List<BookOrder> orderBy, KeysetScrollPosition position, Limit limit) {
+        List<Specification<Book>> conditions = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                conditions.add(BookSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()));
+            }
+            if (filter.getMinPageCount() != null || filter.getMaxPageCount() != null) {
+                conditions.add(BookSpecifications.pageCountBetween(filter.getMinPageCount(), filter.getMaxPageCount()));
+            }
+            if (filter.getPublishedFrom() != null || filter.getPublishedTo() != null) {
+                conditions.add(BookSpecifications.publishedBetween(filter.getPublishedFrom(), filter.getPublishedTo()));
+            }
+            if (filter.getAuthorNationality() != null) {
+                conditions.add(BookSpecifications.authorNationality(filter.getAuthorNationality()));
+            }
+            if (filter.getAuthorIds() != null) {
+                conditions.add(BookSpecifications.authorIdIn(filter.getAuthorIds()));
+            }
+            if (filter.getTitlePrefix() != null) {
+                conditions.add(BookSpecifications.titleStartsWith(filter.getTitlePrefix()));
+            }
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        Set<BookOrder.Field> sortedFields = new HashSet<>();
+        for (BookOrder order : orderBy != null ? orderBy : List.<BookOrder>of()) {
+            // 같은 필드를 다시 지정하면 먼저 지정한 것만 사용
+            if (!sortedFields.add(order.getField())) {
+                continue;
+            }
+            orders.add(new Sort.Order(order.getDirection(), order.getField().property()));
+        }
+        if (!sortedFields.contains(BookOrder.Field.ID)) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        Specification<Book> specification = Specification.allOf(conditions);
+        Sort sort = Sort.by(orders);
+        // nullable 필드로 정렬해도 값이 없는 행을 빼지 않도록 null 을 가장 작은 값으로 비교
+        return NullableKeyset.scroll(bookRepository, specification, sort, position, limit);
+    }
+
     @Transactional
     public Book createBook(Book book) {
         if (book.getAuthor() == null || book.getAuthor().getId() == null) {
             throw new RuntimeException("Author ID is required");
         }
 
-        Author author = authorRepository.findById(book.getAuthor().getId())
+        Author author = authorService.getAuthorById(book.getAuthor().getId())
                 .orElseThrow(() -> new RuntimeException("Author not found with id: " + book.getAuthor().getId()));
+        checkIsbnAvailable(book.getIsbn());
 
         book.setAuthor(author);
 
-        if (book.getPublishedDate() != null) {
-            book.setPublishedDate(parseDateTime(book.getPublishedDate().toString()));
-        }
-
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        authorStatsService.booksAdded(List.of(BookSnapshot.of(savedBook)));
+        entityCaches.evictAuthorBooks(List.of(author.getId()));
+        bookSearchIndex.index(savedBook);
+        bookCatalog.put(savedBook);
+        publishBookChanged(ChangeType.CREATED, savedBook.getId(), author.getId());
+        return savedBook;
     }
 
     @Transactional
     public Book updateBook(Long id, Book bookDetails) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
+        Long previousAuthorId = book.getAuthor().getId();
+        BookSnapshot before = BookSnapshot.of(book);
+        if (isbnChanged(book, bookDetails)) {
+            checkIsbnAvailable(bookDetails.getIsbn());
+        }
 
+        copyChanges(book, bookDetails);
+        if (bookDetails.getAuthor() != null && bookDetails.getAuthor().getId() != null) {
+            Author author = authorService.getAuthorById(bookDetails.getAuthor().getId())
+                    .orElseThrow(() -> new RuntimeException("Author not found with id: " + bookDetails.getAuthor().getId()));
+            book.setAuthor(author);
+        }
+
+        Book savedBook = bookRepository.save(book);
+        authorStatsService.booksUpdated(List.of(before), List.of(BookSnapshot.of(savedBook)));
+        entityCaches.evictBooks(List.of(id));
+        entityCaches.evictAuthorBooks(List.of(previousAuthorId, savedBook.getAuthor().getId()));
+        bookSearchIndex.index(savedBook);
+        bookCatalog.put(savedBook);
+        publishBookChanged(ChangeType.UPDATED, id, previousAuthorId, savedBook.getAuthor().getId());
+        return savedBook;
+    }
+
+    @Transactional
+    public boolean deleteBook(Long id) {
+        Optional<Book> book = bookRepository.findById(id);
+        if (book.isPresent()) {
+            bookRepository.delete(book.get());
+            authorStatsService.booksRemoved(List.of(BookSnapshot.of(book.get())));
+            entityCaches.evictBooks(List.of(id));
+            entityCaches.evictAuthorBooks(List.of(book.get().getAuthor().getId()));
+            bookSearchIndex.remove(List.of(id));
+            bookCatalog.remove(List.of(id));
+            publishBookChanged(ChangeType.DELETED, id, book.get().getAuthor().getId());
+            return true;
+        }
+        return false;
+    }
+
+    // 일괄 처리: 항목별로 검증해 실패한 항목은 errors 에 담고 나머지만 반영 (null 항목은 컨트롤러에서 이미 거부된 입력)
+    @Transactional
+    public BulkResult createBooks(List<Book> books) {
+        checkBulkSize(books.size());
+        BulkResult result = new BulkResult();
+        Set<Long> existingAuthorIds = existingAuthorIds(books);
+        Set<String> isbns = books.stream()
+                .filter(book -> book != null && book.getIsbn() != null)
+                .map(Book::getIsbn)
+                .collect(Collectors.toSet());
+        Set<String> usedIsbns = new HashSet<>(Chunks.flatMap(isbns, bulkProperties.getBatchSize(), bookRepository::findExistingIsbns));
+
+        List<Book> validBooks = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            if (book == null) {
+                continue;
+            }
+            if (book.getAuthor() == null || book.getAuthor().getId() == null) {
+                result.addError(i, "Author ID is required");
+            } else if (!existingAuthorIds.contains(book.getAuthor().getId())) {
+                result.addError(i, "Author not found with id: " + book.getAuthor().getId());
+            } else if (!usedIsbns.add(book.getIsbn())) {
+                result.addError(i, "Book already exists with isbn: " + book.getIsbn());
+            } else {
+                validBooks.add(book);
+            }
+        }
+
+        bookRepository.insertAll(validBooks, bulkProperties.getBatchSize());
+        validBooks.forEach(book -> result.getIds().add(book.getId()));
+        authorStatsService.booksAdded(validBooks.stream().map(BookSnapshot::of).toList());
+        entityCaches.evictAuthorBooks(validBooks.stream().map(book -> book.getAuthor().getId()).collect(Collectors.toSet()));
+        bookSearchIndex.indexAll(validBooks);
+        bookCatalog.putAll(validBooks);
+        validBooks.forEach(book -> publishBookChanged(ChangeType.CREATED, book.getId(), book.getAuthor().getId()));
+        return result;
+    }
+
+    @Transactional
+    public BulkResult updateBooks(List<Book> bookDetailsList) {
+        checkBulkSize(bookDetailsList.size());
+        BulkResult result = new BulkResult();
+        List<Long> ids = bookDetailsList.stream().filter(Objects::nonNull).map(Book::getId).toList();
+        Map<Long, Book> booksById = Chunks.flatMap(ids, bulkProperties.getBatchSize(), bookRepository::findAllByIdIn).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Set<Long> existingAuthorIds = existingAuthorIds(bookDetailsList);
+        // 바꾸려는 ISBN 중 이미 쓰이는 것 (다른 도서가 같은 요청에서 내놓는 ISBN 도 커밋 전에는 쓰이는 것으로 본다)
+        Set<String> isbns = bookDetailsList.stream()
+                .filter(bookDetails -> bookDetails != null && isbnChanged(booksById.get(bookDetails.getId()), bookDetails))
+                .map(Book::getIsbn)
+                .collect(Collectors.toSet());
+        Set<String> usedIsbns = new HashSet<>(Chunks.flatMap(isbns, bulkProperties.getBatchSize(), bookRepository::findExistingIsbns));
+
+        Set<Long> changedAuthorIds = new HashSet<>();
+        Set<Book> updatedBooks = new LinkedHashSet<>();
+        List<BookSnapshot> before = new ArrayList<>();
+        List<BookSnapshot> after = new ArrayList<>();
+        for (int i = 0; i < bookDetailsList.size(); i++) {
+            Book bookDetails = bookDetailsList.get(i);
+            if (bookDetails == null) {
+                continue;
+            }
+            Book book = booksById.get(bookDetails.getId());
+            Long authorId = bookDetails.getAuthor() != null ? bookDetails.getAuthor().getId() : null;
+            if (book == null) {
+                result.addError(i, "Book not found with id: " + bookDetails.getId());
+                continue;
+            }
+            if (authorId != null && !existingAuthorIds.contains(authorId)) {
+                result.addError(i, "Author not found with id: " + authorId);
+                continue;
+            }
+            if (isbnChanged(book, bookDetails) && !usedIsbns.add(bookDetails.getIsbn())) {
+                result.addError(i, "Book already exists with isbn: " + bookDetails.getIsbn());
+                continue;
+            }
+
+            Long previousAuthorId = book.getAuthor().getId();
+            changedAuthorIds.add(previousAuthorId);
+            before.add(BookSnapshot.of(book));
+            copyChanges(book, bookDetails);
+            if (authorId != null) {
+                book.setAuthor(authorRepository.getReferenceById(authorId));
+                changedAuthorIds.add(authorId);
+            }
+            after.add(BookSnapshot.of(book));
+            if (updatedBooks.add(book)) {
+                result.getIds().add(book.getId());
+            }
+            publishBookChanged(ChangeType.UPDATED, book.getId(), previousAuthorId, book.getAuthor().getId());
+        }
+
+        // 변경 감지로 커밋 시 hibernate.jdbc.batch_size 단위로 update 배치 실행
+        authorStatsService.booksUpdated(before, after);
+        entityCaches.evictBooks(result.getIds());
+        entityCaches.evictAuthorBooks(changedAuthorIds);
+        bookSearchIndex.indexAll(updatedBooks);
+        bookCatalog.putAll(updatedBooks);
+        return result;
+    }
+
+    @Transactional
+    public BulkResult deleteBooks(List<Long> ids) {
+        checkBulkSize(ids.size());
+        BulkResult result = new BulkResult();
+        Map<Long, BookSnapshot> snapshotByBookId = Chunks.flatMap(ids, bulkProperties.getBatchSize(), bookRepository::findAllByIdIn).stream()
+                .collect(Collectors.toMap(Book::getId, BookSnapshot::of));
+        Map<Long, Long> authorIdByBookId = snapshotByBookId.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().authorId()));
+
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (!authorIdByBookId.containsKey(ids.get(i))) {
+                result.addError(i, "Book not found with id: " + ids.get(i));
+            } else if (deletedIds.add(ids.get(i))) {
+                result.getIds().add(ids.get(i));
+            }
+        }
+
+        if (!deletedIds.isEmpty()) {
+            Chunks.forEach(deletedIds, bulkProperties.getBatchSize(), bookRepository::deleteAllByIdIn);
+            authorStatsService.booksRemoved(deletedIds.stream().map(snapshotByBookId::get).toList());
+        }
+        entityCaches.evictBooks(deletedIds);
+        entityCaches.evictAuthorBooks(new HashSet<>(authorIdByBookId.values()));
+        bookSearchIndex.remove(deletedIds);
+        bookCatalog.remove(deletedIds);
+        deletedIds.forEach(id -> publishBookChanged(ChangeType.DELETED, id, authorIdByBookId.get(id)));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public List<Book> getBooksByIds(List<Long> ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream().map(booksById::get).filter(Objects::nonNull).toList();
+    }
+
+    // 구독자에게는 커밋 이후 전달됨 (ChangeEventBus)
+    private void publishBookChanged(ChangeType type, Long bookId, Long... authorIds) {
+        eventPublisher.publishEvent(new BookChangedEvent(type, bookId, Set.copyOf(Arrays.asList(authorIds))));
+    }
+
+    private void copyChanges(Book book, Book bookDetails) {
         if (bookDetails.getTitle() != null) {
             book.setTitle(bookDetails.getTitle());
         }
@@ -112,32 +507,95 @@ public class BookService {
             book.setPageCount(bookDetails.getPageCount());
         }
         if (bookDetails.getPublishedDate() != null) {
-            book.setPublishedDate(parseDateTime(bookDetails.getPublishedDate().toString()));
+            book.setPublishedDate(bookDetails.getPublishedDate());
         }
-        if (bookDetails.getAuthor() != null && bookDetails.getAuthor().getId() != null) {
-            Author author = authorRepository.findById(bookDetails.getAuthor().getId())
-                    .orElseThrow(() -> new RuntimeException("Author not found with id: " + bookDetails.getAuthor().getId()));
-            book.setAuthor(author);
+    }
+
+    // uk_books_isbn 위반을 커밋 시 INTERNAL_ERROR 대신 입력 오류(BAD_REQUEST)로
+    private void checkIsbnAvailable(String isbn) {
+        if (isbn != null && bookRepository.existsByIsbn(isbn)) {
+            throw new DuplicateIsbnException(isbn);
         }
+    }
 
-        return bookRepository.save(book);
+    private static boolean isbnChanged(Book book, Book bookDetails) {
+        return book != null && bookDetails.getIsbn() != null && !bookDetails.getIsbn().equals(book.getIsbn());
     }
 
-    @Transactional
-    public boolean deleteBook(Long id) {
-        if (bookRepository.existsById(id)) {
-            bookRepository.deleteById(id);
-            return true;
+    private Set<Long> existingAuthorIds(List<Book> books) {
+        Set<Long> authorIds = books.stream()
+                .filter(book -> book != null && book.getAuthor() != null && book.getAuthor().getId() != null)
+                .map(book -> book.getAuthor().getId())
+                .collect(Collectors.toSet());
+        return new HashSet<>(Chunks.flatMap(authorIds, bulkProperties.getBatchSize(), authorRepository::findExistingIds));
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > bulkProperties.getMaxItems()) {
+            throw new RuntimeException("Too many items: " + size + " (max " + bulkProperties.getMaxItems() + ")");
         }
-        return false;
     }
 
-    private LocalDateTime parseDateTime(String dateTimeStr) {
-        try {
-            return LocalDateTime.parse(dateTimeStr, formatter);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid date format. Please use ISO format (yyyy-MM-ddTHH:mm:ss)");
+    // 검색 결과 순서를 유지한 채 도서 로딩
+    private List<Book> findAllInOrder(List<SearchHit> hits) {
+        return getBooksByIds(hits.stream().map(SearchHit::id).toList());
+    }
+
+    // 색인이 준비되지 않았을 때: DB LIKE 결과를 색인과 같은 관련도 순으로
+    private static List<Book> rankInOrder(List<Book> matches, String keyword, boolean titleOnly) {
+        return inOrder(matches).apply(BookSearchIndex.rank(matches, keyword, titleOnly));
+    }
+
+    private static Function<List<SearchHit>, List<Book>> inOrder(List<Book> books) {
+        Map<Long, Book> byId = books.stream().collect(Collectors.toMap(Book::getId, Function.identity()));
+        return hits -> hits.stream().map(hit -> byId.get(hit.id())).toList();
+    }
+
+    // 관련도 순 검색 결과를 (score, id) keyset 으로 페이징
+    private Window<Book> rankedWindow(List<SearchHit> hits, KeysetScrollPosition position, Limit limit,
+                                      Function<List<SearchHit>, List<Book>> loader) {
+        int size = limit.isLimited() ? limit.max() : hits.size();
+        int from;
+        int to;
+        if (position.scrollsForward()) {
+            from = position.isInitial() ? 0 : indexOf(hits, position, false);
+            to = Math.min(from + size, hits.size());
+        } else {
+            to = position.isInitial() ? hits.size() : indexOf(hits, position, true);
+            from = Math.max(0, to - size);
+        }
+
+        List<SearchHit> page = hits.subList(from, to);
+        Map<Long, Integer> scores = page.stream().collect(Collectors.toMap(SearchHit::id, SearchHit::score));
+        List<Book> books = loader.apply(page);
+        boolean hasNext = position.scrollsForward() ? to < hits.size() : from > 0;
+        return Window.from(books, i -> ScrollPosition.of(
+                Map.of("score", scores.get(books.get(i).getId()), "id", books.get(i).getId()), position.getDirection()), hasNext);
+    }
+
+    // 커서 위치 바로 다음(inclusive=false) 또는 커서 위치(inclusive=true)의 인덱스
+    private int indexOf(List<SearchHit> hits, KeysetScrollPosition position, boolean inclusive) {
+        if (!(position.getKeys().get("score") instanceof Number score) || !(position.getKeys().get("id") instanceof Number id)) {
+            throw new PaginationProperties.InvalidPaginationArgumentException("Invalid cursor");
+        }
+        for (int i = 0; i < hits.size(); i++) {
+            SearchHit hit = hits.get(i);
+            int compared = hit.score() != score.intValue()
+                    ? Integer.compare(score.intValue(), hit.score())
+                    : Long.compare(hit.id(), id.longValue());
+            if (inclusive ? compared >= 0 : compared > 0) {
+                return i;
+            }
         }
+        return hits.size();
+    }
+
+    public static class DuplicateIsbnException extends RuntimeException {
+
+        DuplicateIsbnException(String isbn) {
+            super("Book already exists with isbn: " + isbn);
+        }
+
     }
 
 }
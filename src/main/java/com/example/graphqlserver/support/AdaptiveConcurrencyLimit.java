@@ -0,0 +1,94 @@
+package com.example.graphqlserver.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관측한 지연으로 동시 실행 한도를 조절한다 (Netflix concurrency-limits 의 Gradient2 방식).
+ * 최근 지연(짧은 EWMA)이 기준 지연(긴 EWMA)보다 길어지면 그 비율만큼 한도를 줄이고, 그렇지 않으면 sqrt(한도) 만큼 늘린다.
+ * 타임아웃/오류는 한도를 곧바로 10% 줄인다. 한도를 넘는 요청은 기다리지 않고 바로 거절하도록 tryAcquire 는 대기하지 않는다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit range: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.0, smoothing));
+        this.estimatedLimit = clamp(initialLimit);
+    }
+
+    // 실행 중인 수 + permits 가 cap 이하일 때만 자리 permits 개를 얻는다 (반환값은 자리를 얻기 전 실행 중이던 수, 실패하면 -1)
+    // 호출하는 쪽은 permits 를 cap 이하로 맞춘다 (더 크면 얻을 수 없음)
+    public int tryAcquire(int cap, int permits) {
+        while (true) {
+            int current = inFlight.get();
+            if (current + permits > cap) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + permits)) {
+                return current;
+            }
+        }
+    }
+
+    // 요청이 끝나면 얻은 permits 로 한 번 호출. dropped 는 타임아웃/오류로 끝난 요청
+    public void release(long rttNanos, int inFlightAtStart, int permits, boolean dropped) {
+        inFlight.addAndGet(-permits);
+        update(rttNanos, inFlightAtStart, dropped);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = clamp(estimatedLimit * 0.9);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        } else {
+            shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+            longRtt += (rtt - longRtt) * LONG_ALPHA;
+        }
+        // 부하가 줄어 지연이 크게 내려가면 기준 지연도 빨리 따라 내려가게
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // 한도의 절반도 쓰지 않는 동안은 지연이 한도와 무관하므로 늘리지 않음
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
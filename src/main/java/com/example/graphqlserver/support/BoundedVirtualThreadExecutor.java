@@ -0,0 +1,40 @@
+package com.example.graphqlserver.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업마다 가상 스레드를 만들되 동시에 실행되는 작업 수를 제한하는 Executor.
+ * 허가는 새 가상 스레드 안에서 기다리므로 작업을 제출한 스레드(graphql-java 디스패치)는 막히지 않는다.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.threadFactory = Thread.ofVirtual().name(namePrefix, 0).factory();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threadFactory.newThread(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.graphqlserver.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 큰 IN 목록을 나눠 실행 (MySQL prepared statement 는 자리표시자 65535 개가 한도)
+public final class Chunks {
+
+    private Chunks() {
+    }
+
+    // size 개씩 나눠 조회한 결과를 순서대로 합친다
+    public static <T, R> List<R> flatMap(Collection<T> values, int size, Function<List<T>, ? extends Collection<? extends R>> query) {
+        List<R> results = new ArrayList<>();
+        forEach(values, size, chunk -> results.addAll(query.apply(chunk)));
+        return results;
+    }
+
+    // 입력 순서를 유지한 채 size 개씩 실행 (빈 목록이면 실행하지 않음)
+    public static <T> void forEach(Collection<T> values, int size, Consumer<List<T>> action) {
+        List<T> list = values instanceof List<T> l ? l : new ArrayList<>(values);
+        for (int from = 0; from < list.size(); from += size) {
+            action.accept(list.subList(from, Math.min(from + size, list.size())));
+        }
+    }
+
+}
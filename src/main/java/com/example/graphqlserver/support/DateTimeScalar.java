@@ -0,0 +1,84 @@
+package com.example.graphqlserver.support;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * DateTime 스칼라 (ISO 로컬 날짜/시간 문자열, 예: 2023-12-31T15:30:00).
+ * 입력은 DateTimes 로 한 번만 파싱해 컨트롤러/서비스가 LocalDateTime 을 그대로 받는다.
+ * 출력은 스칼라 계약대로 결과에 문자열을 넣어 응답 writer, 구독, 캐시된 결과 어디서 읽어도 같은 모양이다.
+ */
+public final class DateTimeScalar {
+
+    public static final GraphQLScalarType INSTANCE = GraphQLScalarType.newScalar()
+            .name("DateTime")
+            .description("ISO-8601 local date-time (yyyy-MM-ddTHH:mm:ss)")
+            .coercing(new DateTimeCoercing())
+            .build();
+
+    private DateTimeScalar() {
+    }
+
+    private static final class DateTimeCoercing implements Coercing<LocalDateTime, String> {
+
+        @Override
+        public String serialize(Object value, GraphQLContext context, Locale locale) {
+            if (value instanceof LocalDateTime dateTime) {
+                return DateTimes.format(dateTime);
+            }
+            // 문자열은 형식을 확인하고 같은 모양으로 맞춘다
+            if (value instanceof String text) {
+                try {
+                    return DateTimes.format(DateTimes.parse(text));
+                } catch (DateTimeException e) {
+                    throw new CoercingSerializeException(DateTimes.INVALID_FORMAT_MESSAGE, e);
+                }
+            }
+            throw new CoercingSerializeException("Expected a LocalDateTime but was " + value.getClass().getSimpleName());
+        }
+
+        @Override
+        public LocalDateTime parseValue(Object input, GraphQLContext context, Locale locale) {
+            if (input instanceof LocalDateTime dateTime) {
+                return dateTime;
+            }
+            if (input instanceof String text) {
+                try {
+                    return DateTimes.parse(text);
+                } catch (DateTimeException e) {
+                    throw new CoercingParseValueException(DateTimes.INVALID_FORMAT_MESSAGE, e);
+                }
+            }
+            throw new CoercingParseValueException(DateTimes.INVALID_FORMAT_MESSAGE);
+        }
+
+        @Override
+        public LocalDateTime parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext context, Locale locale) {
+            if (input instanceof StringValue text) {
+                try {
+                    return DateTimes.parse(text.getValue());
+                } catch (DateTimeException e) {
+                    throw new CoercingParseLiteralException(DateTimes.INVALID_FORMAT_MESSAGE, e);
+                }
+            }
+            throw new CoercingParseLiteralException(DateTimes.INVALID_FORMAT_MESSAGE);
+        }
+
+        @Override
+        public Value<?> valueToLiteral(Object input, GraphQLContext context, Locale locale) {
+            return StringValue.of(DateTimes.format(parseValue(input, context, locale)));
+        }
+    }
+
+}
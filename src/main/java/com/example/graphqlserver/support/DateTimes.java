@@ -0,0 +1,109 @@
+package com.example.graphqlserver.support;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ISO 로컬 날짜/시간 (yyyy-MM-ddTHH:mm[:ss[.fraction]]) 파싱과 출력.
+ * 흔한 모양(4자리 연도)은 DateTimeFormatter 없이 문자를 직접 읽고 쓰며, 그 밖의 입력은 DateTimeFormatter 에 맡기므로
+ * 결과와 오류는 ISO_LOCAL_DATE_TIME 과 같다 (출력은 초를 항상, 소수점 이하는 끝의 0 을 뺀 자릿수만).
+ */
+public final class DateTimes {
+
+    public static final String INVALID_FORMAT_MESSAGE = "Invalid date format. Please use ISO format (yyyy-MM-ddTHH:mm:ss)";
+
+    // format(value, buffer) 에 필요한 버퍼 길이 (+999999999-12-31T23:59:59.999999999)
+    public static final int MAX_LENGTH = 35;
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private DateTimes() {
+    }
+
+    // 잘못된 입력은 DateTimeException
+    public static LocalDateTime parse(CharSequence text) {
+        int length = text.length();
+        boolean canonical = (length == 16 || length == 19 || (length >= 21 && length <= 29))
+                && text.charAt(4) == '-' && text.charAt(7) == '-'
+                && (text.charAt(10) == 'T' || text.charAt(10) == 't') && text.charAt(13) == ':'
+                && (length == 16 || text.charAt(16) == ':')
+                && (length <= 19 || text.charAt(19) == '.');
+        if (canonical) {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            int hour = digits(text, 11, 13);
+            int minute = digits(text, 14, 16);
+            int second = length > 16 ? digits(text, 17, 19) : 0;
+            int nano = 0;
+            if (length > 20) {
+                nano = digits(text, 20, length);
+                for (int i = length; i < 29; i++) {
+                    nano *= 10;
+                }
+            }
+            if ((year | month | day | hour | minute | second | nano) >= 0) {
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+        return LocalDateTime.parse(text, formatter);
+    }
+
+    public static String format(LocalDateTime value) {
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, format(value, buffer));
+    }
+
+    // buffer 앞부분에 쓰고 길이를 돌려준다 (내보내기 writer 가 문자열 없이 바로 쓰도록)
+    public static int format(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            String text = formatter.format(value);
+            text.getChars(0, text.length(), buffer, 0);
+            return text.length();
+        }
+        write(buffer, 0, year, 4);
+        buffer[4] = '-';
+        write(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        write(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        write(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        write(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        write(buffer, 17, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        write(buffer, 20, nano, 9);
+        int length = 29;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    // 숫자가 아니면 -1
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void write(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.example.graphqlserver.support;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GraphQL 선택 필드 트리 (같은 필드를 별칭으로 여러 번 선택하면 하위 선택을 합친다).
+ * 리포지토리가 graphql-java 타입에 의존하지 않도록 필드 이름만 담는다.
+ */
+public record FieldSelection(Set<String> fields, Map<String, FieldSelection> nested) {
+
+    private static final FieldSelection EMPTY = new FieldSelection(Set.of(), Map.of());
+
+    public static FieldSelection of(DataFetchingFieldSelectionSet selectionSet) {
+        return of(selectionSet.getImmediateFields());
+    }
+
+    private static FieldSelection of(List<SelectedField> selectedFields) {
+        Set<String> fields = new HashSet<>();
+        Map<String, FieldSelection> nested = new HashMap<>();
+        for (SelectedField field : selectedFields) {
+            fields.add(field.getName());
+            List<SelectedField> children = field.getSelectionSet().getImmediateFields();
+            if (!children.isEmpty()) {
+                nested.merge(field.getName(), of(children), FieldSelection::merge);
+            }
+        }
+        return new FieldSelection(fields, nested);
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    public FieldSelection nested(String field) {
+        return nested.getOrDefault(field, EMPTY);
+    }
+
+    private FieldSelection merge(FieldSelection other) {
+        Set<String> mergedFields = new HashSet<>(fields);
+        mergedFields.addAll(other.fields);
+        Map<String, FieldSelection> mergedNested = new HashMap<>(nested);
+        other.nested.forEach((name, selection) -> mergedNested.merge(name, selection, FieldSelection::merge));
+        return new FieldSelection(mergedFields, mergedNested);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.graphqlserver.support;
+
+import org.springframework.util.StreamUtils;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL 결과(Map/List/스칼라 값 트리)를 JsonGenerator 로 출력 스트림에 바로 쓴다.
+ * Jackson 의 일반 Map 직렬화처럼 값마다 직렬화기를 찾지 않고 결과에 나오는 타입만 직접 쓰며,
+ * 그 밖의 타입만 JsonMapper 에 맡긴다.
+ */
+public final class GraphQlJsonWriter {
+
+    private final JsonMapper jsonMapper;
+    private final JsonGenerator generator;
+
+    private GraphQlJsonWriter(JsonMapper jsonMapper, JsonGenerator generator) {
+        this.jsonMapper = jsonMapper;
+        this.generator = generator;
+    }
+
+    // out 은 닫지 않는다
+    public static void write(JsonMapper jsonMapper, OutputStream out, Map<String, Object> result) {
+        try (JsonGenerator generator = jsonMapper.createGenerator(StreamUtils.nonClosing(out))) {
+            new GraphQlJsonWriter(jsonMapper, generator).writeValue(result);
+        }
+    }
+
+    // 일괄 요청 결과 배열
+    public static void write(JsonMapper jsonMapper, OutputStream out, List<Map<String, Object>> results) {
+        try (JsonGenerator generator = jsonMapper.createGenerator(StreamUtils.nonClosing(out))) {
+            new GraphQlJsonWriter(jsonMapper, generator).writeValue(results);
+        }
+    }
+
+    private void writeValue(Object value) {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String text -> generator.writeString(text);
+            case Map<?, ?> map -> {
+                generator.writeStartObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    generator.writeName(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case Collection<?> values -> {
+                generator.writeStartArray();
+                for (Object element : values) {
+                    writeValue(element);
+                }
+                generator.writeEndArray();
+            }
+            case Integer number -> generator.writeNumber(number);
+            case Long number -> generator.writeNumber(number);
+            case Double number -> generator.writeNumber(number);
+            case Float number -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case BigInteger number -> generator.writeNumber(number);
+            case Boolean bool -> generator.writeBoolean(bool);
+            default -> jsonMapper.writeValue(generator, value);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.graphqlserver.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같은 인자로 동시에 들어온 호출은 먼저 온 호출 하나만 실행하고 나머지는 그 결과(또는 예외)를 함께 받는다.
+ * 캐시 확인 뒤, 트랜잭션 시작 전에 적용되므로 기다리는 호출은 커넥션을 잡지 않는다 (SingleFlightConfig).
+ * 인자는 equals/hashCode 로 비교할 수 있어야 하고, 결과는 호출자끼리 공유되므로 수정하면 안 된다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
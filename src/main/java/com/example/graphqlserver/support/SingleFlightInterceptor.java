@@ -0,0 +1,136 @@
+package com.example.graphqlserver.support;
+
+import com.example.graphqlserver.datasource.RoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @SingleFlight 메서드의 진행 중인 호출을 (메서드, 인자, primary 읽기 여부) 로 묶는다.
+ * 먼저 온 호출(leader)이 취소/인터럽트로 끝나면 기다리던 호출은 그 취소를 물려받지 않고 다시 시도하고,
+ * follower-timeout 안에 끝나지 않으면 더 기다리지 않고 직접 실행한다.
+ */
+public class SingleFlightInterceptor implements MethodInterceptor, MeterBinder {
+
+    // leader 가 취소되어 다시 시도해야 함
+    private static final Object RETRY = new Object();
+    // leader 가 제한 시간 안에 끝나지 않음
+    private static final Object TIMED_OUT = new Object();
+
+    private final long followerTimeoutNanos;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    // read-your-writes 로 primary 에서 읽는 요청은 replica 결과를 공유받지 않도록 따로 묶음
+    private record Key(Method method, List<Object> arguments, boolean primaryReads) {
+    }
+
+    public SingleFlightInterceptor(Duration followerTimeout) {
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // 바깥 트랜잭션 안이면 그 영속성 컨텍스트의 엔티티를 돌려줘야 하므로 묶지 않음
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        Key key = new Key(invocation.getMethod(), Arrays.asList(invocation.getArguments()),
+                RoutingContext.currentReadsFromPrimary());
+        while (true) {
+            CompletableFuture<Object> call = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                count(invocation.getMethod(), "leader");
+                return lead(key, call, invocation);
+            }
+            Object result = await(existing);
+            if (result == TIMED_OUT) {
+                count(invocation.getMethod(), "timed-out");
+                return invocation.proceed();
+            }
+            if (result != RETRY) {
+                count(invocation.getMethod(), "coalesced");
+                return result;
+            }
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object lead(Key key, CompletableFuture<Object> call, MethodInvocation invocation) throws Throwable {
+        try {
+            Object result = invocation.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            if (cancelled(e)) {
+                call.complete(RETRY);
+            } else {
+                call.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> call) throws Throwable {
+        try {
+            return call.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return TIMED_OUT;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            // 기다리던 쪽만 취소 (leader 는 계속 실행)
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an in-flight call");
+        }
+    }
+
+    private static boolean cancelled(Throwable e) {
+        return Thread.currentThread().isInterrupted()
+                || e instanceof CancellationException
+                || e instanceof InterruptedException;
+    }
+
+    private void count(Method method, String role) {
+        MeterRegistry current = registry;
+        if (current == null) {
+            return;
+        }
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        counters.computeIfAbsent(name + ":" + role, ignored -> Counter.builder("graphql.singleflight.calls")
+                        .description("@SingleFlight calls that ran the method (leader), shared an in-flight call (coalesced) or ran it after waiting too long (timed-out)")
+                        .tag("method", name)
+                        .tag("role", role)
+                        .register(current))
+                .increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        registry.gauge("graphql.singleflight.in.flight", this, SingleFlightInterceptor::getInFlightCount);
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.graphqlserver.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트별 토큰 버킷. 요청마다 토큰을 (일괄 요청은 operation 수만큼) 쓰고 초당 rate 개씩 burst 까지 다시 찬다.
+ * 가득 찰 시간 동안 쓰이지 않은 버킷은 새로 만든 것과 같으므로 그만큼 접근이 없으면 버린다.
+ */
+public class TokenBuckets {
+
+    private final Cache<String, Bucket> buckets;
+
+    public TokenBuckets(int maxClients, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    // tokens 개를 쓰면 0, 모자라면 그만큼 찰 때까지 남은 나노초 (burst 보다 많으면 burst 개, 가득 찬 버킷을 통째로 쓴다)
+    public long tryConsume(String client, double rate, int burst, int tokens) {
+        return buckets.get(client, key -> new Bucket(rate, burst)).tryConsume(System.nanoTime(), tokens);
+    }
+
+    private static final class Bucket {
+
+        private final double tokensPerNano;
+        private final int capacity;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double rate, int burst) {
+            this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized long tryConsume(long now, int requested) {
+            int cost = Math.max(1, Math.min(requested, capacity));
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= cost) {
+                tokens -= cost;
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil((cost - tokens) / tokensPerNano) : Long.MAX_VALUE;
+        }
+    }
+
+}
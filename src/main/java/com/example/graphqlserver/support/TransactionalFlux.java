@@ -0,0 +1,98 @@
+package com.example.graphqlserver.support;
+
+import com.example.graphqlserver.config.StreamingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 리포지토리 Stream 을 읽기 전용 트랜잭션 안에서 소비하는 Flux.
+ * 트랜잭션/커서는 스레드에 묶이므로 구독마다 가상 스레드 하나가 열고 닫으며,
+ * 구독자가 요청(request)한 만큼만 다음 행을 읽어 느린 클라이언트 때문에 결과 전체가 메모리에 쌓이지 않는다.
+ * 대신 느린 구독자는 끝날 때까지 커넥션 하나를 잡고 있으므로 동시 스트림 수를 제한하고, 넘으면 바로 오류로 끝낸다.
+ */
+@Component
+public class TransactionalFlux {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore streams;
+    private final int maxConcurrentStreams;
+
+    public TransactionalFlux(PlatformTransactionManager transactionManager, StreamingProperties properties) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxConcurrentStreams = properties.getMaxConcurrentStreams();
+        this.streams = new Semaphore(maxConcurrentStreams);
+    }
+
+    public <T> Flux<T> readOnly(String name, Supplier<Stream<T>> streamSupplier) {
+        return Flux.create(sink -> {
+            if (!streams.tryAcquire()) {
+                sink.error(new TooManyStreamsException(maxConcurrentStreams));
+                return;
+            }
+            Semaphore demand = new Semaphore(0);
+            AtomicBoolean unbounded = new AtomicBoolean();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            sink.onRequest(n -> {
+                if (n == Long.MAX_VALUE) {
+                    unbounded.set(true);
+                    demand.release();
+                } else if (!unbounded.get()) {
+                    demand.release((int) Math.min(n, Integer.MAX_VALUE - demand.availablePermits()));
+                }
+            });
+            sink.onDispose(() -> {
+                cancelled.set(true);
+                demand.release();
+            });
+
+            Thread.ofVirtual().name(name).start(() -> {
+                RuntimeException failure = null;
+                try {
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        try (Stream<T> stream = streamSupplier.get()) {
+                            Iterator<T> iterator = stream.iterator();
+                            // 다음 행을 먼저 확인해 마지막 행 뒤에는 추가 요청 없이 complete 한다
+                            while (!cancelled.get() && iterator.hasNext()) {
+                                if (!unbounded.get()) {
+                                    demand.acquireUninterruptibly();
+                                    if (cancelled.get()) {
+                                        break;
+                                    }
+                                }
+                                sink.next(iterator.next());
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    // 완료 신호 전에 반납해 바로 다시 구독해도 자리가 있게
+                    streams.release();
+                }
+                if (failure == null) {
+                    sink.complete();
+                } else {
+                    sink.error(failure);
+                }
+            });
+        });
+    }
+
+    public static class TooManyStreamsException extends RuntimeException {
+
+        TooManyStreamsException(int maxConcurrentStreams) {
+            super("Too many concurrent streams (max " + maxConcurrentStreams + "), retry later");
+        }
+
+    }
+
+}
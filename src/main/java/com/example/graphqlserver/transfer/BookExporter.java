@@ -0,0 +1,273 @@
+package com.example.graphqlserver.transfer;
+
+import com.example.graphqlserver.config.TransferProperties;
+import com.example.graphqlserver.datasource.StreamingFetchSize;
+import com.example.graphqlserver.support.DateTimes;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 전체 도서를 NDJSON/CSV 로 내보낸다.
+ * 읽기 전용 트랜잭션에서 forward-only 커서로 exportFetchSize 행씩 읽어 엔티티를 만들지 않고 바로 쓰며
+ * exportFlushRows 행마다 flush 하므로 도서 수와 관계없이 메모리 사용량이 일정하다.
+ * 내보내기 하나가 끝날 때까지 커넥션을 잡으므로 동시에 maxConcurrentExports 개까지만 받고 나머지는 바로 거절한다.
+ * 출력한 파일은 그대로 /import/books 로 다시 가져올 수 있다 (id, authorName, createdAt, updatedAt 은 무시됨).
+ */
+@Component
+public class BookExporter {
+
+    static final String[] COLUMNS = {"id", "title", "isbn", "description", "price", "publishedDate", "pageCount",
+            "authorId", "authorName", "createdAt", "updatedAt"};
+
+    // 저자 이름은 행마다 PK 로 조회해 books 를 PK 순서로 읽게 한다 (조인이면 옵티마이저가 authors 부터 읽고 정렬하느라 결과를 모을 수 있음)
+    private static final String SELECT_SQL = "SELECT b.id, b.title, b.isbn, b.description, b.price, b.published_date, "
+            + "b.page_count, b.author_id, (SELECT a.name FROM authors a WHERE a.id = b.author_id), b.created_at, b.updated_at "
+            + "FROM books b ORDER BY b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter lineWriter;
+    private final TransferProperties properties;
+    private final StreamingFetchSize streamingFetchSize;
+    private final Semaphore exports;
+
+    public BookExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        JsonMapper jsonMapper, TransferProperties properties, StreamingFetchSize streamingFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lineWriter = jsonMapper.writer().withRootValueSeparator("\n");
+        this.properties = properties;
+        this.streamingFetchSize = streamingFetchSize;
+        this.exports = new Semaphore(properties.getMaxConcurrentExports());
+    }
+
+    // 내보내기 자리를 잡는다 (없으면 TooManyExportsException), export 가 끝나면 닫는다
+    public Reservation reserve() {
+        if (!exports.tryAcquire()) {
+            throw new TooManyExportsException(properties.getMaxConcurrentExports());
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        };
+    }
+
+    // out 은 닫지 않는다, 내보낸 행 수를 돌려준다
+    public long export(TransferFormat format, OutputStream out) {
+        RowWriter rowWriter = format == TransferFormat.CSV
+                ? new CsvRowWriter(StreamUtils.nonClosing(out))
+                : new NdjsonRowWriter(lineWriter.createGenerator(StreamUtils.nonClosing(out)));
+        long[] rows = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(streamingFetchSize.of(properties.getExportFetchSize()));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            rowWriter.write(resultSet);
+            if (++rows[0] % properties.getExportFlushRows() == 0) {
+                rowWriter.flush();
+            }
+        }));
+        rowWriter.close();
+        return rows[0];
+    }
+
+    public interface Reservation extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    public static class TooManyExportsException extends RuntimeException {
+
+        TooManyExportsException(int maxConcurrentExports) {
+            super("Too many concurrent exports (max " + maxConcurrentExports + "), retry later");
+        }
+
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet row) throws SQLException;
+
+        void flush();
+
+        // 남은 내용을 쓰고 flush (하위 스트림은 닫지 않음)
+        void close();
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final char[] dateTimeBuffer = new char[DateTimes.MAX_LENGTH];
+        private boolean empty = true;
+
+        NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void write(ResultSet row) throws SQLException {
+            generator.writeStartObject();
+            generator.writeNumberProperty(COLUMNS[0], row.getLong(1));
+            generator.writeStringProperty(COLUMNS[1], row.getString(2));
+            generator.writeStringProperty(COLUMNS[2], row.getString(3));
+            generator.writeStringProperty(COLUMNS[3], row.getString(4));
+            generator.writeName(COLUMNS[4]);
+            double price = row.getDouble(5);
+            if (row.wasNull()) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(price);
+            }
+            writeDateTime(COLUMNS[5], row.getObject(6, LocalDateTime.class));
+            generator.writeName(COLUMNS[6]);
+            int pageCount = row.getInt(7);
+            if (row.wasNull()) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(pageCount);
+            }
+            generator.writeNumberProperty(COLUMNS[7], row.getLong(8));
+            generator.writeStringProperty(COLUMNS[8], row.getString(9));
+            writeDateTime(COLUMNS[9], row.getObject(10, LocalDateTime.class));
+            writeDateTime(COLUMNS[10], row.getObject(11, LocalDateTime.class));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        private void writeDateTime(String name, LocalDateTime value) {
+            generator.writeName(name);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(dateTimeBuffer, 0, DateTimes.format(value, dateTimeBuffer));
+            }
+        }
+
+        @Override
+        public void flush() {
+            generator.flush();
+        }
+
+        @Override
+        public void close() {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    // RFC 4180: 쉼표/따옴표/줄바꿈이 있는 값만 따옴표로 감싸고, null 은 빈 칸, 빈 문자열은 ""
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final char[] dateTimeBuffer = new char[DateTimes.MAX_LENGTH];
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet row) throws SQLException {
+            try {
+                writer.write(Long.toString(row.getLong(1)));
+                writer.write(',');
+                writeText(row.getString(2));
+                writer.write(',');
+                writeText(row.getString(3));
+                writer.write(',');
+                writeText(row.getString(4));
+                writer.write(',');
+                double price = row.getDouble(5);
+                if (!row.wasNull()) {
+                    writer.write(Double.toString(price));
+                }
+                writer.write(',');
+                writeDateTime(row.getObject(6, LocalDateTime.class));
+                writer.write(',');
+                int pageCount = row.getInt(7);
+                if (!row.wasNull()) {
+                    writer.write(Integer.toString(pageCount));
+                }
+                writer.write(',');
+                writer.write(Long.toString(row.getLong(8)));
+                writer.write(',');
+                writeText(row.getString(9));
+                writer.write(',');
+                writeDateTime(row.getObject(10, LocalDateTime.class));
+                writer.write(',');
+                writeDateTime(row.getObject(11, LocalDateTime.class));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (!value.isEmpty() && value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\r' || c == '\n')) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void writeDateTime(LocalDateTime value) throws IOException {
+            if (value != null) {
+                writer.write(dateTimeBuffer, 0, DateTimes.format(value, dateTimeBuffer));
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,340 @@
+package com.example.graphqlserver.transfer;
+
+import com.example.graphqlserver.config.BulkProperties;
+import com.example.graphqlserver.config.TransferProperties;
+import com.example.graphqlserver.dto.BulkItemError;
+import com.example.graphqlserver.dto.BulkResult;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.service.BookService;
+import com.example.graphqlserver.support.BoundedVirtualThreadExecutor;
+import com.example.graphqlserver.transfer.BookRecordParser.ParsedChunk;
+import com.example.graphqlserver.transfer.BookRecordParser.RowError;
+import com.example.graphqlserver.transfer.ImportJobs.ImportJob;
+import com.example.graphqlserver.transfer.ImportJobs.Status;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드한 NDJSON/CSV 파일을 도서로 가져온다.
+ * 파일을 importChunkSize 단위로 메모리 매핑해 레코드 경계에서 자르고(읽기),
+ * 청크를 importParallelism 개 가상 스레드에서 동시에 파싱/검증한 뒤(파싱),
+ * 파일 순서대로 청크마다 한 트랜잭션에서 BookService.createBooks 로 JDBC 배치 저장하고 체크포인트를 기록한다(저장).
+ * 저장하는 동안 다음 청크들을 미리 파싱하며, 앞서 읽는 청크 수를 제한해 메모리 사용량은 파일 크기와 관계없다.
+ * 작업은 소유(ImportJobs.claim)를 얻은 인스턴스 하나만 실행하고 실행하는 동안 소유를 주기적으로 갱신한다.
+ * 프로세스가 중간에 죽으면 소유가 끊긴 RUNNING 작업을 시작 시(또는 resume 으로) 마지막으로 커밋된 청크 다음부터 이어간다.
+ */
+@Slf4j
+@Component
+public class BookImporter {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    public record ImportStatus(String id, TransferFormat format, Status status, long committedOffset, Long fileSize,
+                               long committedLines, long inserted, long failed, String message,
+                               List<RowError> errors, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private record Chunk(long start, long end, ByteBuffer bytes) {
+    }
+
+    private final BookService bookService;
+    private final ImportJobs importJobs;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final TransferProperties properties;
+    private final BulkProperties bulkProperties;
+    private final BoundedVirtualThreadExecutor parseExecutor;
+
+    // 이 프로세스에서 실행 중인 작업 id
+    private final Map<String, Boolean> running = new ConcurrentHashMap<>();
+    // 작업별 행 오류 (최근 작업만, 재시작하면 건수만 남음)
+    private final Cache<String, List<RowError>> errorsByJob = Caffeine.newBuilder().maximumSize(100).build();
+
+    public BookImporter(BookService bookService, ImportJobs importJobs, PlatformTransactionManager transactionManager,
+                        JsonMapper jsonMapper, TransferProperties properties, BulkProperties bulkProperties) {
+        this.bookService = bookService;
+        this.importJobs = importJobs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.bulkProperties = bulkProperties;
+        this.parseExecutor = new BoundedVirtualThreadExecutor("book-import-parse-", properties.getImportParallelism());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (properties.isEnabled() && properties.isResumeOnStartup()) {
+            // 다른 인스턴스가 실행 중인(소유를 갱신하고 있는) 작업은 건너뛴다
+            importJobs.findByStatus(Status.RUNNING).forEach(job -> {
+                if (importJobs.claim(job.id(), properties.getImportLeaseTimeout())) {
+                    log.info("Resuming book import {} from line {}", job.id(), job.committedLines());
+                    launch(job.id());
+                }
+            });
+        }
+    }
+
+    // 본문을 importDir 에 저장한 뒤 백그라운드에서 가져오기 시작
+    public ImportStatus start(TransferFormat format, InputStream body) {
+        String id = UUID.randomUUID().toString();
+        Path file = properties.getImportDir().resolve(id + "." + format.getExtension()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.copy(body, file);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException(e);
+        }
+        importJobs.create(id, format, file);
+        launch(id);
+        return status(id).orElseThrow();
+    }
+
+    // 실패했거나 중단된 작업을 체크포인트부터 다시 실행
+    public ImportStatus resume(String id) {
+        ImportJob job = importJobs.find(id).orElseThrow(() -> new IllegalArgumentException("Import job not found: " + id));
+        if (job.status() == Status.COMPLETED) {
+            throw new IllegalStateException("Import job already completed: " + id);
+        }
+        if (!running.containsKey(id)) {
+            if (!importJobs.claim(id, properties.getImportLeaseTimeout())) {
+                throw new IllegalStateException("Import job is running on another instance: " + id);
+            }
+            launch(id);
+        }
+        return status(id).orElseThrow();
+    }
+
+    public Optional<ImportStatus> status(String id) {
+        return importJobs.find(id).map(job -> {
+            List<RowError> errors = errorsByJob.getIfPresent(id);
+            Long fileSize = null;
+            try {
+                fileSize = Files.exists(job.file()) ? Files.size(job.file()) : null;
+            } catch (IOException ignored) {
+                // 크기만 생략
+            }
+            return new ImportStatus(job.id(), job.format(), job.status(), job.committedOffset(), fileSize,
+                    job.committedLines(), job.inserted(), job.failed(), job.message(),
+                    errors == null ? List.of() : List.copyOf(errors), job.createdAt(), job.updatedAt());
+        });
+    }
+
+    private void launch(String id) {
+        if (running.putIfAbsent(id, Boolean.TRUE) == null) {
+            Thread.ofVirtual().name("book-import-" + id).start(() -> {
+                Thread heartbeat = Thread.ofVirtual().name("book-import-heartbeat-" + id).start(() -> heartbeat(id));
+                try {
+                    run(importJobs.find(id).orElseThrow());
+                } finally {
+                    heartbeat.interrupt();
+                    running.remove(id);
+                }
+            });
+        }
+    }
+
+    // 작업이 끝날 때(interrupt)까지 소유 갱신, 소유를 잃으면 그만둔다 (실행은 다음 체크포인트에서 실패해 멈춤)
+    private void heartbeat(String id) {
+        while (true) {
+            try {
+                Thread.sleep(properties.getImportHeartbeatInterval());
+                if (!importJobs.heartbeat(id)) {
+                    log.warn("Book import {} is no longer owned by this instance", id);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not renew book import {} lease", id, e);
+            }
+        }
+    }
+
+    private void run(ImportJob job) {
+        try (FileChannel channel = FileChannel.open(job.file(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = job.committedOffset();
+            long checkpointed = offset;
+            long lines = job.committedLines();
+            BookRecordParser parser;
+            if (job.format() == TransferFormat.CSV) {
+                ByteBuffer header = firstLine(channel, size);
+                int headerStart = hasBom(header) ? UTF8_BOM.length : 0;
+                byte[] headerBytes = new byte[header.remaining() - headerStart];
+                header.get(headerStart, headerBytes);
+                parser = BookRecordParser.csv(headerBytes);
+                if (offset == 0) {
+                    offset = header.remaining();
+                    lines = 1;
+                }
+            } else {
+                parser = BookRecordParser.ndjson(jsonMapper);
+                if (offset == 0 && hasBom(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, UTF8_BOM.length)))) {
+                    offset = UTF8_BOM.length;
+                }
+            }
+
+            // 앞서 파싱하는 청크 수 (메모리 상한 = 이 수 * importChunkSize)
+            int lookahead = Math.max(2, properties.getImportParallelism() * 2);
+            Deque<CompletableFuture<ParsedChunk>> inFlight = new ArrayDeque<>();
+            long readOffset = offset;
+            while (true) {
+                while (inFlight.size() < lookahead && readOffset < size) {
+                    Chunk chunk = nextChunk(channel, readOffset, size, job.format() == TransferFormat.CSV);
+                    readOffset = chunk.end();
+                    BookRecordParser chunkParser = parser;
+                    inFlight.add(CompletableFuture.supplyAsync(() -> chunkParser.parse(chunk.end(), chunk.bytes()), parseExecutor));
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                ParsedChunk parsed = inFlight.poll().join();
+                commit(job.id(), parsed, checkpointed, lines);
+                checkpointed = parsed.end();
+                lines += parsed.lineCount();
+            }
+
+            importJobs.finish(job.id(), Status.COMPLETED, null);
+            deleteQuietly(job.file());
+            log.info("Book import {} completed ({} lines)", job.id(), lines);
+        } catch (RuntimeException | IOException e) {
+            log.warn("Book import {} failed", job.id(), e);
+            importJobs.finish(job.id(), Status.FAILED, String.valueOf(e.getMessage()));
+        }
+    }
+
+    // 청크 저장과 체크포인트를 한 트랜잭션으로 (커밋되지 않은 청크는 다시 실행할 때 처음부터 다시 처리)
+    private void commit(String jobId, ParsedChunk parsed, long offsetBefore, long linesBefore) {
+        List<RowError> errors = new ArrayList<>(parsed.errors());
+        int inserted = transactionTemplate.execute(status -> {
+            int count = 0;
+            List<Book> books = parsed.books();
+            for (int from = 0; from < books.size(); from += bulkProperties.getMaxItems()) {
+                int to = Math.min(from + bulkProperties.getMaxItems(), books.size());
+                BulkResult result = bookService.createBooks(books.subList(from, to));
+                count += result.getSuccessCount();
+                for (BulkItemError error : result.getErrors()) {
+                    errors.add(new RowError(parsed.bookLines()[from + error.getIndex()], error.getMessage()));
+                }
+            }
+            importJobs.checkpoint(jobId, offsetBefore, parsed.end(), linesBefore + parsed.lineCount(), count, errors.size());
+            return count;
+        });
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingLong(RowError::line));
+            List<RowError> reported = errorsByJob.get(jobId, id -> Collections.synchronizedList(new ArrayList<>()));
+            for (RowError error : errors) {
+                if (reported.size() >= properties.getMaxReportedErrors()) {
+                    break;
+                }
+                reported.add(new RowError(linesBefore + error.line(), error.message()));
+            }
+        }
+        log.debug("Book import {}: {} inserted, {} failed up to byte {}", jobId, inserted, errors.size(), parsed.end());
+    }
+
+    // start 부터 importChunkSize 안의 마지막 레코드 경계까지 (레코드 하나가 더 길면 찾을 때까지 창을 늘림)
+    private Chunk nextChunk(FileChannel channel, long start, long size, boolean csv) throws IOException {
+        long window = properties.getImportChunkSize().toBytes();
+        while (true) {
+            long length = Math.min(window, size - start);
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            if (start + length == size) {
+                return new Chunk(start, size, bytes);
+            }
+            int end = lastRecordEnd(bytes, csv);
+            if (end > 0) {
+                return new Chunk(start, start + end, bytes.slice(0, end));
+            }
+            if (window >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Record at byte " + start + " is larger than " + Integer.MAX_VALUE + " bytes");
+            }
+            window = Math.min(window * 2, Integer.MAX_VALUE);
+        }
+    }
+
+    // 마지막 레코드 구분자('\n') 다음 위치, 없으면 0 (CSV 는 따옴표 안의 줄바꿈 제외, start 는 항상 레코드 시작)
+    static int lastRecordEnd(ByteBuffer bytes, boolean csv) {
+        int limit = bytes.limit();
+        if (!csv) {
+            for (int i = limit - 1; i >= 0; i--) {
+                if (bytes.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+        int end = 0;
+        boolean quoted = false;
+        for (int i = 0; i < limit; i++) {
+            byte b = bytes.get(i);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    // 첫 줄(CSV 헤더)을 줄바꿈까지 매핑
+    private static ByteBuffer firstLine(FileChannel channel, long size) throws IOException {
+        long window = Math.min(64 * 1024, size);
+        while (true) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, window);
+            for (int i = 0; i < bytes.limit(); i++) {
+                if (bytes.get(i) == '\n') {
+                    return bytes.slice(0, i + 1);
+                }
+            }
+            if (window == size) {
+                return bytes;
+            }
+            window = Math.min(window * 2, size);
+        }
+    }
+
+    private static boolean hasBom(ByteBuffer bytes) {
+        return bytes.limit() >= UTF8_BOM.length
+                && bytes.get(0) == UTF8_BOM[0] && bytes.get(1) == UTF8_BOM[1] && bytes.get(2) == UTF8_BOM[2];
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+}
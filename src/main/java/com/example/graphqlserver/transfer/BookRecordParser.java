@@ -0,0 +1,270 @@
+package com.example.graphqlserver.transfer;
+
+import com.example.graphqlserver.dto.BookInput;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.support.DateTimes;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 가져오기 청크(레코드 경계로 자른 바이트)를 도서로 파싱하고 DB 없이 할 수 있는 검증(필수 값, 컬럼 길이, 숫자/날짜 형식)을 한다.
+ * 저자 존재 여부와 ISBN 중복은 저장 단계(BookService.createBooks)에서 확인한다. 여러 작업 스레드가 동시에 써도 된다.
+ */
+final class BookRecordParser {
+
+    // 도서 입력 필드 순서 (CSV 헤더 이름과 같음)
+    private static final String[] FIELDS = {"title", "isbn", "description", "price", "publishedDate", "pageCount", "authorId"};
+    // books 의 VARCHAR(255) 컬럼 (title, isbn, description)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    record RowError(long line, String message) {
+    }
+
+    // books[i] 는 청크 안 bookLines[i] 번째 줄 (1부터), lineCount 는 청크의 줄 수
+    record ParsedChunk(long end, int lineCount, List<Book> books, int[] bookLines, List<RowError> errors) {
+    }
+
+    private final TransferFormat format;
+    private final ObjectReader inputReader;
+    // CSV: FIELDS[i] 가 레코드의 몇 번째 값인지 (-1 이면 없음)
+    private final int[] csvColumns;
+
+    private BookRecordParser(TransferFormat format, ObjectReader inputReader, int[] csvColumns) {
+        this.format = format;
+        this.inputReader = inputReader;
+        this.csvColumns = csvColumns;
+    }
+
+    static BookRecordParser ndjson(JsonMapper jsonMapper) {
+        return new BookRecordParser(TransferFormat.NDJSON,
+                jsonMapper.readerFor(BookInput.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), null);
+    }
+
+    // 헤더에 없는 컬럼(id, authorName 등)은 무시, 필수 컬럼이 없으면 IllegalArgumentException
+    static BookRecordParser csv(byte[] header) {
+        List<String> names = csvFields(header, 0, trimLineEnd(header, 0, header.length));
+        int[] columns = new int[FIELDS.length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < names.size(); i++) {
+            int field = Arrays.asList(FIELDS).indexOf(names.get(i) == null ? "" : names.get(i).trim());
+            if (field >= 0) {
+                columns[field] = i;
+            }
+        }
+        for (int required : new int[]{0, 1, 6}) {
+            if (columns[required] < 0) {
+                throw new IllegalArgumentException("CSV header must contain " + FIELDS[required]);
+            }
+        }
+        return new BookRecordParser(TransferFormat.CSV, null, columns);
+    }
+
+    ParsedChunk parse(long end, ByteBuffer chunk) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.duplicate().get(bytes);
+
+        List<Book> books = new ArrayList<>();
+        int[] bookLines = new int[64];
+        List<RowError> errors = new ArrayList<>();
+        int line = 0;
+        int from = 0;
+        while (from < bytes.length) {
+            int recordLine = line + 1;
+            int to = format == TransferFormat.CSV ? csvRecordEnd(bytes, from) : indexOf(bytes, (byte) '\n', from);
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == '\n') {
+                    line++;
+                }
+            }
+            line++;
+            int contentEnd = trimLineEnd(bytes, from, to);
+            if (!isBlank(bytes, from, contentEnd)) {
+                try {
+                    Book book = format == TransferFormat.CSV
+                            ? parseCsv(bytes, from, contentEnd)
+                            : parseJson(bytes, from, contentEnd);
+                    if (books.size() == bookLines.length) {
+                        bookLines = Arrays.copyOf(bookLines, bookLines.length * 2);
+                    }
+                    bookLines[books.size()] = recordLine;
+                    books.add(book);
+                } catch (IllegalArgumentException e) {
+                    errors.add(new RowError(recordLine, e.getMessage()));
+                } catch (JacksonException e) {
+                    errors.add(new RowError(recordLine, "Invalid JSON: " + e.getOriginalMessage()));
+                }
+            }
+            from = to + 1;
+        }
+        return new ParsedChunk(end, line, books, Arrays.copyOf(bookLines, books.size()), errors);
+    }
+
+    private Book parseJson(byte[] bytes, int from, int to) {
+        BookInput input = inputReader.readValue(bytes, from, to - from);
+        if (input == null) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return toBook(input.getTitle(), input.getIsbn(), input.getDescription(), input.getPrice(),
+                input.getPublishedDate(), input.getPageCount(), input.getAuthorId());
+    }
+
+    private Book parseCsv(byte[] bytes, int from, int to) {
+        List<String> values = csvFields(bytes, from, to);
+        String[] fields = new String[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            fields[i] = csvColumns[i] >= 0 && csvColumns[i] < values.size() ? values.get(csvColumns[i]) : null;
+        }
+        return toBook(fields[0], fields[1], fields[2],
+                fields[3] == null ? null : parseNumber(FIELDS[3], fields[3], Double::valueOf),
+                fields[4] == null ? null : parseDateTime(FIELDS[4], fields[4]),
+                fields[5] == null ? null : parseNumber(FIELDS[5], fields[5], Integer::valueOf),
+                fields[6] == null ? null : parseNumber(FIELDS[6], fields[6], Long::valueOf));
+    }
+
+    // BookInput 스키마와 같은 필수 값 + DB 컬럼 길이
+    private static Book toBook(String title, String isbn, String description, Double price,
+                               LocalDateTime publishedDate, Integer pageCount, Long authorId) {
+        requireText(FIELDS[0], title, true);
+        requireText(FIELDS[1], isbn, true);
+        requireText(FIELDS[2], description, false);
+        if (authorId == null) {
+            throw new IllegalArgumentException("authorId is required");
+        }
+        Author author = new Author();
+        author.setId(authorId);
+        return Book.builder()
+                .title(title)
+                .isbn(isbn)
+                .description(description)
+                .price(price)
+                .pageCount(pageCount)
+                .publishedDate(publishedDate)
+                .author(author)
+                .build();
+    }
+
+    private static void requireText(String field, String value, boolean required) {
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+        } else if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(field + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static <T> T parseNumber(String field, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String field, String value) {
+        try {
+            return DateTimes.parse(value.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value + " (" + DateTimes.INVALID_FORMAT_MESSAGE + ")");
+        }
+    }
+
+    // 따옴표 밖의 다음 '\n' 위치 (없으면 length)
+    private static int csvRecordEnd(byte[] bytes, int from) {
+        boolean quoted = false;
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '"') {
+                quoted = !quoted;
+            } else if (bytes[i] == '\n' && !quoted) {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+
+    // RFC 4180 레코드의 값 목록 (빈 칸은 null, "" 는 빈 문자열)
+    static List<String> csvFields(byte[] bytes, int from, int to) {
+        List<String> fields = new ArrayList<>();
+        int i = from;
+        while (true) {
+            if (i < to && bytes[i] == '"') {
+                byte[] value = new byte[to - i];
+                int length = 0;
+                int p = i + 1;
+                while (true) {
+                    if (p >= to) {
+                        throw new IllegalArgumentException("Unterminated quoted value");
+                    }
+                    byte b = bytes[p++];
+                    if (b != '"') {
+                        value[length++] = b;
+                    } else if (p < to && bytes[p] == '"') {
+                        value[length++] = '"';
+                        p++;
+                    } else {
+                        break;
+                    }
+                }
+                if (p < to && bytes[p] != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted value");
+                }
+                fields.add(new String(value, 0, length, StandardCharsets.UTF_8));
+                i = p;
+            } else {
+                int p = i;
+                while (p < to && bytes[p] != ',') {
+                    p++;
+                }
+                fields.add(p == i ? null : new String(bytes, i, p - i, StandardCharsets.UTF_8));
+                i = p;
+            }
+            if (i >= to) {
+                return fields;
+            }
+            i++;
+            if (i == to) {
+                fields.add(null);
+                return fields;
+            }
+        }
+    }
+
+    // 줄 끝의 '\r', '\n' 제외
+    static int trimLineEnd(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] == '\r' || bytes[to - 1] == '\n')) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.graphqlserver.transfer;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * 도서 내보내기/가져오기 HTTP 엔드포인트.
+ * GET /export/books?format=ndjson|csv (동시 실행 한도를 넘으면 503), POST /import/books (본문 = 파일, 202 와 작업 상태),
+ * GET /import/books/{id} (진행 상황), POST /import/books/{id}/resume (실패/중단된 작업 재실행)
+ */
+public class BookTransferHandler {
+
+    public static final String EXPORT_PATH = "/export/books";
+    public static final String IMPORT_PATH = "/import/books";
+
+    private final BookExporter bookExporter;
+    private final BookImporter bookImporter;
+
+    public BookTransferHandler(BookExporter bookExporter, BookImporter bookImporter) {
+        this.bookExporter = bookExporter;
+        this.bookImporter = bookImporter;
+    }
+
+    public ServerResponse export(ServerRequest request) {
+        TransferFormat format = TransferFormat.of(request.param("format").orElse("ndjson"), null);
+        BookExporter.Reservation reservation = bookExporter.reserve();
+        return ServerResponse.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("books." + format.getExtension()).build().toString())
+                .build((servletRequest, servletResponse) -> {
+                    try (reservation) {
+                        bookExporter.export(format, servletResponse.getOutputStream());
+                    }
+                    return null;
+                });
+    }
+
+    public ServerResponse startImport(ServerRequest request) throws IOException {
+        MediaType contentType = request.headers().contentType().orElse(null);
+        TransferFormat format = TransferFormat.of(request.param("format").orElse(null), contentType);
+        BookImporter.ImportStatus status = bookImporter.start(format, request.servletRequest().getInputStream());
+        return ServerResponse.accepted()
+                .location(URI.create(IMPORT_PATH + "/" + status.id()))
+                .body(status);
+    }
+
+    public ServerResponse importStatus(ServerRequest request) {
+        return bookImporter.status(request.pathVariable("id"))
+                .map(status -> ServerResponse.ok().body(status))
+                .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    public ServerResponse resumeImport(ServerRequest request) {
+        return ServerResponse.accepted().body(bookImporter.resume(request.pathVariable("id")));
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.graphqlserver.transfer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 가져오기 작업과 체크포인트 (import_jobs 테이블).
+ * 작업은 claim 으로 소유(owner)를 얻은 인스턴스 하나만 실행하고, 실행하는 동안 heartbeat 로 소유를 갱신한다.
+ * checkpoint 는 청크를 저장하는 트랜잭션 안에서 호출해 도서 저장과 위치 기록이 함께 커밋되게 하며,
+ * 소유자이고 위치가 직전 체크포인트 그대로일 때만 반영해 같은 청크가 두 번 집계되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportJobs {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record ImportJob(String id, TransferFormat format, Path file, Status status,
+                            long committedOffset, long committedLines, long inserted, long failed,
+                            String message, String owner, LocalDateTime heartbeatAt,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private static final RowMapper<ImportJob> rowMapper = (rs, rowNum) -> new ImportJob(
+            rs.getString("id"),
+            TransferFormat.valueOf(rs.getString("format")),
+            Path.of(rs.getString("file_path")),
+            Status.valueOf(rs.getString("status")),
+            rs.getLong("committed_offset"),
+            rs.getLong("committed_lines"),
+            rs.getLong("inserted"),
+            rs.getLong("failed"),
+            rs.getString("message"),
+            rs.getString("owner"),
+            rs.getObject("heartbeat_at", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 이 프로세스의 소유자 id
+    private final String owner = UUID.randomUUID().toString();
+
+    // 만든 인스턴스가 바로 소유
+    public void create(String id, TransferFormat format, Path file) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO import_jobs (id, format, file_path, status, committed_offset, committed_lines, "
+                        + "inserted, failed, owner, heartbeat_at, created_at, updated_at) VALUES (?, ?, ?, ?, 0, 0, 0, 0, ?, ?, ?, ?)",
+                id, format.name(), file.toString(), Status.RUNNING.name(), owner, now, now, now);
+    }
+
+    // 완료되지 않았고 소유자가 없거나 소유가 leaseTimeout 넘게 갱신되지 않은 작업을 RUNNING 으로 가져온다 (가져왔으면 true)
+    public boolean claim(String id, Duration leaseTimeout) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update("UPDATE import_jobs SET status = ?, message = NULL, owner = ?, heartbeat_at = ?, updated_at = ? "
+                        + "WHERE id = ? AND status <> ? AND (owner IS NULL OR owner = ? OR heartbeat_at < ?)",
+                Status.RUNNING.name(), owner, now, now, id, Status.COMPLETED.name(), owner, now.minus(leaseTimeout)) == 1;
+    }
+
+    // 소유를 잃었으면 false
+    public boolean heartbeat(String id) {
+        return jdbcTemplate.update("UPDATE import_jobs SET heartbeat_at = ? WHERE id = ? AND owner = ? AND status = ?",
+                LocalDateTime.now(), id, owner, Status.RUNNING.name()) == 1;
+    }
+
+    public Optional<ImportJob> find(String id) {
+        return jdbcTemplate.query("SELECT * FROM import_jobs WHERE id = ?", rowMapper, id).stream().findFirst();
+    }
+
+    public List<ImportJob> findByStatus(Status status) {
+        return jdbcTemplate.query("SELECT * FROM import_jobs WHERE status = ? ORDER BY created_at", rowMapper, status.name());
+    }
+
+    // previousOffset 부터 offset 바이트 (lines 줄) 까지 처리했고 그 청크에서 inserted 건 저장, failed 건 실패
+    // 소유를 잃었거나 이미 다른 실행이 이 청크를 기록했으면 IllegalStateException (호출한 트랜잭션이 청크 저장까지 롤백)
+    public void checkpoint(String id, long previousOffset, long offset, long lines, int inserted, int failed) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update("UPDATE import_jobs SET committed_offset = ?, committed_lines = ?, "
+                        + "inserted = inserted + ?, failed = failed + ?, heartbeat_at = ?, updated_at = ? "
+                        + "WHERE id = ? AND owner = ? AND committed_offset = ?",
+                offset, lines, inserted, failed, now, now, id, owner, previousOffset);
+        if (updated != 1) {
+            throw new IllegalStateException("Import job " + id + " is no longer owned by this instance");
+        }
+    }
+
+    // 끝난 작업(COMPLETED/FAILED)의 소유를 놓는다 (소유자일 때만)
+    public void finish(String id, Status status, String message) {
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, message = ?, owner = NULL, heartbeat_at = NULL, updated_at = ? "
+                        + "WHERE id = ? AND owner = ?",
+                status.name(), message, LocalDateTime.now(), id, owner);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.graphqlserver.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// 내보내기/가져오기 파일 형식 (한 줄에 도서 하나, CSV 는 첫 줄이 헤더)
+public enum TransferFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final MediaType mediaType;
+
+    TransferFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // format 파라미터 (ndjson, csv) 가 없으면 Content-Type 으로 판단
+    public static TransferFormat of(String format, MediaType contentType) {
+        if (format != null) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+        }
+        if (contentType != null && CSV.mediaType.isCompatibleWith(contentType)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+}
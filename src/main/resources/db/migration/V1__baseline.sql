@@ -0,0 +1,43 @@
+-- ddl-auto: update 로 만들어지던 스키마 (기존 DB 는 spring.flyway.baseline-on-migrate 로 이 버전부터 시작)
+
+CREATE TABLE authors (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255) NOT NULL,
+    email         VARCHAR(255),
+    bio           VARCHAR(255),
+    birth_date    DATETIME(6),
+    nationality   VARCHAR(255),
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_authors_email UNIQUE (email)
+);
+
+CREATE TABLE books (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    title          VARCHAR(255) NOT NULL,
+    isbn           VARCHAR(255) NOT NULL,
+    description    VARCHAR(255),
+    price          FLOAT(53),
+    published_date DATETIME(6),
+    page_count     INTEGER,
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    author_id      BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE author_stats (
+    author_id             BIGINT    NOT NULL,
+    book_count            BIGINT    NOT NULL,
+    priced_book_count     BIGINT    NOT NULL,
+    price_sum             FLOAT(53) NOT NULL,
+    average_price         FLOAT(53),
+    latest_published_date DATETIME(6),
+    PRIMARY KEY (author_id)
+);
+
+CREATE INDEX idx_author_stats_book_count ON author_stats (book_count, author_id);
+CREATE INDEX idx_author_stats_average_price ON author_stats (average_price, author_id);
+CREATE INDEX idx_author_stats_latest_published_date ON author_stats (latest_published_date, author_id);
@@ -0,0 +1,17 @@
+-- 목록/필터 쿼리가 쓰는 보조 인덱스 (InnoDB 보조 인덱스는 끝에 id 를 포함하므로 ORDER BY id / (price, id) 도 인덱스 순서로 읽는다)
+
+-- getBooksByAuthorId / 저자 통계 집계(COUNT, SUM(price))와 가격 조건을 인덱스만으로 처리
+CREATE INDEX idx_books_author_id_price ON books (author_id, price);
+-- 저자의 최근 출간일 (MAX(published_date))
+CREATE INDEX idx_books_author_id_published_date ON books (author_id, published_date);
+-- getBooksByPriceRange (price BETWEEN, ORDER BY price, id)
+CREATE INDEX idx_books_price ON books (price);
+-- 제목 일치/접두 검색과 제목 정렬 (부분 문자열 검색은 BookSearchIndex)
+CREATE INDEX idx_books_title ON books (title);
+-- getBookByIsbn, 중복 ISBN 거부 (기존 데이터에 중복이 있으면 정리 후 적용해야 함)
+CREATE UNIQUE INDEX uk_books_isbn ON books (isbn);
+
+-- getAuthorsByNationality, getBooksByAuthorNationality (저자에서 시작해 books.author_id 로 조인)
+CREATE INDEX idx_authors_nationality ON authors (nationality);
+-- getBooksByAuthorName
+CREATE INDEX idx_authors_name ON authors (name);
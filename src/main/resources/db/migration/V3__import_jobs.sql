@@ -0,0 +1,18 @@
+-- /import/books 가져오기 작업과 체크포인트 (청크를 저장하는 트랜잭션에서 함께 갱신하므로 재시작 시 마지막으로 커밋된 위치부터 이어감)
+
+CREATE TABLE import_jobs (
+    id               VARCHAR(36)   NOT NULL,
+    format           VARCHAR(16)   NOT NULL,
+    file_path        VARCHAR(1024) NOT NULL,
+    status           VARCHAR(16)   NOT NULL,
+    committed_offset BIGINT        NOT NULL,
+    committed_lines  BIGINT        NOT NULL,
+    inserted         BIGINT        NOT NULL,
+    failed           BIGINT        NOT NULL,
+    message          VARCHAR(1024),
+    created_at       DATETIME(6)   NOT NULL,
+    updated_at       DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_import_jobs_status ON import_jobs (status);
@@ -0,0 +1,4 @@
+-- 가져오기 작업 소유: owner 인스턴스가 heartbeat_at 을 갱신하는 동안만 실행하고, 오래 갱신되지 않은 RUNNING 작업은 다른 인스턴스가 조건부 UPDATE 로 가져간다
+
+ALTER TABLE import_jobs ADD COLUMN owner VARCHAR(64);
+ALTER TABLE import_jobs ADD COLUMN heartbeat_at DATETIME(6);
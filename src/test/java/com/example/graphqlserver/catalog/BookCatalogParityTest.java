@@ -0,0 +1,201 @@
+package com.example.graphqlserver.catalog;
+
+import com.example.graphqlserver.config.CatalogProperties;
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.repository.AuthorRepository;
+import com.example.graphqlserver.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BookCatalog 의 목록/페이지 결과와 커서가 같은 조회의 JPA keyset 페이지네이션과 같은지 비교한다.
+ * 테스트 트랜잭션 없이 실행해 변경이 바로 커밋되고 카탈로그의 커밋 후 반영도 바로 실행된다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-parity;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookCatalogParityTest {
+
+    private static final Sort priceOrder = Sort.by("price", "id");
+    private static final Sort idOrder = Sort.by("id");
+    private static final int PAGE_SIZE = 7;
+    private static final double[][] PRICE_RANGES = {{0, 1000}, {10, 12}, {3.5, 3.5}, {20.25, 30}, {500, 600}};
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookCatalog catalog;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM authors");
+        List<Object[]> authors = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            authors.add(new Object[]{i, "author-" + i, "author-" + i + "@example.com", i % 6 == 0 ? null : "nation-" + (i % 5)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO authors (id, name, email, nationality) VALUES (?, ?, ?, ?)", authors);
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 1; i <= 600; i++) {
+            // 같은 가격이 많도록 (id 로 순서가 갈림), 일부는 가격 없음
+            books.add(new Object[]{i, "title-" + i, "isbn-" + i, i % 50 == 0 ? null : i % 37 + 0.5, i % 29 + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, isbn, price, author_id) VALUES (?, ?, ?, ?, ?)", books);
+
+        CatalogProperties properties = new CatalogProperties();
+        properties.setEnabled(true);
+        properties.setRebuildBatchSize(100);
+        // H2 는 대소문자를 구분해 비교
+        properties.setNationalityIgnoreCase(false);
+        catalog = new BookCatalog(bookRepository, authorRepository, properties);
+        assertThat(catalog.rebuild()).isEqualTo(600);
+    }
+
+    @Test
+    void matchesJpaAfterRebuild() {
+        assertParity();
+    }
+
+    @Test
+    void matchesJpaAfterSingleBookChanges() {
+        // 하나씩 바뀌는 경우 (가격 인덱스를 제자리에서 고침)
+        jdbcTemplate.update("UPDATE books SET price = 11.5 WHERE id = 3");
+        jdbcTemplate.update("UPDATE books SET price = NULL WHERE id = 4");
+        jdbcTemplate.update("UPDATE books SET price = 3.5 WHERE id = 50");
+        jdbcTemplate.update("UPDATE books SET author_id = 7 WHERE id = 5");
+        jdbcTemplate.update("INSERT INTO books (id, title, isbn, price, author_id) VALUES (601, 't', 'isbn-601', 10.5, 2)");
+        for (long id : new long[]{3, 4, 50, 5, 601}) {
+            catalog.put(bookRepository.findById(id).orElseThrow());
+        }
+        jdbcTemplate.update("DELETE FROM books WHERE id = 8");
+        catalog.remove(List.of(8L));
+
+        assertParity();
+    }
+
+    @Test
+    void matchesJpaAfterBulkBookChanges() {
+        // 한 번에 많이 바뀌는 경우 (가격 인덱스를 병합으로 고침)
+        jdbcTemplate.update("UPDATE books SET price = MOD(id * 7, 41) + 0.25, author_id = MOD(id, 13) + 1 WHERE id <= 120");
+        jdbcTemplate.update("UPDATE books SET price = NULL WHERE id BETWEEN 121 AND 160");
+        jdbcTemplate.update("INSERT INTO books (id, title, isbn, price, author_id) "
+                + "SELECT X + 600, 't', CONCAT('isbn-', X + 600), MOD(X, 37) + 0.5, MOD(X, 30) + 1 FROM SYSTEM_RANGE(1, 80)");
+        catalog.putAll(bookRepository.findAllById(LongStream.concat(LongStream.rangeClosed(1, 160), LongStream.rangeClosed(601, 680))
+                .boxed().toList()));
+        List<Long> removed = LongStream.rangeClosed(200, 260).boxed().toList();
+        jdbcTemplate.update("DELETE FROM books WHERE id BETWEEN 200 AND 260");
+        catalog.remove(removed);
+
+        assertParity();
+    }
+
+    @Test
+    void matchesJpaAfterAuthorChanges() {
+        // 국적 변경 / 국적 생김 / 국적 없어짐 / 저자 삭제 (도서 포함)
+        jdbcTemplate.update("UPDATE authors SET nationality = 'nation-1' WHERE id IN (2, 3)");
+        jdbcTemplate.update("UPDATE authors SET nationality = 'nation-9' WHERE id = 6");
+        jdbcTemplate.update("UPDATE authors SET nationality = NULL WHERE id = 4");
+        catalog.putAuthors(authorRepository.findAllById(List.of(2L, 3L, 4L, 6L)));
+        jdbcTemplate.update("DELETE FROM books WHERE author_id = 11");
+        jdbcTemplate.update("DELETE FROM authors WHERE id = 11");
+        catalog.removeAuthor(11L);
+
+        assertParity();
+    }
+
+    private void assertParity() {
+        for (double[] range : PRICE_RANGES) {
+            List<Long> expected = walk(
+                    (position, limit) -> catalog.findByPriceBetween(range[0], range[1], position, limit),
+                    (position, limit) -> bookRepository.findByPriceBetween(range[0], range[1], position, limit, priceOrder));
+            assertThat(ids(catalog.findByPriceBetween(range[0], range[1]))).isEqualTo(expected);
+        }
+        for (String nationality : List.of("nation-0", "nation-1", "nation-4", "nation-9", "none")) {
+            List<Long> expected = walk(
+                    (position, limit) -> catalog.findByAuthorNationality(nationality, position, limit),
+                    (position, limit) -> bookRepository.findByAuthorNationality(nationality, position, limit, idOrder));
+            assertThat(ids(catalog.findByAuthorNationality(nationality))).isEqualTo(expected);
+        }
+        for (long authorId = 1; authorId <= 31; authorId++) {
+            long id = authorId;
+            List<Long> expected = walk(
+                    (position, limit) -> catalog.findByAuthorId(id, position, limit),
+                    (position, limit) -> bookRepository.findByAuthorId(id, position, limit, idOrder));
+            assertThat(ids(catalog.findByAuthorId(id))).isEqualTo(expected);
+        }
+    }
+
+    // 앞으로 끝까지 넘긴 뒤 마지막 행에서 뒤로 처음까지, 페이지마다 JPA 결과와 비교하고 JPA 쪽 전체 순서를 돌려준다
+    private List<Long> walk(BiFunction<KeysetScrollPosition, Limit, Window<Book>> actualPage,
+                            BiFunction<KeysetScrollPosition, Limit, Window<Book>> expectedPage) {
+        Limit limit = Limit.of(PAGE_SIZE);
+        List<Long> all = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Book> expected;
+        do {
+            expected = assertPage(actualPage.apply(position, limit), expectedPage.apply(position, limit));
+            all.addAll(ids(expected.getContent()));
+            if (expected.isEmpty()) {
+                return all;
+            }
+            position = (KeysetScrollPosition) expected.positionAt(expected.size() - 1);
+        } while (expected.hasNext());
+
+        position = position.backward();
+        do {
+            expected = assertPage(actualPage.apply(position, limit), expectedPage.apply(position, limit));
+            if (expected.isEmpty()) {
+                break;
+            }
+            position = ((KeysetScrollPosition) expected.positionAt(0)).backward();
+        } while (expected.hasNext());
+        return all;
+    }
+
+    private static Window<Book> assertPage(Window<Book> actual, Window<Book> expected) {
+        assertThat(ids(actual.getContent())).isEqualTo(ids(expected.getContent()));
+        assertThat(actual.getContent()).extracting(Book::getPrice)
+                .isEqualTo(expected.getContent().stream().map(Book::getPrice).toList());
+        assertThat(actual.getContent()).extracting(book -> book.getAuthor().getId())
+                .isEqualTo(expected.getContent().stream().map(book -> book.getAuthor().getId()).toList());
+        assertThat(actual.hasNext()).isEqualTo(expected.hasNext());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.positionAt(i)).isEqualTo(expected.positionAt(i));
+        }
+        return expected;
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.graphqlserver.controller;
+
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import org.dataloader.DataLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class BookControllerTest {
+
+    private final BookController controller = new BookController(null, null, null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadedAuthorIsReturnedWithoutPrimingTheSharedLoader() {
+        // 프로젝션처럼 일부 컬럼만 채운 저자
+        Author author = new Author();
+        author.setId(1L);
+        author.setName("a1");
+        Book book = Book.builder().id(10L).author(author).build();
+        DataLoader<Long, Author> authorLoader = mock(DataLoader.class);
+
+        CompletableFuture<Author> result = controller.author(book, authorLoader);
+
+        assertThat(result).isCompletedWithValue(author);
+        verifyNoInteractions(authorLoader);
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.example.graphqlserver.datasource;
+
+import com.example.graphqlserver.config.DataSourceRoutingProperties;
+import com.example.graphqlserver.config.DataSourceRoutingProperties.Strategy;
+import com.example.graphqlserver.interceptor.ReadYourWritesInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DataSourceRoutingConfig 와 같은 구성(LazyConnectionDataSourceProxy + WriteTrackingDataSource + ReplicaPool)을
+ * H2 두 개로 만들어 어느 DB 가 SQL 을 받았는지 DATABASE() 로 확인한다. replica 는 TCP 서버로 띄워 내렸다 올린다.
+ */
+class DataSourceRoutingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Server replicaServer;
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaPool replicaPool;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicaServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        primary = dataSource("primary", "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1");
+        replica = dataSource("replica-1", "jdbc:h2:tcp://localhost:" + replicaServer.getPort() + "/mem:routing-replica;DB_CLOSE_DELAY=-1");
+        replica.setReadOnly(true);
+        // H2 TCP 클라이언트는 접속 거부 시 1초 남짓 재시도하므로, 풀 대기 시간 안에 실패 원인이 기록되도록 넉넉히
+        replica.setConnectionTimeout(3000);
+        replicaPool = new ReplicaPool(List.of(replica), primary, Strategy.ROUND_ROBIN, Duration.ofSeconds(1));
+        replicaPool.bindTo(meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary));
+        dataSource.setReadOnlyDataSource(replicaPool);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaPool.destroy();
+        primary.close();
+        replicaServer.stop();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-REPLICA");
+        assertThat(writeDatabase()).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    @Test
+    void failedReplicaIsEjectedAndAddedBackAfterHealthCheck() {
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-REPLICA");
+
+        replicaServer.stop();
+        // 풀에 남은 커넥션은 버려 새 커넥션을 열게 (내려간 replica 에 접속 실패)
+        replica.getHikariPoolMXBean().softEvictConnections();
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-PRIMARY");
+        assertThat(replicaHealthy()).isZero();
+
+        replicaPool.checkHealth();
+        assertThat(replicaHealthy()).isZero();
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-PRIMARY");
+
+        restartReplicaServer();
+        replicaPool.checkHealth();
+        assertThat(replicaHealthy()).isOne();
+        assertThat(readOnlyDatabase()).isEqualTo("ROUTING-REPLICA");
+        assertThat(meterRegistry.get("graphql.datasource.reads").tag("target", "primary").functionCounter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void clientThatWroteReadsFromPrimaryWithinWindow() {
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setEnabled(true);
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(properties);
+
+        assertThat(execute(interceptor, request(Map.of("X-Client-Id", "client-a")), true)).isEqualTo("ROUTING-PRIMARY");
+        assertThat(execute(interceptor, request(Map.of("X-Client-Id", "client-a")), false)).isEqualTo("ROUTING-PRIMARY");
+        assertThat(execute(interceptor, request(Map.of("X-Client-Id", "client-b")), false)).isEqualTo("ROUTING-REPLICA");
+    }
+
+    @Test
+    void clientWithoutIdHeaderIsIdentifiedByForwardedAddress() {
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setEnabled(true);
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(properties);
+
+        execute(interceptor, request(Map.of("X-Forwarded-For", "10.0.0.1, 10.0.0.254")), true);
+        assertThat(execute(interceptor, request(Map.of("X-Forwarded-For", "10.0.0.1, 10.0.0.254")), false))
+                .isEqualTo("ROUTING-PRIMARY");
+        // 같은 프록시 뒤의 다른 클라이언트는 고정되지 않는다
+        assertThat(execute(interceptor, request(Map.of("X-Forwarded-For", "10.0.0.2, 10.0.0.254")), false))
+                .isEqualTo("ROUTING-REPLICA");
+        // 식별할 수 없는 요청은 접속 주소로 묶지 않는다
+        assertThat(execute(interceptor, request(Map.of()), false)).isEqualTo("ROUTING-REPLICA");
+    }
+
+    // 인터셉터가 GraphQLContext 에 넣은 RoutingContext 를 Spring GraphQL 처럼 ThreadLocal 로 복원한 채 트랜잭션 실행
+    private String execute(ReadYourWritesInterceptor interceptor, WebGraphQlRequest request, boolean write) {
+        AtomicReference<String> database = new AtomicReference<>();
+        interceptor.intercept(request, next -> {
+            ExecutionInput input = next.toExecutionInput();
+            RoutingContextAccessor accessor = new RoutingContextAccessor();
+            accessor.setValue(input.getGraphQLContext().<RoutingContext>get(RoutingContext.CONTEXT_KEY));
+            try {
+                database.set((write ? readWrite : readOnly).execute(status -> database()));
+            } finally {
+                accessor.setValue();
+            }
+            return Mono.just(new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(
+                    input, ExecutionResult.newExecutionResult().data(Map.of()).build())));
+        }).block();
+        return database.get();
+    }
+
+    private static WebGraphQlRequest request(Map<String, String> headers) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        headers.forEach(httpHeaders::add);
+        return new WebGraphQlRequest(URI.create("http://localhost/graphql"), httpHeaders, new LinkedMultiValueMap<>(),
+                new InetSocketAddress("10.0.0.254", 40000), Map.of(), Map.of("query", "{ __typename }"),
+                "1", Locale.ROOT);
+    }
+
+    private double replicaHealthy() {
+        return meterRegistry.get("graphql.datasource.replica.healthy").tag("replica", "replica-1").gauge().value();
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String writeDatabase() {
+        return readWrite.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private void restartReplicaServer() {
+        int port = replica.getJdbcUrl().replaceAll(".*localhost:(\\d+)/.*", "$1").transform(Integer::parseInt);
+        try {
+            replicaServer = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HikariDataSource dataSource(String name, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setConnectionTimeout(500);
+        dataSource.setValidationTimeout(250);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.example.graphqlserver.instrumentation;
+
+import com.example.graphqlserver.config.MetricsProperties;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphQlMetricsInstrumentationTest {
+
+    private static final String SCHEMA = """
+            type Query {
+                books: [Book]
+                asyncBooks: [Book]
+            }
+            type Book { title: String }
+            """;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsProperties properties = new MetricsProperties();
+
+    @Test
+    void countsStatementsOfFetchersAndPropertyAccess() {
+        properties.setFieldSampleRate(0);
+        ExecutionResult result = execute("{ books { title } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        // 루트 페처 1 + 도서마다 제목 지연 로딩 1
+        assertThat(registry.get("graphql.sql.statements").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void leavesNoCounterBoundAfterAsyncExecution() {
+        // 결과가 다른 스레드에서 완성되어도 실행을 시작한 스레드에 카운터가 남지 않는다
+        ExecutionResult result = execute("{ asyncBooks { title } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+
+    private ExecutionResult execute(String query) {
+        SqlStatementCounter inspector = new SqlStatementCounter();
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type
+                        .dataFetcher("books", env -> {
+                            inspector.inspect("select * from books");
+                            return List.of(new LazyBook(inspector), new LazyBook(inspector));
+                        })
+                        .dataFetcher("asyncBooks", env -> CompletableFuture.supplyAsync(() -> List.of(Map.of("title", "t")),
+                                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS))))
+                .build();
+        GraphQL graphQl = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring))
+                .instrumentation(new GraphQlMetricsInstrumentation(registry, properties))
+                .build();
+        return graphQl.execute(query);
+    }
+
+    // 제목을 읽을 때 SQL 을 실행하는 지연 로딩 프록시 흉내
+    public record LazyBook(SqlStatementCounter inspector) {
+
+        public String getTitle() {
+            inspector.inspect("select title from books");
+            return "t";
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.graphqlserver.instrumentation;
+
+import com.example.graphqlserver.config.PaginationProperties;
+import com.example.graphqlserver.config.QueryCostProperties;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCostInstrumentationTest {
+
+    private static final String SCHEMA = """
+            type Query {
+                getAllBooks: [Book]
+                getAllBooksConnection(first: Int, after: String): BookConnection
+                topBooks(limit: Int = 10): [Book]
+            }
+            type BookConnection { edges: [BookEdge] }
+            type BookEdge { node: Book }
+            type Book { id: ID title: String authors: [Author] }
+            type Author { id: ID }
+            """;
+
+    private final QueryCostProperties properties = new QueryCostProperties();
+
+    @Test
+    void unpaginatedRootListCountsAsWholeTable() {
+        // 1 + 1000 * (1 + 1)
+        assertThat(cost("{ getAllBooks { id title } }")).isEqualTo(2001);
+    }
+
+    @Test
+    void nestedListsAndPagedFieldsKeepTheirSizes() {
+        // 1 + 5 * (1 + (1 + (1 + 1 + (1 + 20 * 1))))
+        assertThat(cost("{ getAllBooksConnection(first: 5) { edges { node { id title authors { id } } } } }")).isEqualTo(126);
+        // 1 + 20 * 1 (limit 인자가 있는 루트 목록은 기본 건수)
+        assertThat(cost("{ topBooks { id } }")).isEqualTo(21);
+    }
+
+    @Test
+    void rejectsUnpaginatedRootListOverMaxCost() {
+        properties.setMaxCost(1000);
+        ExecutionResult result = execute("{ getAllBooks { id } }");
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).startsWith("Query is too expensive: cost 1001"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private long cost(String query) {
+        ExecutionResult result = execute(query);
+        assertThat(result.getErrors()).isEmpty();
+        return (long) ((Map<String, Object>) result.getExtensions().get("cost")).get("requested");
+    }
+
+    private ExecutionResult execute(String query) {
+        GraphQL graphQl = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(
+                        new SchemaParser().parse(SCHEMA), RuntimeWiring.newRuntimeWiring().build()))
+                .instrumentation(new QueryCostInstrumentation(properties, new PaginationProperties()))
+                .build();
+        return graphQl.execute(query);
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.example.graphqlserver.interceptor;
+
+import com.example.graphqlserver.cache.DocumentCache;
+import com.example.graphqlserver.config.AdmissionProperties;
+import com.example.graphqlserver.config.DocumentCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+
+    private static final String QUERY = "{\"query\":\"{ getAllBooks { id } }\"}";
+    private static final String MUTATION = "{\"query\":\"mutation { deleteBook(id: 1) }\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void batchSpendsOneTokenPerOperation() throws Exception {
+        AdmissionProperties properties = properties();
+        properties.getQuota().setRequestsPerSecond(0.001);
+        properties.getQuota().setBurst(3);
+        properties.getConcurrency().setEnabled(false);
+        AdmissionFilter filter = filter(properties);
+
+        assertThat(status(filter, batch(QUERY, QUERY), ok())).isEqualTo(200);
+        assertThat(status(filter, batch(QUERY, QUERY), ok())).isEqualTo(429);
+        assertThat(status(filter, QUERY, ok())).isEqualTo(200);
+        assertThat(status(filter, QUERY, ok())).isEqualTo(429);
+    }
+
+    @Test
+    void unknownApiKeysShareTheAddressBucket() throws Exception {
+        AdmissionProperties properties = properties();
+        properties.getQuota().setRequestsPerSecond(0.001);
+        properties.getQuota().setBurst(2);
+        properties.getQuota().getClients().put("partner-a", new AdmissionProperties.ClientQuota());
+        properties.getConcurrency().setEnabled(false);
+        AdmissionFilter filter = filter(properties);
+
+        // 키를 바꿔 가며 보내도 설정에 없는 키는 같은 접속 주소 버킷을 쓴다
+        assertThat(status(filter, QUERY, ok(), "rotating-1")).isEqualTo(200);
+        assertThat(status(filter, QUERY, ok(), "rotating-2")).isEqualTo(200);
+        assertThat(status(filter, QUERY, ok(), "rotating-3")).isEqualTo(429);
+        assertThat(status(filter, QUERY, ok())).isEqualTo(429);
+        // 설정된 키는 자기 버킷
+        assertThat(status(filter, QUERY, ok(), "partner-a")).isEqualTo(200);
+    }
+
+    @Test
+    void batchHoldsOnePermitPerOperation() throws Exception {
+        AdmissionProperties properties = properties();
+        properties.getQuota().setEnabled(false);
+        properties.getConcurrency().setInitialLimit(8);
+        properties.getConcurrency().setMutationReserve(0.25);
+        AdmissionFilter filter = filter(properties);
+
+        // 조회 몫 6 중 3 을 쓰는 동안: 3 개짜리 조회 일괄 요청은 받고, 4 개짜리는 조회 몫을 넘으니 거절, 뮤테이션은 남은 몫으로 받는다
+        List<Integer> nested = new ArrayList<>();
+        AtomicReference<Double> inFlight = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            inFlight.set(registry.get("graphql.admission.inflight").gauge().value());
+            nested.add(status(filter, batch(QUERY, QUERY, QUERY, QUERY), ok()));
+            nested.add(status(filter, batch(QUERY, QUERY, QUERY), ok()));
+            nested.add(status(filter, batch(QUERY, QUERY, QUERY, MUTATION), ok()));
+        };
+        assertThat(status(filter, batch(QUERY, QUERY, QUERY), chain)).isEqualTo(200);
+
+        assertThat(inFlight.get()).isEqualTo(3.0);
+        assertThat(nested).containsExactly(503, 200, 200);
+        assertThat(registry.get("graphql.admission.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void batchLargerThanLimitRunsAlone() throws Exception {
+        AdmissionProperties properties = properties();
+        properties.getQuota().setEnabled(false);
+        properties.getConcurrency().setInitialLimit(4);
+        properties.getConcurrency().setMutationReserve(0);
+        AdmissionFilter filter = filter(properties);
+
+        List<Integer> nested = new ArrayList<>();
+        FilterChain chain = (request, response) -> nested.add(status(filter, QUERY, ok()));
+        assertThat(status(filter, batch(QUERY, QUERY, QUERY, QUERY, QUERY, QUERY), chain)).isEqualTo(200);
+        assertThat(nested).containsExactly(503);
+    }
+
+    @Test
+    void bufferedBodySupportsReadListener() throws Exception {
+        AdmissionProperties properties = properties();
+        properties.getQuota().setEnabled(false);
+        AdmissionFilter filter = filter(properties);
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    byte[] buffer = new byte[8];
+                    while (input.isReady() && !input.isFinished()) {
+                        int length = input.read(buffer);
+                        read.write(buffer, 0, length);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        };
+        assertThat(status(filter, batch(QUERY, MUTATION), chain)).isEqualTo(200);
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(batch(QUERY, MUTATION));
+    }
+
+    private AdmissionProperties properties() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getConcurrency().setMinLimit(1);
+        return properties;
+    }
+
+    private AdmissionFilter filter(AdmissionProperties properties) {
+        AdmissionFilter filter = new AdmissionFilter(properties, new DocumentCache(new DocumentCacheProperties()),
+                JsonMapper.builder().build());
+        filter.bindTo(registry);
+        return filter;
+    }
+
+    private static int status(AdmissionFilter filter, String body, FilterChain chain) throws IOException {
+        return status(filter, body, chain, null);
+    }
+
+    private static int status(AdmissionFilter filter, String body, FilterChain chain, String apiKey) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContentType("application/json");
+        if (apiKey != null) {
+            request.addHeader("X-Api-Key", apiKey);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (jakarta.servlet.ServletException e) {
+            throw new IllegalStateException(e);
+        }
+        return response.getStatus();
+    }
+
+    private static FilterChain ok() {
+        return (request, response) -> request.getInputStream().readAllBytes();
+    }
+
+    private static String batch(String... operations) {
+        return "[" + String.join(",", operations) + "]";
+    }
+
+}
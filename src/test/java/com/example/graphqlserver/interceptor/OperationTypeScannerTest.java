@@ -0,0 +1,45 @@
+package com.example.graphqlserver.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationTypeScannerTest {
+
+    @Test
+    void detectsOperationType() {
+        assertThat(OperationTypeScanner.isMutation("mutation { deleteBook(id: 1) }", null)).isTrue();
+        assertThat(OperationTypeScanner.isMutation("mutation Delete($id: ID!) @audit { deleteBook(id: $id) }", null)).isTrue();
+        assertThat(OperationTypeScanner.isMutation("query { getAllBooks { id } }", null)).isFalse();
+        assertThat(OperationTypeScanner.isMutation("{ getAllBooks { id } }", null)).isFalse();
+        assertThat(OperationTypeScanner.isMutation("subscription { bookChanged { id } }", null)).isFalse();
+    }
+
+    @Test
+    void picksNamedOperationOrFirstOperation() {
+        String document = "query Read { getAllBooks { id } } mutation Write { deleteBook(id: 1) }";
+        assertThat(OperationTypeScanner.isMutation(document, "Write")).isTrue();
+        assertThat(OperationTypeScanner.isMutation(document, "Read")).isFalse();
+        assertThat(OperationTypeScanner.isMutation(document, null)).isFalse();
+        assertThat(OperationTypeScanner.isMutation(document, "Missing")).isFalse();
+    }
+
+    @Test
+    void skipsFragmentsCommentsAndStrings() {
+        assertThat(OperationTypeScanner.isMutation(
+                "fragment F on Book { id } mutation M { createBook(bookInput: {title: \"{ query }\"}) { ...F } }", null)).isTrue();
+        assertThat(OperationTypeScanner.isMutation("# query { x }\nmutation { deleteBook(id: 1) }", null)).isTrue();
+        assertThat(OperationTypeScanner.isMutation(
+                "mutation { createBook(bookInput: {description: \"\"\"a \\\"\"\" } query {\"\"\"}) { id } }", null)).isTrue();
+        assertThat(OperationTypeScanner.isMutation(
+                "query Q($f: BookFilter = {title: \"mutation\"}) { books(filter: $f) { edges { cursor } } }", null)).isFalse();
+    }
+
+    @Test
+    void unknownDocumentsAreQueries() {
+        assertThat(OperationTypeScanner.isMutation("", null)).isFalse();
+        assertThat(OperationTypeScanner.isMutation("mutation", null)).isFalse();
+        assertThat(OperationTypeScanner.isMutation("\"unterminated", null)).isFalse();
+    }
+
+}
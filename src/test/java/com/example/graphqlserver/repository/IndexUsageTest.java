@@ -0,0 +1,116 @@
+package com.example.graphqlserver.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V2__filter_indexes 의 인덱스를 조회 쿼리가 실제로 쓰는지 확인한다.
+ * Flyway 로 만든 H2(MODE=MySQL) 스키마에 행을 채운 뒤 Hibernate 가 만든 SQL 을 그대로 EXPLAIN 한다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:index-usage;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.graphqlserver.repository.IndexUsageTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IndexUsageTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        RecordingStatementInspector.statements.clear();
+        // ANALYZE 가 커밋하므로 테스트 트랜잭션 롤백 뒤에도 남는다 (한 번만 채움)
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class) > 0) {
+            return;
+        }
+        List<Object[]> authors = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            authors.add(new Object[]{i, "author-" + i, "author-" + i + "@example.com", "nation-" + (i % 20)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO authors (id, name, email, nationality) VALUES (?, ?, ?, ?)", authors);
+        List<Object[]> books = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            books.add(new Object[]{i, "title-" + i, "isbn-" + i, i % 500 + 0.5, i % 200 + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, isbn, price, author_id) VALUES (?, ?, ?, ?, ?)", books);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void priceRangeUsesPriceIndex() {
+        assertThat(bookRepository.findByPriceBetween(10.0, 12.0)).hasSize(8);
+        assertThat(plan()).contains("IDX_BOOKS_PRICE");
+    }
+
+    @Test
+    void authorNationalityStartsFromNationalityIndex() {
+        assertThat(bookRepository.findByAuthorNationality("nation-3")).hasSize(100);
+        assertThat(plan()).contains("IDX_AUTHORS_NATIONALITY");
+    }
+
+    @Test
+    void authorsByNationalityUseNationalityIndex() {
+        assertThat(authorRepository.findByNationality("nation-3")).hasSize(10);
+        assertThat(plan()).contains("IDX_AUTHORS_NATIONALITY");
+    }
+
+    @Test
+    void booksByAuthorNameUseNameIndex() {
+        assertThat(bookRepository.findByAuthorName("author-7")).hasSize(10);
+        assertThat(plan()).contains("IDX_AUTHORS_NAME");
+    }
+
+    @Test
+    void isbnLookupUsesUniqueIndex() {
+        assertThat(bookRepository.findByIsbn("isbn-42")).isPresent();
+        assertThat(plan()).contains("UK_BOOKS_ISBN");
+    }
+
+    // 마지막으로 실행된 select 의 실행 계획 (바인드 값 없이도 H2 는 인덱스 선택을 보여 준다)
+    private String plan() {
+        List<String> selects = RecordingStatementInspector.statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).isNotEmpty();
+        String sql = selects.getLast();
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters)).toUpperCase();
+        // 조인되는 쪽도 인덱스로 찾아야 한다 (H2 는 books.author_id 에 외래 키 인덱스를 따로 만들어 그것을 쓴다)
+        assertThat(plan).doesNotContain("TABLESCAN");
+        return plan;
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+    }
+
+}
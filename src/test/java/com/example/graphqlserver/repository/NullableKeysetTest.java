@@ -0,0 +1,105 @@
+package com.example.graphqlserver.repository;
+
+import com.example.graphqlserver.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * nullable 필드로 정렬해도 값이 없는 행을 빼지 않고, 앞/뒤로 넘겨도 같은 순서로 모든 행을 돌려주는지 확인한다.
+ * 커서는 GraphQL 응답과 같은 인코딩을 거쳐 null 값도 그대로 돌아오는지 함께 본다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:nullable-keyset;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NullableKeysetTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    private final ScrollPositionCursorStrategy cursors = new ScrollPositionCursorStrategy();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Book> books;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO authors (id, name) VALUES (1, 'a1')");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            // 값 없음과 같은 값이 섞이도록
+            rows.add(new Object[]{i, "t" + i, "isbn-" + i, i % 4 == 0 ? null : i % 3 + 0.5, i % 5 == 0 ? null : i % 2});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, isbn, price, page_count, author_id) VALUES (?, ?, ?, ?, ?, 1)", rows);
+        books = bookRepository.findAll();
+    }
+
+    @Test
+    void keepsRowsWithoutValueInBothDirections() {
+        assertWalk(Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id")),
+                Comparator.comparing(Book::getPrice, Comparator.nullsFirst(Comparator.<Double>naturalOrder())));
+        assertWalk(Sort.by(Sort.Order.desc("price"), Sort.Order.asc("id")),
+                Comparator.comparing(Book::getPrice, Comparator.nullsFirst(Comparator.<Double>naturalOrder())).reversed());
+        assertWalk(Sort.by(Sort.Order.desc("pageCount"), Sort.Order.asc("price"), Sort.Order.asc("id")),
+                Comparator.comparing(Book::getPageCount, Comparator.nullsFirst(Comparator.<Integer>naturalOrder())).reversed()
+                        .thenComparing(Book::getPrice, Comparator.nullsFirst(Comparator.<Double>naturalOrder())));
+    }
+
+    private void assertWalk(Sort sort, Comparator<Book> order) {
+        List<Long> expected = books.stream().sorted(order.thenComparing(Book::getId)).map(Book::getId).toList();
+
+        List<Long> forward = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Book> window;
+        do {
+            window = scroll(sort, position);
+            window.forEach(book -> forward.add(book.getId()));
+            position = roundTrip(window.positionAt(window.size() - 1));
+        } while (window.hasNext());
+        assertThat(forward).isEqualTo(expected);
+
+        List<Long> backward = new ArrayList<>();
+        position = ScrollPosition.keyset().backward();
+        do {
+            window = scroll(sort, position);
+            backward.addAll(0, window.stream().map(Book::getId).toList());
+            position = roundTrip(window.positionAt(0)).backward();
+        } while (window.hasNext());
+        assertThat(backward).isEqualTo(expected);
+    }
+
+    private Window<Book> scroll(Sort sort, KeysetScrollPosition position) {
+        return NullableKeyset.scroll(bookRepository, Specification.allOf(Collections.emptyList()), sort, position,
+                Limit.of(PAGE_SIZE));
+    }
+
+    private KeysetScrollPosition roundTrip(ScrollPosition position) {
+        return (KeysetScrollPosition) cursors.fromCursor(cursors.toCursor(position));
+    }
+
+}
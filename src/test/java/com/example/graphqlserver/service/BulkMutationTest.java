@@ -0,0 +1,120 @@
+package com.example.graphqlserver.service;
+
+import com.example.graphqlserver.dto.BulkResult;
+import com.example.graphqlserver.entity.Author;
+import com.example.graphqlserver.entity.Book;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MySQL 의 자리표시자 한도(65535)보다 많은 항목의 일괄 뮤테이션이 IN 목록을 나눠 조회하는지 확인한다.
+ * H2 에는 한도가 없으므로 Hibernate 가 보내는 SQL 의 자리표시자 수를 직접 센다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-mutation;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "graphql.bulk.batch-size=1000"
+})
+class BulkMutationTest {
+
+    private static final int ITEMS = 70_000;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 요청별 SQL 수 집계 대신 자리표시자 수를 센다
+    @TestBean(name = "sqlStatementCounterCustomizer", methodName = "placeholderCounterCustomizer")
+    private HibernatePropertiesCustomizer sqlStatementCounterCustomizer;
+
+    static HibernatePropertiesCustomizer placeholderCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new PlaceholderCounter());
+    }
+
+    @BeforeEach
+    void reset() {
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM author_stats");
+        jdbcTemplate.update("DELETE FROM authors");
+        PlaceholderCounter.max.set(0);
+    }
+
+    @Test
+    void bulkMutationsSplitLookupsPastThePlaceholderLimit() {
+        List<Author> authors = IntStream.range(0, ITEMS).mapToObj(i -> author("author-" + i + "@example.com")).toList();
+        BulkResult createdAuthors = authorService.createAuthors(authors);
+        assertThat(createdAuthors.getIds()).hasSize(ITEMS);
+        // 모든 묶음의 조회 결과가 합쳐져야 전부 중복으로 보고된다
+        assertThat(authorService.createAuthors(IntStream.range(0, ITEMS)
+                .mapToObj(i -> author("author-" + i + "@example.com")).toList()).getErrors()).hasSize(ITEMS);
+
+        List<Long> authorIds = createdAuthors.getIds();
+        BulkResult createdBooks = bookService.createBooks(IntStream.range(0, ITEMS)
+                .mapToObj(i -> book(null, "isbn-" + i, authorIds.get(i))).toList());
+        assertThat(createdBooks.getErrors()).isEmpty();
+        assertThat(bookService.createBooks(IntStream.range(0, ITEMS)
+                .mapToObj(i -> book(null, "isbn-" + i, authorIds.get(i))).toList()).getErrors()).hasSize(ITEMS);
+
+        List<Long> bookIds = createdBooks.getIds();
+        BulkResult updated = bookService.updateBooks(IntStream.range(0, ITEMS)
+                .mapToObj(i -> book(bookIds.get(i), "new-isbn-" + i, authorIds.get(ITEMS - 1 - i))).toList());
+        assertThat(updated.getErrors()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE isbn LIKE 'new-isbn-%'", Long.class))
+                .isEqualTo(ITEMS);
+
+        BulkResult deleted = bookService.deleteBooks(bookIds);
+        assertThat(deleted.getErrors()).isEmpty();
+        assertThat(deleted.getIds()).hasSize(ITEMS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(book_count) FROM author_stats", Long.class)).isZero();
+
+        assertThat(PlaceholderCounter.max.get()).isPositive().isLessThanOrEqualTo(1000);
+    }
+
+    private static Author author(String email) {
+        Author author = new Author();
+        author.setName(email);
+        author.setEmail(email);
+        return author;
+    }
+
+    private static Book book(Long id, String isbn, Long authorId) {
+        Author author = new Author();
+        author.setId(authorId);
+        return Book.builder().id(id).title(isbn).isbn(isbn).price(1.0).author(author).build();
+    }
+
+    // 문장 하나에 들어간 자리표시자 수의 최댓값
+    public static class PlaceholderCounter implements StatementInspector {
+
+        static final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            max.accumulateAndGet((int) sql.chars().filter(c -> c == '?').count(), Math::max);
+            return sql;
+        }
+
+    }
+
+}
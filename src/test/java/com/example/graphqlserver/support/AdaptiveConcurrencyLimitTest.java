@@ -0,0 +1,74 @@
+package com.example.graphqlserver.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 0.2);
+
+    @Test
+    void acquiresPermitsUpToCap() {
+        assertThat(limit.tryAcquire(5, 3)).isZero();
+        assertThat(limit.tryAcquire(5, 3)).isEqualTo(-1);
+        assertThat(limit.tryAcquire(5, 2)).isEqualTo(3);
+        assertThat(limit.getInFlight()).isEqualTo(5);
+        assertThat(limit.tryAcquire(5, 1)).isEqualTo(-1);
+
+        limit.release(FAST, 0, 3, false);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.tryAcquire(5, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void growsWhileBusyAndLatencyIsSteady() {
+        for (int i = 0; i < 20; i++) {
+            limit.release(FAST, 15, 0, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void staysWhileUnderused() {
+        for (int i = 0; i < 20; i++) {
+            limit.release(FAST, 2, 0, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        for (int i = 0; i < 20; i++) {
+            limit.release(FAST, 15, 0, false);
+        }
+        int grown = limit.getLimit();
+        for (int i = 0; i < 30; i++) {
+            limit.release(SLOW, grown, 0, false);
+        }
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void dropsCutTenPercentDownToMinimum() {
+        limit.release(FAST, 0, 0, true);
+        assertThat(limit.getLimit()).isEqualTo(18);
+        for (int i = 0; i < 50; i++) {
+            limit.release(FAST, 0, 0, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 0, 10, 1.5, 0.2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 5, 4, 1.5, 0.2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
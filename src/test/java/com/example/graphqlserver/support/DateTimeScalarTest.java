@@ -0,0 +1,41 @@
+package com.example.graphqlserver.support;
+
+import graphql.GraphQLContext;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingSerializeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DateTimeScalarTest {
+
+    private final Coercing<?, ?> coercing = DateTimeScalar.INSTANCE.getCoercing();
+    private final GraphQLContext context = GraphQLContext.getDefault();
+
+    @Test
+    void serializesLocalDateTimeAsIsoString() {
+        assertThat(serialize(LocalDateTime.of(2023, 12, 31, 15, 30))).isEqualTo("2023-12-31T15:30:00");
+        assertThat(serialize(LocalDateTime.of(2023, 12, 31, 15, 30, 5, 120_000_000))).isEqualTo("2023-12-31T15:30:05.12");
+    }
+
+    @Test
+    void normalizesStringValues() {
+        assertThat(serialize("2023-12-31T15:30")).isEqualTo("2023-12-31T15:30:00");
+        assertThat(serialize("2023-12-31t15:30:05.500")).isEqualTo("2023-12-31T15:30:05.5");
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertThatThrownBy(() -> serialize("2023-13-01T00:00:00")).isInstanceOf(CoercingSerializeException.class);
+        assertThatThrownBy(() -> serialize(42)).isInstanceOf(CoercingSerializeException.class);
+    }
+
+    private Object serialize(Object value) {
+        return coercing.serialize(value, context, Locale.ROOT);
+    }
+
+}
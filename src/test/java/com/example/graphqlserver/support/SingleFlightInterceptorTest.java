@@ -0,0 +1,103 @@
+package com.example.graphqlserver.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SingleFlightInterceptorTest {
+
+    private static final Method METHOD;
+
+    static {
+        try {
+            METHOD = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Test
+    void followerSharesResultOfInFlightCall() throws Exception {
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> invoke(interceptor, () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "result";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> invoke(interceptor, () -> {
+            executions.incrementAndGet();
+            return "follower";
+        }));
+        awaitInFlightFollower();
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void followerRunsCallItselfWhenLeaderIsStuck() throws Exception {
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor(Duration.ofMillis(100));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> invoke(interceptor, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long started = System.nanoTime();
+        assertThat(invoke(interceptor, () -> "follower")).isEqualTo("follower");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(interceptor.getInFlightCount()).isZero();
+    }
+
+    private static Object invoke(SingleFlightInterceptor interceptor, Supplier<Object> body) {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(METHOD);
+        when(invocation.getArguments()).thenReturn(new Object[]{"same"});
+        try {
+            when(invocation.proceed()).thenAnswer(ignored -> body.get());
+            return interceptor.invoke(invocation);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // follower 가 leader 의 결과를 기다리기 시작할 시간을 준다
+    private static void awaitInFlightFollower() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
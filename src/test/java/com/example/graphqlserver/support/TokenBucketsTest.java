@@ -0,0 +1,51 @@
+package com.example.graphqlserver.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketsTest {
+
+    private final TokenBuckets buckets = new TokenBuckets(100, Duration.ofMinutes(1));
+
+    @Test
+    void spendsBurstThenReportsWait() {
+        assertThat(buckets.tryConsume("a", 1, 3, 1)).isZero();
+        assertThat(buckets.tryConsume("a", 1, 3, 2)).isZero();
+        long wait = buckets.tryConsume("a", 1, 3, 1);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void chargesEveryRequestedToken() {
+        assertThat(buckets.tryConsume("a", 0, 5, 3)).isZero();
+        // 2 개 남음: 3 개는 안 되고 2 개는 된다
+        assertThat(buckets.tryConsume("a", 0, 5, 3)).isEqualTo(Long.MAX_VALUE);
+        assertThat(buckets.tryConsume("a", 0, 5, 2)).isZero();
+    }
+
+    @Test
+    void requestLargerThanBurstTakesTheWholeBucket() {
+        assertThat(buckets.tryConsume("a", 0, 4, 10)).isZero();
+        assertThat(buckets.tryConsume("a", 0, 4, 1)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void refillsAtRate() throws InterruptedException {
+        assertThat(buckets.tryConsume("a", 1000, 1, 1)).isZero();
+        assertThat(buckets.tryConsume("a", 1000, 1, 1)).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+        Thread.sleep(5);
+        assertThat(buckets.tryConsume("a", 1000, 1, 1)).isZero();
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        assertThat(buckets.tryConsume("a", 0, 1, 1)).isZero();
+        assertThat(buckets.tryConsume("a", 0, 1, 1)).isPositive();
+        assertThat(buckets.tryConsume("b", 0, 1, 1)).isZero();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.graphqlserver.support;
+
+import com.example.graphqlserver.config.StreamingProperties;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionalFluxTest {
+
+    private final TransactionalFlux transactionalFlux = new TransactionalFlux(transactionManager(), properties(1));
+
+    @Test
+    void rejectsStreamsBeyondLimitUntilSlowSubscriberFinishes() throws InterruptedException {
+        CountDownLatch firstRow = new CountDownLatch(1);
+        // 한 행만 요청하고 멈춘 느린 구독자가 스트림 자리를 잡고 있다
+        BaseSubscriber<Integer> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Integer value) {
+                firstRow.countDown();
+            }
+        };
+        transactionalFlux.readOnly("slow", () -> Stream.of(1, 2, 3)).subscribe(slow);
+        assertThat(firstRow.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> transactionalFlux.readOnly("rejected", () -> Stream.of(1)).blockLast())
+                .isInstanceOf(TransactionalFlux.TooManyStreamsException.class);
+
+        slow.cancel();
+        // 취소된 스트림의 가상 스레드가 끝나며 자리를 돌려준다
+        List<Integer> rows = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rows == null && System.nanoTime() < deadline) {
+            try {
+                rows = transactionalFlux.readOnly("next", () -> Stream.of(1, 2)).collectList().block(Duration.ofSeconds(5));
+            } catch (TransactionalFlux.TooManyStreamsException e) {
+                Thread.sleep(10);
+            }
+        }
+        assertThat(rows).containsExactly(1, 2);
+    }
+
+    @Test
+    void releasesSlotWhenStreamFails() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> transactionalFlux.readOnly("failing", () -> Stream.<Integer>of(1).map(row -> {
+                throw new IllegalStateException("broken row");
+            })).blockLast()).hasMessage("broken row");
+        }
+        assertThat(transactionalFlux.readOnly("ok", () -> Stream.of(7)).blockLast(Duration.ofSeconds(5))).isEqualTo(7);
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return transactionManager;
+    }
+
+    private static StreamingProperties properties(int maxConcurrentStreams) {
+        StreamingProperties properties = new StreamingProperties();
+        properties.setMaxConcurrentStreams(maxConcurrentStreams);
+        return properties;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.graphqlserver.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookImporterTest {
+
+    @Test
+    void ndjsonEndsAfterLastNewline() {
+        assertThat(lastRecordEnd("{\"a\":1}\n{\"b\":2}\n{\"c\"", false)).isEqualTo(16);
+        assertThat(lastRecordEnd("{\"a\":1}\n", false)).isEqualTo(8);
+        assertThat(lastRecordEnd("{\"a\":\"x\ny\"}", false)).isEqualTo(8);
+    }
+
+    @Test
+    void noBoundaryIsZero() {
+        assertThat(lastRecordEnd("{\"a\":1}", false)).isZero();
+        assertThat(lastRecordEnd("a,b,c", true)).isZero();
+        assertThat(lastRecordEnd("", true)).isZero();
+    }
+
+    @Test
+    void csvIgnoresNewlinesInsideQuotes() {
+        assertThat(lastRecordEnd("a,\"x\ny\"\nb,c", true)).isEqualTo(8);
+        // 마지막 레코드의 따옴표가 아직 닫히지 않았으면 그 앞 레코드까지
+        assertThat(lastRecordEnd("a,b\nc,\"open\nstill open", true)).isEqualTo(4);
+        // "" 는 따옴표 안의 따옴표
+        assertThat(lastRecordEnd("a,\"say \"\"hi\"\"\"\nb\r\n", true)).isEqualTo(18);
+    }
+
+    @Test
+    void readsUpToTheBufferLimit() {
+        ByteBuffer bytes = ByteBuffer.wrap("a\nb\nc\n".getBytes(StandardCharsets.UTF_8)).limit(3);
+        assertThat(BookImporter.lastRecordEnd(bytes, true)).isEqualTo(2);
+    }
+
+    private static int lastRecordEnd(String text, boolean csv) {
+        return BookImporter.lastRecordEnd(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), csv);
+    }
+
+}
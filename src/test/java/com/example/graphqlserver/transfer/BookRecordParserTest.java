@@ -0,0 +1,84 @@
+package com.example.graphqlserver.transfer;
+
+import com.example.graphqlserver.entity.Book;
+import com.example.graphqlserver.transfer.BookRecordParser.ParsedChunk;
+import com.example.graphqlserver.transfer.BookRecordParser.RowError;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookRecordParserTest {
+
+    @Test
+    void splitsPlainFields() {
+        assertThat(fields("a,b,c")).containsExactly("a", "b", "c");
+        assertThat(fields("한글,ß")).containsExactly("한글", "ß");
+    }
+
+    @Test
+    void emptyFieldsAreNullAndEmptyQuotedFieldsAreEmpty() {
+        assertThat(fields("a,,c")).containsExactly("a", null, "c");
+        assertThat(fields(",a")).containsExactly(null, "a");
+        assertThat(fields("a,")).containsExactly("a", null);
+        assertThat(fields("a,\"\",c")).containsExactly("a", "", "c");
+        assertThat(fields("")).containsExactly((String) null);
+    }
+
+    @Test
+    void unquotesQuotedFields() {
+        assertThat(fields("\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\"")).containsExactly("a,b", "say \"hi\"", "line\nbreak");
+        assertThat(fields("\"\"\"\"")).containsExactly("\"");
+    }
+
+    @Test
+    void readsOnlyTheGivenRange() {
+        byte[] bytes = "xx,a,\"b\"yy".getBytes(StandardCharsets.UTF_8);
+        assertThat(BookRecordParser.csvFields(bytes, 3, 8)).containsExactly("a", "b");
+    }
+
+    @Test
+    void rejectsMalformedQuotes() {
+        assertThatThrownBy(() -> fields("\"abc")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted value");
+        assertThatThrownBy(() -> fields("\"abc\"d,e")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unexpected character after quoted value");
+    }
+
+    @Test
+    void parsesCsvChunkWithLineNumbers() {
+        BookRecordParser parser = BookRecordParser.csv("id,title,isbn,price,authorId,authorName\r\n".getBytes(StandardCharsets.UTF_8));
+        String chunk = "1,\"A, \"\"quoted\"\"\",isbn-1,9.5,3,x\r\n"
+                + "2,\"multi\nline\",isbn-2,,4,y\n"
+                + "\n"
+                + "3,bad price,isbn-3,abc,5,z\n"
+                + "4,missing author,isbn-4,1,,w";
+        ParsedChunk parsed = parser.parse(100, ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(parsed.end()).isEqualTo(100);
+        assertThat(parsed.lineCount()).isEqualTo(6);
+        assertThat(parsed.books()).extracting(Book::getTitle).containsExactly("A, \"quoted\"", "multi\nline");
+        assertThat(parsed.books()).extracting(Book::getPrice).containsExactly(9.5, null);
+        assertThat(parsed.books()).extracting(book -> book.getAuthor().getId()).containsExactly(3L, 4L);
+        assertThat(Arrays.stream(parsed.bookLines()).boxed().toList()).containsExactly(1, 2);
+        assertThat(parsed.errors()).extracting(RowError::line).containsExactly(5L, 6L);
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> BookRecordParser.csv("title,authorId\n".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header must contain isbn");
+    }
+
+    private static List<String> fields(String record) {
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        return BookRecordParser.csvFields(bytes, 0, bytes.length);
+    }
+
+}
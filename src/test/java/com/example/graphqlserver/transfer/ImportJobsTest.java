@@ -0,0 +1,101 @@
+package com.example.graphqlserver.transfer;
+
+import com.example.graphqlserver.transfer.ImportJobs.ImportJob;
+import com.example.graphqlserver.transfer.ImportJobs.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 두 ImportJobs 인스턴스(= 두 프로세스)가 같은 작업을 두고 소유와 체크포인트를 다투는 경우.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-jobs;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ImportJobsTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ImportJobs first;
+    private ImportJobs second;
+
+    @BeforeEach
+    void setUp() {
+        first = new ImportJobs(jdbcTemplate);
+        second = new ImportJobs(jdbcTemplate);
+        first.create("job", TransferFormat.NDJSON, Path.of("job.ndjson"));
+    }
+
+    @Test
+    void liveOwnerKeepsTheJob() {
+        assertThat(second.claim("job", LEASE)).isFalse();
+        assertThat(first.heartbeat("job")).isTrue();
+        assertThatThrownBy(() -> second.checkpoint("job", 0, 100, 10, 9, 1)).isInstanceOf(IllegalStateException.class);
+        assertThat(job().inserted()).isZero();
+    }
+
+    @Test
+    void staleJobIsTakenOverAndOldOwnerIsFencedOff() {
+        jdbcTemplate.update("UPDATE import_jobs SET heartbeat_at = ? WHERE id = 'job'", job().heartbeatAt().minusMinutes(5));
+        assertThat(second.claim("job", LEASE)).isTrue();
+
+        assertThat(first.heartbeat("job")).isFalse();
+        assertThatThrownBy(() -> first.checkpoint("job", 0, 100, 10, 9, 1)).isInstanceOf(IllegalStateException.class);
+        first.finish("job", Status.FAILED, "lost");
+
+        second.checkpoint("job", 0, 100, 10, 9, 1);
+        ImportJob job = job();
+        assertThat(job.status()).isEqualTo(Status.RUNNING);
+        assertThat(job.committedOffset()).isEqualTo(100);
+        assertThat(job.inserted()).isEqualTo(9);
+        assertThat(job.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void sameChunkIsCountedOnce() {
+        first.checkpoint("job", 0, 100, 10, 9, 1);
+        assertThatThrownBy(() -> first.checkpoint("job", 0, 100, 10, 9, 1)).isInstanceOf(IllegalStateException.class);
+        first.checkpoint("job", 100, 250, 25, 15, 0);
+
+        ImportJob job = job();
+        assertThat(job.committedOffset()).isEqualTo(250);
+        assertThat(job.committedLines()).isEqualTo(25);
+        assertThat(job.inserted()).isEqualTo(24);
+        assertThat(job.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void finishedJobReleasesOwnershipUntilResumed() {
+        first.finish("job", Status.FAILED, "boom");
+        assertThat(job().owner()).isNull();
+        assertThat(first.heartbeat("job")).isFalse();
+
+        assertThat(second.claim("job", LEASE)).isTrue();
+        assertThat(job().status()).isEqualTo(Status.RUNNING);
+        assertThat(job().message()).isNull();
+
+        second.finish("job", Status.COMPLETED, null);
+        assertThat(first.claim("job", LEASE)).isFalse();
+    }
+
+    private ImportJob job() {
+        return first.find("job").orElseThrow();
+    }
+
+}